@@ -0,0 +1,120 @@
+package com.tourverse.backend.benchmark;
+
+import com.tourverse.backend.auth.util.JwtUtil;
+import com.tourverse.backend.booking.repository.BookingRepository;
+import com.tourverse.backend.booking.service.BookingHoldService;
+import com.tourverse.backend.booking.service.BookingService;
+import com.tourverse.backend.common.config.BookingConfig.BookingProperties;
+import com.tourverse.backend.common.config.GuideSearchConfig.SearchProperties;
+import com.tourverse.backend.guide.repository.AvailabilityRepository;
+import com.tourverse.backend.guide.repository.GuideCalendarRepository;
+import com.tourverse.backend.guide.repository.GuideRepository;
+import com.tourverse.backend.guide.service.AvailabilityFeed;
+import com.tourverse.backend.guide.service.AvailabilityIndex;
+import com.tourverse.backend.guide.service.AvailabilityService;
+import com.tourverse.backend.guide.service.GuideCalendarService;
+import com.tourverse.backend.guide.service.GuideGeoIndex;
+import com.tourverse.backend.guide.service.GuideSearchCache;
+import com.tourverse.backend.guide.service.GuideSearchFanOut;
+import com.tourverse.backend.guide.service.GuideSearchProjection;
+import com.tourverse.backend.guide.service.GuideSearchService;
+import com.tourverse.backend.guide.service.GuideTermIndex;
+import com.tourverse.backend.itinerary.repository.CustomItineraryRepository;
+import com.tourverse.backend.itinerary.service.ItineraryService;
+import com.tourverse.backend.review.repository.ReviewRepository;
+import com.tourverse.backend.review.service.ReviewService;
+import com.tourverse.backend.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Minimal Spring context for the benchmarks: the real services and JPA
+ * repositories on H2, {@link InMemoryMongo} in place of MongoDB, and no Redis,
+ * web layer or security. The search result cache is disabled so every call
+ * measures the search itself, and booking holds and the live availability
+ * feed are disabled as they only touch Redis.
+ */
+@Configuration
+@ImportAutoConfiguration({ DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+		TransactionAutoConfiguration.class })
+@EntityScan(basePackages = "com.tourverse.backend")
+@EnableJpaRepositories(basePackageClasses = { BookingRepository.class, GuideRepository.class,
+		UserRepository.class, CustomItineraryRepository.class })
+@Import({ BookingService.class, ReviewService.class, GuideSearchService.class, GuideSearchProjection.class,
+		GuideTermIndex.class, GuideGeoIndex.class, AvailabilityIndex.class, AvailabilityService.class,
+		GuideCalendarService.class, GuideSearchFanOut.class, ItineraryService.class, JwtUtil.class })
+public class BenchmarkContext {
+
+	public static ConfigurableApplicationContext start() {
+		return new SpringApplicationBuilder(BenchmarkContext.class).run("--spring.config.name=benchmark");
+	}
+
+	@Bean
+	InMemoryMongo inMemoryMongo() {
+		return new InMemoryMongo();
+	}
+
+	@Bean
+	AvailabilityRepository availabilityRepository(InMemoryMongo mongo) {
+		return mongo.availabilityRepository();
+	}
+
+	@Bean
+	GuideCalendarRepository guideCalendarRepository(InMemoryMongo mongo) {
+		return mongo.guideCalendarRepository();
+	}
+
+	@Bean
+	ReviewRepository reviewRepository(InMemoryMongo mongo) {
+		return mongo.reviewRepository();
+	}
+
+	@Bean
+	SearchProperties searchProperties() {
+		SearchProperties properties = new SearchProperties();
+		properties.getCache().setEnabled(false);
+		properties.getLive().setEnabled(false);
+		return properties;
+	}
+
+	@Bean
+	MeterRegistry meterRegistry() {
+		return new SimpleMeterRegistry();
+	}
+
+	@Bean
+	GuideSearchCache guideSearchCache(SearchProperties properties, AvailabilityIndex availabilityIndex) {
+		// Disabled, so neither Redis collaborator is ever used.
+		return new GuideSearchCache(properties, new RedisTemplate<>(), new RedisMessageListenerContainer(),
+				availabilityIndex);
+	}
+
+	@Bean
+	AvailabilityFeed availabilityFeed(SearchProperties properties, GuideSearchProjection projection,
+			GuideTermIndex termIndex) {
+		// Disabled, so neither Redis collaborator is ever used.
+		return new AvailabilityFeed(properties, projection, termIndex, new RedisTemplate<>(),
+				new RedisMessageListenerContainer());
+	}
+
+	@Bean
+	BookingHoldService bookingHoldService() {
+		BookingProperties properties = new BookingProperties();
+		properties.getHold().setEnabled(false);
+		return new BookingHoldService(properties, new StringRedisTemplate());
+	}
+}
@@ -0,0 +1,100 @@
+package com.tourverse.backend.benchmark;
+
+import com.tourverse.backend.booking.dto.BookingRequest;
+import com.tourverse.backend.booking.dto.BookingResponse;
+import com.tourverse.backend.booking.service.BookingService;
+import com.tourverse.backend.guide.document.AvailabilitySlot;
+import com.tourverse.backend.guide.repository.AvailabilityRepository;
+import com.tourverse.backend.guide.service.AvailabilityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking creation: entity lookups, the atomic slot reservation and the insert,
+ * against H2. Every invocation adds a booking, as in production, and then gives
+ * the reserved time back so the next booking of the same slot succeeds. Reports
+ * the statements sent per booking alongside the timing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class BookingBenchmark {
+
+	private static final int REQUEST_COUNT = 1024;
+
+	@Param({ "1000", "10000" })
+	private int guides;
+
+	private ConfigurableApplicationContext context;
+	private BookingService bookingService;
+	private AvailabilityService availabilityService;
+	private StatementCounter statements;
+	private long[] travelerIds;
+	private BookingRequest[] requests;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkContext.start();
+		SyntheticData.Dataset dataset = SyntheticData.generate(context, guides, 1000, 14, 8, 42);
+		bookingService = context.getBean(BookingService.class);
+		availabilityService = context.getBean(AvailabilityService.class);
+		statements = new StatementCounter("createBooking", context);
+		AvailabilityRepository availability = context.getBean(AvailabilityRepository.class);
+
+		// Only book slots that exist, so every call takes the successful path.
+		Random random = new Random(7);
+		travelerIds = new long[REQUEST_COUNT];
+		requests = new BookingRequest[REQUEST_COUNT];
+		for (int i = 0; i < REQUEST_COUNT;) {
+			long guideId = dataset.guideIds()[random.nextInt(dataset.guideIds().length)];
+			Optional<AvailabilitySlot> slot = availability.findByGuideIdAndDate(guideId,
+					dataset.firstDay().plusDays(random.nextInt(dataset.days())));
+			if (slot.isEmpty()) {
+				continue;
+			}
+			BookingRequest request = new BookingRequest();
+			request.setGuideId(guideId);
+			request.setTourDate(slot.get().getDate());
+			request.setTourTime(slot.get().getSlots().get(0));
+			request.setHours(2);
+			travelerIds[i] = dataset.travelerIds()[random.nextInt(dataset.travelerIds().length)];
+			requests[i++] = request;
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		statements.report();
+		context.close();
+	}
+
+	@Benchmark
+	public BookingResponse createBooking() {
+		int i = next++ & (REQUEST_COUNT - 1);
+		BookingRequest request = requests[i];
+		BookingResponse booking = statements.count(() -> bookingService.createBooking(travelerIds[i], request));
+		availabilityService.release(request.getGuideId(), request.getTourDate(), request.getTourTime(),
+				request.getHours());
+		return booking;
+	}
+}
@@ -0,0 +1,78 @@
+package com.tourverse.backend.benchmark;
+
+import com.tourverse.backend.guide.dto.GuideSearchPageDto;
+import com.tourverse.backend.guide.dto.GuideSearchRequest;
+import com.tourverse.backend.guide.service.GuideSearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Public guide search: (date, location, language) lookup, ranking and page
+ * assembly over the in-memory indexes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class GuideSearchBenchmark {
+
+	private static final int REQUEST_COUNT = 1024;
+
+	@Param({ "1000", "10000", "100000" })
+	private int guides;
+
+	@Param({ "14" })
+	private int days;
+
+	@Param({ "8" })
+	private int slotsPerDay;
+
+	private ConfigurableApplicationContext context;
+	private GuideSearchService guideSearchService;
+	private GuideSearchRequest[] requests;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkContext.start();
+		SyntheticData.Dataset dataset = SyntheticData.generate(context, guides, 100, days, slotsPerDay, 42);
+		guideSearchService = context.getBean(GuideSearchService.class);
+
+		Random random = new Random(7);
+		requests = new GuideSearchRequest[REQUEST_COUNT];
+		for (int i = 0; i < REQUEST_COUNT; i++) {
+			requests[i] = GuideSearchRequest.builder()
+					.date(dataset.firstDay().plusDays(random.nextInt(days)))
+					.location(SyntheticData.LOCATIONS.get(random.nextInt(SyntheticData.LOCATIONS.size())))
+					.language(SyntheticData.LANGUAGES.get(random.nextInt(SyntheticData.LANGUAGES.size())))
+					.build();
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public GuideSearchPageDto searchAvailableGuides() {
+		return guideSearchService.searchAvailableGuides(requests[next++ & (REQUEST_COUNT - 1)]);
+	}
+}
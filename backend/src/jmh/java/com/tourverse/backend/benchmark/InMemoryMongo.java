@@ -0,0 +1,140 @@
+package com.tourverse.backend.benchmark;
+
+import com.tourverse.backend.guide.document.AvailabilitySlot;
+import com.tourverse.backend.guide.repository.AvailabilityRepository;
+import com.tourverse.backend.guide.repository.GuideCalendarRepository;
+import com.tourverse.backend.guide.util.SlotMask;
+import com.tourverse.backend.review.document.Review;
+import com.tourverse.backend.review.repository.ReviewRepository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * In-memory stand-in for the MongoDB collections used by the benchmarked code
+ * paths.
+ *
+ * Each repository is a JDK dynamic proxy that answers the query methods those
+ * paths call from hash indexes, so a benchmark measures the service code rather
+ * than a database. Any other repository method throws.
+ */
+public class InMemoryMongo {
+
+	private final Map<LocalDate, List<AvailabilitySlot>> slotsByDate = new ConcurrentHashMap<>();
+	private final Map<Long, Map<LocalDate, AvailabilitySlot>> slotsByGuide = new ConcurrentHashMap<>();
+	private final Map<Long, List<Review>> reviewsByReviewee = new ConcurrentHashMap<>();
+
+	public void addSlot(AvailabilitySlot slot) {
+		AvailabilitySlot previous = slotsByGuide.computeIfAbsent(slot.getGuideId(), id -> new ConcurrentHashMap<>())
+				.put(slot.getDate(), slot);
+		List<AvailabilitySlot> day = slotsByDate.computeIfAbsent(slot.getDate(), date -> new ArrayList<>());
+		synchronized (day) {
+			if (previous != null) {
+				day.remove(previous);
+			}
+			day.add(slot);
+		}
+	}
+
+	public void addReview(Review review) {
+		List<Review> reviews = reviewsByReviewee.computeIfAbsent(review.getRevieweeId(), id -> new ArrayList<>());
+		synchronized (reviews) {
+			reviews.add(review);
+		}
+	}
+
+	public AvailabilityRepository availabilityRepository() {
+		return proxy(AvailabilityRepository.class, (method, args) -> switch (method.getName()) {
+			case "findByGuideIdAndDate" ->
+				Optional.ofNullable(slotsByGuide.getOrDefault((Long) args[0], Map.of()).get((LocalDate) args[1]));
+			case "findByDateAndIsAvailableTrue" -> {
+				List<AvailabilitySlot> day = slotsByDate.getOrDefault((LocalDate) args[0], List.of());
+				synchronized (day) {
+					yield day.stream().filter(AvailabilitySlot::isAvailable).toList();
+				}
+			}
+			case "save" -> {
+				addSlot((AvailabilitySlot) args[0]);
+				yield args[0];
+			}
+			case "reserve" -> updateMask((Long) args[0], (LocalDate) args[1], (SlotMask) args[2],
+					(slot, period) -> slot.slotMask().contains(period) ? slot.slotMask().andNot(period) : null);
+			case "release" -> updateMask((Long) args[0], (LocalDate) args[1], (SlotMask) args[2],
+					(slot, period) -> slot.slotMask().or(period.and(SlotMask.ofSlots(slot.getSlots()))));
+			default -> throw new UnsupportedOperationException("Not supported in benchmarks: " + method.getName());
+		});
+	}
+
+	/**
+	 * Calendar documents are derived data no benchmark reads, so their updates
+	 * are dropped.
+	 */
+	public GuideCalendarRepository guideCalendarRepository() {
+		return proxy(GuideCalendarRepository.class, (method, args) -> switch (method.getName()) {
+			case "putDays", "putBooking", "markStale" -> null;
+			default -> throw new UnsupportedOperationException("Not supported in benchmarks: " + method.getName());
+		});
+	}
+
+	public ReviewRepository reviewRepository() {
+		return proxy(ReviewRepository.class, (method, args) -> switch (method.getName()) {
+			case "findByRevieweeId" -> {
+				List<Review> reviews = reviewsByReviewee.getOrDefault((Long) args[0], List.of());
+				synchronized (reviews) {
+					yield List.copyOf(reviews);
+				}
+			}
+			case "save" -> {
+				addReview((Review) args[0]);
+				yield args[0];
+			}
+			default -> throw new UnsupportedOperationException("Not supported in benchmarks: " + method.getName());
+		});
+	}
+
+	// --- Private Helper Methods ---
+
+	/**
+	 * Applies a mask change to one day under its lock, like the conditional
+	 * update in MongoDB. A null new mask means the condition did not match.
+	 */
+	private Optional<AvailabilitySlot> updateMask(Long guideId, LocalDate date, SlotMask period,
+			BiFunction<AvailabilitySlot, SlotMask, SlotMask> change) {
+		AvailabilitySlot slot = slotsByGuide.getOrDefault(guideId, Map.of()).get(date);
+		if (slot == null) {
+			return Optional.empty();
+		}
+		synchronized (slot) {
+			SlotMask mask = slot.isAvailable() ? change.apply(slot, period) : null;
+			if (mask == null) {
+				return Optional.empty();
+			}
+			slot.setSlotMaskLo(mask.lo());
+			slot.setSlotMaskHi(mask.hi());
+			return Optional.of(slot);
+		}
+	}
+
+	private static <T> T proxy(Class<T> repositoryType, BiFunction<Method, Object[], Object> queries) {
+		InvocationHandler handler = (proxy, method, args) -> {
+			if (method.getDeclaringClass() == Object.class) {
+				return switch (method.getName()) {
+					case "equals" -> proxy == args[0];
+					case "hashCode" -> System.identityHashCode(proxy);
+					default -> "InMemory" + repositoryType.getSimpleName();
+				};
+			}
+			return queries.apply(method, args);
+		};
+		return repositoryType.cast(
+				Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[] { repositoryType }, handler));
+	}
+}
@@ -0,0 +1,79 @@
+package com.tourverse.backend.benchmark;
+
+import com.tourverse.backend.itinerary.dto.DailyPlanDto;
+import com.tourverse.backend.itinerary.dto.ItineraryRequest;
+import com.tourverse.backend.itinerary.dto.ItineraryResponse;
+import com.tourverse.backend.itinerary.service.ItineraryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Itinerary creation: the traveler lookup and the inserts of the itinerary and
+ * its daily plans, against H2. Reports the statements sent per itinerary
+ * alongside the timing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ItineraryBenchmark {
+
+	@Param({ "14" })
+	private int days;
+
+	private ConfigurableApplicationContext context;
+	private ItineraryService itineraryService;
+	private StatementCounter statements;
+	private long[] travelerIds;
+	private ItineraryRequest request;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkContext.start();
+		travelerIds = SyntheticData.generate(context, 10, 1000, 1, 1, 42).travelerIds();
+		itineraryService = context.getBean(ItineraryService.class);
+		statements = new StatementCounter("createItinerary", context);
+
+		List<DailyPlanDto> plans = new ArrayList<>(days);
+		for (int day = 1; day <= days; day++) {
+			DailyPlanDto plan = new DailyPlanDto();
+			plan.setDayNumber(day);
+			plan.setDescription("Day " + day + ": old town walk, lunch at the market, sunset viewpoint");
+			plans.add(plan);
+		}
+		request = new ItineraryRequest();
+		request.setTitle("Two weeks in Rajasthan");
+		request.setDailyPlans(plans);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		statements.report();
+		context.close();
+	}
+
+	@Benchmark
+	public ItineraryResponse createItinerary() {
+		long travelerId = travelerIds[next++ % travelerIds.length];
+		return statements.count(() -> itineraryService.createItinerary(travelerId, request));
+	}
+}
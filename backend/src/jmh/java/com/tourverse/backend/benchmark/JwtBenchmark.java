@@ -0,0 +1,77 @@
+package com.tourverse.backend.benchmark;
+
+import com.tourverse.backend.auth.util.JwtUtil;
+import com.tourverse.backend.user.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT parsing and validation as done by the authentication filter on every
+ * request. Only {@link JwtUtil} is started; no database is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+	private AnnotationConfigApplicationContext context;
+	private JwtUtil jwtUtil;
+	private String token;
+	private UserDetails userDetails;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new AnnotationConfigApplicationContext();
+		try {
+			context.getEnvironment().getPropertySources()
+					.addFirst(new ResourcePropertySource("classpath:benchmark.properties"));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		context.register(JwtUtil.class);
+		context.refresh();
+		jwtUtil = context.getBean(JwtUtil.class);
+
+		User user = User.builder().id(42L).email("traveler@benchmark.tourverse").role(User.Role.TRAVELER).build();
+		token = jwtUtil.generateToken(user);
+		userDetails = org.springframework.security.core.userdetails.User.withUsername(user.getEmail())
+				.password("benchmark")
+				.roles(user.getRole().name())
+				.build();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public String extractUsername() {
+		return jwtUtil.extractUsername(token);
+	}
+
+	@Benchmark
+	public Boolean validateToken() {
+		return jwtUtil.validateToken(token, userDetails);
+	}
+}
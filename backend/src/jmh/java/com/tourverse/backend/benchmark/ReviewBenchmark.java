@@ -0,0 +1,72 @@
+package com.tourverse.backend.benchmark;
+
+import com.tourverse.backend.review.dto.ReviewResponse;
+import com.tourverse.backend.review.service.ReviewService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reviews of a user: the review lookup plus the reviewer-name enrichment
+ * against H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ReviewBenchmark {
+
+	private static final int REQUEST_COUNT = 1024;
+
+	@Param({ "1000" })
+	private int guides;
+
+	@Param({ "10", "100" })
+	private int reviewsPerGuide;
+
+	private ConfigurableApplicationContext context;
+	private ReviewService reviewService;
+	private long[] revieweeIds;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkContext.start();
+		SyntheticData.Dataset dataset = SyntheticData.generate(context, guides, 5000, 1, 8, 42);
+		SyntheticData.generateReviews(context, dataset, reviewsPerGuide, 42);
+		reviewService = context.getBean(ReviewService.class);
+
+		Random random = new Random(7);
+		revieweeIds = new long[REQUEST_COUNT];
+		for (int i = 0; i < REQUEST_COUNT; i++) {
+			revieweeIds[i] = dataset.guideIds()[random.nextInt(dataset.guideIds().length)];
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<ReviewResponse> getReviewsForUser() {
+		return reviewService.getReviewsForUser(revieweeIds[next++ & (REQUEST_COUNT - 1)]);
+	}
+}
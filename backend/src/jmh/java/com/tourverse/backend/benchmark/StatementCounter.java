@@ -0,0 +1,42 @@
+package com.tourverse.backend.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.ApplicationContext;
+
+import java.util.function.Supplier;
+
+/**
+ * Counts the JDBC statements a benchmarked call sends and prints the average
+ * per call at the end of the trial, next to the JMH timings.
+ *
+ * Statements are counted by Hibernate as they are prepared, so a batch of
+ * inserts counts once, like the single round trip it costs. Needs
+ * {@code hibernate.generate_statistics}.
+ */
+final class StatementCounter {
+
+	private final String name;
+	private final Statistics statistics;
+	private long statements;
+	private long calls;
+
+	StatementCounter(String name, ApplicationContext context) {
+		this.name = name;
+		this.statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+	}
+
+	<T> T count(Supplier<T> call) {
+		long before = statistics.getPrepareStatementCount();
+		T result = call.get();
+		statements += statistics.getPrepareStatementCount() - before;
+		calls++;
+		return result;
+	}
+
+	void report() {
+		System.out.printf("%n%s: %.2f statements per call over %d calls%n", name,
+				calls == 0 ? 0.0 : (double) statements / calls, calls);
+	}
+}
@@ -0,0 +1,172 @@
+package com.tourverse.backend.benchmark;
+
+import com.tourverse.backend.guide.document.AvailabilitySlot;
+import com.tourverse.backend.guide.entity.Guide;
+import com.tourverse.backend.guide.repository.GuideRepository;
+import com.tourverse.backend.review.document.Review;
+import com.tourverse.backend.user.entity.Traveler;
+import com.tourverse.backend.user.entity.User;
+import com.tourverse.backend.user.repository.TravelerRepository;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates reproducible synthetic guides, travelers, availability and reviews.
+ *
+ * Guides and travelers are written to H2 in chunks; availability and reviews go
+ * to the {@link InMemoryMongo}. 100,000 guides over 14 days with 8 slots a day
+ * (available 90% of days) come to roughly 10 million slots.
+ */
+public final class SyntheticData {
+
+	public static final List<String> LOCATIONS = List.of("Jaipur", "Goa", "Mumbai", "Delhi", "Bangalore", "Chennai",
+			"Kolkata", "Varanasi", "Udaipur", "Kochi", "Agra", "Hyderabad", "Pune", "Mysore", "Amritsar", "Rishikesh",
+			"Darjeeling", "Shimla", "Madurai", "Pondicherry");
+	public static final List<String> LANGUAGES = List.of("English", "Hindi", "Tamil", "Bengali", "Marathi",
+			"Kannada", "Malayalam", "French", "German", "Spanish");
+
+	private static final double[][] COORDINATES = { { 26.91, 75.79 }, { 15.30, 74.12 }, { 19.08, 72.88 },
+			{ 28.61, 77.21 }, { 12.97, 77.59 }, { 13.08, 80.27 }, { 22.57, 88.36 }, { 25.32, 82.97 }, { 24.59, 73.71 },
+			{ 9.93, 76.27 }, { 27.18, 78.01 }, { 17.39, 78.49 }, { 18.52, 73.86 }, { 12.30, 76.64 }, { 31.63, 74.87 },
+			{ 30.09, 78.27 }, { 27.04, 88.26 }, { 31.10, 77.17 }, { 9.93, 78.12 }, { 11.94, 79.81 } };
+
+	private static final int CHUNK_SIZE = 1_000;
+	private static final double AVAILABLE_DAY_RATIO = 0.9;
+	private static final int FIRST_SLOT_HOUR = 6;
+	private static final int LAST_SLOT_HOUR = 21;
+
+	/**
+	 * The generated data set: database IDs and the first available day.
+	 */
+	public record Dataset(long[] guideIds, long[] travelerIds, LocalDate firstDay, int days) {}
+
+	private SyntheticData() {}
+
+	public static Dataset generate(ApplicationContext context, int guides, int travelers, int days, int slotsPerDay,
+			long seed) {
+		Random random = new Random(seed);
+		TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		GuideRepository guideRepository = context.getBean(GuideRepository.class);
+		TravelerRepository travelerRepository = context.getBean(TravelerRepository.class);
+		InMemoryMongo mongo = context.getBean(InMemoryMongo.class);
+
+		long[] travelerIds = new long[travelers];
+		for (int from = 0; from < travelers; from += CHUNK_SIZE) {
+			List<Traveler> chunk = new ArrayList<>();
+			for (int i = from; i < Math.min(from + CHUNK_SIZE, travelers); i++) {
+				chunk.add(traveler(i));
+			}
+			List<Traveler> saved = tx.execute(status -> travelerRepository.saveAll(chunk));
+			for (int i = 0; i < saved.size(); i++) {
+				travelerIds[from + i] = saved.get(i).getId();
+			}
+		}
+
+		long[] guideIds = new long[guides];
+		for (int from = 0; from < guides; from += CHUNK_SIZE) {
+			List<Guide> chunk = new ArrayList<>();
+			for (int i = from; i < Math.min(from + CHUNK_SIZE, guides); i++) {
+				chunk.add(guide(i, random));
+			}
+			List<Guide> saved = tx.execute(status -> guideRepository.saveAll(chunk));
+			for (int i = 0; i < saved.size(); i++) {
+				guideIds[from + i] = saved.get(i).getId();
+			}
+		}
+
+		// Past days are evicted by the availability index, so start tomorrow.
+		LocalDate firstDay = LocalDate.now().plusDays(1);
+		int latestStart = Math.max(FIRST_SLOT_HOUR, LAST_SLOT_HOUR - slotsPerDay + 1);
+		for (long guideId : guideIds) {
+			for (int day = 0; day < days; day++) {
+				if (random.nextDouble() >= AVAILABLE_DAY_RATIO) {
+					continue;
+				}
+				int start = FIRST_SLOT_HOUR + random.nextInt(latestStart - FIRST_SLOT_HOUR + 1);
+				List<LocalTime> slots = new ArrayList<>(slotsPerDay);
+				for (int hour = start; hour < Math.min(start + slotsPerDay, 24); hour++) {
+					slots.add(LocalTime.of(hour, 0));
+				}
+				AvailabilitySlot slot = AvailabilitySlot.builder()
+						.id(guideId + ":" + day)
+						.guideId(guideId)
+						.date(firstDay.plusDays(day))
+						.isAvailable(true)
+						.build();
+				slot.setSlotsWithMask(slots);
+				mongo.addSlot(slot);
+			}
+		}
+		return new Dataset(guideIds, travelerIds, firstDay, days);
+	}
+
+	/**
+	 * Gives every guide {@code perGuide} reviews from random travelers.
+	 */
+	public static void generateReviews(ApplicationContext context, Dataset dataset, int perGuide, long seed) {
+		Random random = new Random(seed);
+		InMemoryMongo mongo = context.getBean(InMemoryMongo.class);
+		long bookingId = 1;
+		for (long guideId : dataset.guideIds()) {
+			for (int i = 0; i < perGuide; i++) {
+				mongo.addReview(Review.builder()
+						.id(Long.toString(bookingId))
+						.bookingId(bookingId++)
+						.reviewerId(dataset.travelerIds()[random.nextInt(dataset.travelerIds().length)])
+						.reviewerRole(User.Role.TRAVELER)
+						.revieweeId(guideId)
+						.rating(1 + random.nextInt(5))
+						.comment("Synthetic review")
+						.build());
+			}
+		}
+	}
+
+	// --- Private Helper Methods ---
+
+	private static Traveler traveler(int index) {
+		return Traveler.builder()
+				.name("Traveler " + index)
+				.email("traveler" + index + "@benchmark.tourverse")
+				.phone(String.format("8%09d", index))
+				.password("benchmark")
+				.role(User.Role.TRAVELER)
+				.build();
+	}
+
+	private static Guide guide(int index, Random random) {
+		int location = random.nextInt(LOCATIONS.size());
+		String first = LANGUAGES.get(random.nextInt(LANGUAGES.size()));
+		String second = LANGUAGES.get(random.nextInt(LANGUAGES.size()));
+		List<String> languages = first.equals(second) ? List.of(first) : List.of(first, second);
+		int ratingCount = random.nextInt(200);
+		return Guide.builder()
+				.name("Guide " + index)
+				.email("guide" + index + "@benchmark.tourverse")
+				.phone(String.format("9%09d", index))
+				.password("benchmark")
+				.role(User.Role.GUIDE)
+				.averageRating(ratingCount == 0 ? 0 : 3 + 2 * random.nextDouble())
+				.ratingCount(ratingCount)
+				.aadhaarNumber(String.format("%012d", index))
+				.panNumber(String.format("P%09d", index))
+				.bio("Synthetic guide for benchmarks")
+				.languages(new ArrayList<>(languages))
+				.ratePerHour(BigDecimal.valueOf(300 + random.nextInt(2700)))
+				.location(LOCATIONS.get(location))
+				.latitude(COORDINATES[location][0] + random.nextGaussian() * 0.1)
+				.longitude(COORDINATES[location][1] + random.nextGaussian() * 0.1)
+				.verificationStatus(Guide.VerificationStatus.APPROVED)
+				.aadhaarDocumentUrl("benchmark/aadhaar.pdf")
+				.panDocumentUrl("benchmark/pan.pdf")
+				.build();
+	}
+}
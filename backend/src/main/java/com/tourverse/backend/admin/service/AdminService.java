@@ -4,6 +4,7 @@ import com.tourverse.backend.admin.dto.GuideVerificationDto;
 import com.tourverse.backend.admin.dto.UserViewDto;
 import com.tourverse.backend.guide.entity.Guide;
 import com.tourverse.backend.guide.repository.GuideRepository;
+import com.tourverse.backend.guide.service.GuideSearchProjection;
 import com.tourverse.backend.user.entity.User;
 import com.tourverse.backend.user.repository.TravelerRepository;
 import com.tourverse.backend.user.repository.UserRepository;
@@ -21,6 +22,7 @@ public class AdminService {
 	private final UserRepository userRepository;
 	private final GuideRepository guideRepository;
 	private final TravelerRepository travelerRepository;
+	private final GuideSearchProjection guideSearchProjection;
 
 	// --- Guide Verification ---
 
@@ -40,6 +42,7 @@ public class AdminService {
 			guide.setVerificationStatus(Guide.VerificationStatus.REJECTED);
 		}
 		guideRepository.save(guide);
+		guideSearchProjection.refresh(guide);
 	}
 
 	// --- User Management ---
@@ -1,45 +1,55 @@
 package com.tourverse.backend.booking.controller;
 
 import com.tourverse.backend.auth.util.UserPrincipal;
+import com.tourverse.backend.booking.dto.BookingHistoryRequest;
+import com.tourverse.backend.booking.dto.BookingPageDto;
 import com.tourverse.backend.booking.dto.BookingRequest;
 import com.tourverse.backend.booking.dto.BookingResponse;
+import com.tourverse.backend.booking.dto.BulkBookingDecisionRequest;
+import com.tourverse.backend.booking.dto.BulkBookingDecisionResponse;
 import com.tourverse.backend.booking.service.BookingService;
+import com.tourverse.backend.common.util.IdempotencyService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/bookings") // A clear, central path for all booking-related actions
 @RequiredArgsConstructor
 public class BookingController {
 
 	private final BookingService bookingService;
+	private final IdempotencyService idempotencyService;
 
 	// =================================================================
 	// TRAVELER ENDPOINTS
 	// =================================================================
 
 	/**
-	 * Endpoint for a traveler to create a new booking request.
+	 * Endpoint for a traveler to create a new booking request. Retries that send
+	 * the same Idempotency-Key get the first response instead of a new booking.
 	 */
 	@PostMapping
-	public ResponseEntity<BookingResponse> createBooking(Authentication auth, @RequestBody BookingRequest request) {
+	public ResponseEntity<BookingResponse> createBooking(Authentication auth, @RequestBody BookingRequest request,
+			@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
 		UserPrincipal principal = (UserPrincipal) auth.getPrincipal();
-		BookingResponse createdBooking = bookingService.createBooking(principal.getUser().getId(), request);
-		return new ResponseEntity<>(createdBooking, HttpStatus.CREATED);
+		Long travelerId = principal.getUser().getId();
+		return idempotencyService.execute(idempotencyKey, "booking:" + travelerId, request, BookingResponse.class,
+				() -> new ResponseEntity<>(bookingService.createBooking(travelerId, request), HttpStatus.CREATED));
 	}
 
 	/**
-	 * Endpoint for a traveler to view their own booking history.
+	 * Endpoint for a traveler to view their own booking history, newest first and
+	 * one page at a time.
 	 */
 	@GetMapping("/my-bookings/traveler")
-	public ResponseEntity<List<BookingResponse>> getTravelerBookings(Authentication auth) {
+	public ResponseEntity<BookingPageDto> getTravelerBookings(Authentication auth,
+			@Valid @ModelAttribute BookingHistoryRequest request) {
 		UserPrincipal principal = (UserPrincipal) auth.getPrincipal();
-		List<BookingResponse> bookings = bookingService.getBookingsForTraveler(principal.getUser().getId());
+		BookingPageDto bookings = bookingService.getBookingsForTraveler(principal.getUser().getId(), request);
 		return ResponseEntity.ok(bookings);
 	}
 
@@ -58,12 +68,25 @@ public class BookingController {
 	}
 
 	/**
-	 * Endpoint for a guide to view all bookings assigned to them.
+	 * Endpoint for a guide to accept or decline several pending bookings at once.
+	 */
+	@PostMapping("/decisions")
+	public ResponseEntity<BulkBookingDecisionResponse> decideBookings(Authentication auth,
+			@Valid @RequestBody BulkBookingDecisionRequest request) {
+		UserPrincipal principal = (UserPrincipal) auth.getPrincipal();
+		BulkBookingDecisionResponse response = bookingService.decideBookings(principal.getUser().getId(), request);
+		return ResponseEntity.ok(response);
+	}
+
+	/**
+	 * Endpoint for a guide to view the bookings assigned to them, newest first and
+	 * one page at a time.
 	 */
 	@GetMapping("/my-bookings/guide")
-	public ResponseEntity<List<BookingResponse>> getGuideBookings(Authentication auth) {
+	public ResponseEntity<BookingPageDto> getGuideBookings(Authentication auth,
+			@Valid @ModelAttribute BookingHistoryRequest request) {
 		UserPrincipal principal = (UserPrincipal) auth.getPrincipal();
-		List<BookingResponse> bookings = bookingService.getBookingsForGuide(principal.getUser().getId());
+		BookingPageDto bookings = bookingService.getBookingsForGuide(principal.getUser().getId(), request);
 		return ResponseEntity.ok(bookings);
 	}
 }
\ No newline at end of file
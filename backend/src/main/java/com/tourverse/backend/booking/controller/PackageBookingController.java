@@ -5,6 +5,7 @@ import com.tourverse.backend.auth.util.UserPrincipal;
 import com.tourverse.backend.booking.dto.PackageBookingRequest;
 import com.tourverse.backend.booking.entity.PackageBooking;
 import com.tourverse.backend.booking.service.PackageBookingService;
+import com.tourverse.backend.common.util.IdempotencyService;
 import com.tourverse.backend.payment.dto.RazorpayOrderResponse; // Update this import
 import com.tourverse.backend.payment.service.PaymentService;
 
@@ -21,19 +22,26 @@ public class PackageBookingController {
     // You now need to inject PaymentService here as well to handle the order creation
     private final PackageBookingService packageBookingService;
     private final PaymentService paymentService;
+    private final IdempotencyService idempotencyService;
 
+    // A retry with the same Idempotency-Key returns the first order instead of booking again.
     @PostMapping
-    public ResponseEntity<RazorpayOrderResponse> purchasePackage(Authentication auth, @RequestBody PackageBookingRequest request) {
+    public ResponseEntity<RazorpayOrderResponse> purchasePackage(Authentication auth, @RequestBody PackageBookingRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         UserPrincipal principal = (UserPrincipal) auth.getPrincipal();
-        try {
-            // This service method now needs to return the created PackageBooking object
-            PackageBooking createdBooking = packageBookingService.createPackageBooking(principal.getUser().getId(), request);
-            
-            // Then create the Razorpay order
-            RazorpayOrderResponse response = paymentService.createOrderForPackageBooking(createdBooking.getId(), principal.getUser().getId());
-            return ResponseEntity.ok(response);
-        } catch (RazorpayException e) {
-            return ResponseEntity.status(500).body(null);
-        }
+        Long travelerId = principal.getUser().getId();
+        return idempotencyService.execute(idempotencyKey, "package-booking:" + travelerId, request,
+                RazorpayOrderResponse.class, () -> {
+            try {
+                // This service method now needs to return the created PackageBooking object
+                PackageBooking createdBooking = packageBookingService.createPackageBooking(travelerId, request);
+
+                // Then create the Razorpay order
+                RazorpayOrderResponse response = paymentService.createOrderForPackageBooking(createdBooking.getId(), travelerId);
+                return ResponseEntity.ok(response);
+            } catch (RazorpayException e) {
+                return ResponseEntity.status(500).body(null);
+            }
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.tourverse.backend.booking.dto;
+
+import com.tourverse.backend.booking.entity.Booking;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingHistoryRequest {
+
+	// Only bookings in this state; all states when absent.
+	private Booking.BookingStatus status;
+
+	// Only tours on or after / on or before these dates.
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+	private LocalDate fromDate;
+
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+	private LocalDate toDate;
+
+	@Min(1)
+	@Max(100)
+	@Builder.Default
+	private int limit = 20;
+
+	// Opaque token from a previous page's 'nextCursor'.
+	private String cursor;
+}
@@ -0,0 +1,20 @@
+package com.tourverse.backend.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingPageDto {
+	// Newest booking first.
+	private List<BookingResponse> bookings;
+
+	// Pass back as 'cursor' to fetch the next page; null on the last page.
+	private String nextCursor;
+}
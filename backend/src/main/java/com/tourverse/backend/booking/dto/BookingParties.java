@@ -0,0 +1,11 @@
+package com.tourverse.backend.booking.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * What a new booking needs to know about its traveler and guide, read in one
+ * statement instead of loading both users.
+ */
+public record BookingParties(Long travelerId, String travelerName, Long guideId, String guideName,
+		BigDecimal ratePerHour) {
+}
@@ -1,14 +1,18 @@
 package com.tourverse.backend.booking.dto;
 
 import com.tourverse.backend.booking.entity.Booking;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @Builder
 public class BookingResponse {
 	private Long id;
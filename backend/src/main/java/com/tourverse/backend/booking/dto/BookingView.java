@@ -0,0 +1,17 @@
+package com.tourverse.backend.booking.dto;
+
+import com.tourverse.backend.booking.entity.Booking;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Flat, read-only row of a booking with the guide's and traveler's names,
+ * built directly by the query so no entity or lazy association is loaded.
+ */
+public record BookingView(Long id, Long guideId, String guideName, Long travelerId, String travelerName,
+		LocalDate tourDate, LocalTime tourTime, int hours, BigDecimal totalAmount, Booking.BookingStatus status,
+		LocalDateTime createdAt) {
+}
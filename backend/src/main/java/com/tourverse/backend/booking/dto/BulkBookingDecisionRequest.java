@@ -0,0 +1,40 @@
+package com.tourverse.backend.booking.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A guide's answers to several pending booking requests at once.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkBookingDecisionRequest {
+
+	public enum Action { ACCEPT, DECLINE }
+
+	@NotEmpty(message = "At least one decision is required")
+	@Size(max = 100, message = "At most 100 bookings can be decided at once")
+	private List<@Valid Decision> decisions;
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class Decision {
+		@NotNull(message = "Booking ID is required")
+		private Long bookingId;
+
+		@NotNull(message = "Action is required")
+		private Action action;
+	}
+}
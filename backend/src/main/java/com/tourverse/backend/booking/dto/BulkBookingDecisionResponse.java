@@ -0,0 +1,36 @@
+package com.tourverse.backend.booking.dto;
+
+import com.tourverse.backend.booking.entity.Booking;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkBookingDecisionResponse {
+
+	public enum Outcome { ACCEPTED, DECLINED, NOT_FOUND, NOT_AUTHORIZED, NOT_PENDING }
+
+	private int accepted;
+	private int declined;
+	private int rejected;
+
+	// One entry per decision, in request order.
+	private List<DecisionResult> results;
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class DecisionResult {
+		private Long bookingId;
+		private Outcome outcome;
+		// The booking's state after the request; null if it was not found.
+		private Booking.BookingStatus status;
+	}
+}
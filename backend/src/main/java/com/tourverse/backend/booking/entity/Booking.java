@@ -1,5 +1,6 @@
 package com.tourverse.backend.booking.entity;
 
+import com.tourverse.backend.common.util.AppConstants;
 import com.tourverse.backend.guide.entity.Guide;
 import com.tourverse.backend.user.entity.Traveler;
 import jakarta.persistence.*;
@@ -16,7 +17,14 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+		// Keyset pagination of each party's booking history, newest first.
+		@Index(name = "idx_bookings_traveler_created", columnList = "traveler_id, created_at, id"),
+		@Index(name = "idx_bookings_guide_created", columnList = "guide_id, created_at, id"),
+		// Lifecycle scans of bookings in a state by tour date.
+		@Index(name = "idx_bookings_status_tour_date", columnList = "status, tour_date"),
+		// Payment events find bookings by their Razorpay order.
+		@Index(name = "idx_bookings_razorpay_order", columnList = "razorpay_order_id") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,11 +32,12 @@ import java.time.LocalTime;
 public class Booking {
 
 	public enum BookingStatus {
-		PENDING, CONFIRMED, CANCELED, COMPLETED
+		PENDING, CONFIRMED, PAID, CANCELED, COMPLETED
 	}
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_id_seq")
+	@SequenceGenerator(name = "booking_id_seq", sequenceName = "bookings_seq", allocationSize = AppConstants.ID_ALLOCATION_SIZE)
 	private Long id;
 
 	@ManyToOne(fetch = FetchType.LAZY)
@@ -1,5 +1,6 @@
 package com.tourverse.backend.booking.entity;
 
+import com.tourverse.backend.common.util.AppConstants;
 import com.tourverse.backend.tourPackage.entity.TourPackage;
 import com.tourverse.backend.user.entity.Traveler;
 import jakarta.persistence.*;
@@ -15,7 +16,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "package_bookings")
+@Table(name = "package_bookings", indexes = {
+		// Lifecycle scans of bookings in a state by travel date.
+		@Index(name = "idx_package_bookings_status_travel_date", columnList = "status, travel_date"),
+		// Payment events find bookings by their Razorpay order.
+		@Index(name = "idx_package_bookings_razorpay_order", columnList = "razorpay_order_id") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,11 +28,12 @@ import java.time.LocalDateTime;
 public class PackageBooking {
 
 	public enum PackageBookingStatus {
-		PENDING_PAYMENT, CONFIRMED, CANCELED
+		PENDING_PAYMENT, CONFIRMED, CANCELED, COMPLETED
 	}
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "package_booking_id_seq")
+	@SequenceGenerator(name = "package_booking_id_seq", sequenceName = "package_bookings_seq", allocationSize = AppConstants.ID_ALLOCATION_SIZE)
 	private Long id;
 
 	@ManyToOne(fetch = FetchType.LAZY)
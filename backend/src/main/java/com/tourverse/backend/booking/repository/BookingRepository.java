@@ -1,16 +1,94 @@
 package com.tourverse.backend.booking.repository;
 
+import com.tourverse.backend.booking.dto.BookingParties;
+import com.tourverse.backend.booking.dto.BookingView;
 import com.tourverse.backend.booking.entity.Booking;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-	// Find bookings for a specific traveler
-	List<Booking> findByTravelerId(Long travelerId);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
-	// Find bookings for a specific guide
-	List<Booking> findByGuideId(Long guideId);
-}
\ No newline at end of file
+	// Find a guide's bookings in the given states on a date or across a date range
+	List<Booking> findByGuideIdAndTourDateAndStatusIn(Long guideId, LocalDate tourDate,
+			Collection<Booking.BookingStatus> statuses);
+
+	List<Booking> findByGuideIdAndTourDateBetweenAndStatusIn(Long guideId, LocalDate startDate, LocalDate endDate,
+			Collection<Booking.BookingStatus> statuses);
+
+	// Both parties of a new booking in one statement, without loading either user
+	@Query("SELECT new com.tourverse.backend.booking.dto.BookingParties(t.id, t.name, g.id, g.name, g.ratePerHour) "
+			+ "FROM Traveler t, Guide g WHERE t.id = :travelerId AND g.id = :guideId")
+	Optional<BookingParties> findParties(@Param("travelerId") Long travelerId, @Param("guideId") Long guideId);
+
+	// Exactly the columns of a booking response, with both names joined in
+	@Query("SELECT new com.tourverse.backend.booking.dto.BookingView(b.id, g.id, g.name, t.id, t.name, b.tourDate, "
+			+ "b.tourTime, b.hours, b.totalAmount, b.status, b.createdAt) "
+			+ "FROM Booking b JOIN b.guide g JOIN b.traveler t WHERE b.id = :id")
+	Optional<BookingView> findViewById(@Param("id") Long id);
+
+	// Row-locked reads for status changes that must not interleave
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT b FROM Booking b WHERE b.id = :id")
+	Optional<Booking> findByIdForUpdate(@Param("id") Long id);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT b FROM Booking b WHERE b.id IN :ids")
+	List<Booking> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+	// Accepts and declines many pending bookings in one statement; rows that are no
+	// longer pending are left alone
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Booking b SET b.status = CASE WHEN b.id IN :accepted "
+			+ "THEN com.tourverse.backend.booking.entity.Booking.BookingStatus.CONFIRMED "
+			+ "ELSE com.tourverse.backend.booking.entity.Booking.BookingStatus.CANCELED END "
+			+ "WHERE b.id IN :ids AND b.status = com.tourverse.backend.booking.entity.Booking.BookingStatus.PENDING")
+	int decidePending(@Param("ids") Collection<Long> ids, @Param("accepted") Collection<Long> accepted);
+
+	// Lifecycle scan: a chunk of bookings in a state whose tour date is before the
+	// cutoff, read as a range on the (status, tour_date) index and locked
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT b FROM Booking b WHERE b.status = :status AND b.tourDate < :before ORDER BY b.tourDate, b.id")
+	List<Booking> findDueForUpdate(@Param("status") Booking.BookingStatus status, @Param("before") LocalDate before,
+			Pageable page);
+
+	// Bookings in a state that belong to any of the given Razorpay orders, locked
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT b FROM Booking b WHERE b.razorpayOrderId IN :orderIds AND b.status = :status")
+	List<Booking> findByOrderIdsForUpdate(@Param("orderIds") Collection<String> orderIds,
+			@Param("status") Booking.BookingStatus status);
+
+	// Moves many bookings to a new state in one statement; rows no longer in the
+	// expected state are left alone. Clears the persistence context, so copies
+	// loaded before it keep their old state unless set by hand
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Booking b SET b.status = :to WHERE b.id IN :ids AND b.status = :from")
+	int updateStatus(@Param("ids") Collection<Long> ids, @Param("from") Booking.BookingStatus from,
+			@Param("to") Booking.BookingStatus to);
+
+	// Records a payment order on a booking that is still in the expected state and
+	// has none yet, in one statement; returns 0 if either no longer holds
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Booking b SET b.razorpayOrderId = :orderId "
+			+ "WHERE b.id = :id AND b.status = :status AND b.razorpayOrderId IS NULL")
+	int recordOrder(@Param("id") Long id, @Param("orderId") String orderId,
+			@Param("status") Booking.BookingStatus status);
+
+	// Which of the given Razorpay orders are recorded on a booking, in any state
+	@Query("SELECT b.razorpayOrderId FROM Booking b WHERE b.razorpayOrderId IN :orderIds")
+	List<String> findOrderIdsIn(@Param("orderIds") Collection<String> orderIds);
+
+	// Bookings in a state that belong to any of the given Razorpay orders
+	List<Booking> findByRazorpayOrderIdInAndStatus(Collection<String> orderIds, Booking.BookingStatus status);
+}
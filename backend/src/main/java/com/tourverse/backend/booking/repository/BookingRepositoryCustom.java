@@ -0,0 +1,30 @@
+package com.tourverse.backend.booking.repository;
+
+import com.tourverse.backend.booking.dto.BookingView;
+import com.tourverse.backend.booking.entity.Booking;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+	enum Party { TRAVELER, GUIDE }
+
+	/**
+	 * Filters for one page of a user's booking history. Null filters are not
+	 * applied; {@code afterCreatedAt}/{@code afterId} are the last row of the
+	 * previous page, or null for the first page.
+	 */
+	record HistoryQuery(Party party, Long userId, Booking.BookingStatus status, LocalDate fromDate,
+			LocalDate toDate, LocalDateTime afterCreatedAt, Long afterId) {
+	}
+
+	/**
+	 * Returns up to {@code limit} bookings of a traveler or guide, newest first
+	 * by (createdAt, id), with both parties' names fetched in the same statement.
+	 * Only the filters that are set end up in the SQL, so the query can seek on
+	 * the (party, created_at, id) index.
+	 */
+	List<BookingView> findHistory(HistoryQuery query, int limit);
+}
@@ -0,0 +1,61 @@
+package com.tourverse.backend.booking.repository;
+
+import com.tourverse.backend.booking.dto.BookingView;
+import com.tourverse.backend.booking.entity.Booking;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+	private final EntityManager entityManager;
+
+	@Override
+	public List<BookingView> findHistory(HistoryQuery query, int limit) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<BookingView> select = cb.createQuery(BookingView.class);
+		Root<Booking> booking = select.from(Booking.class);
+		Join<?, ?> guide = booking.join("guide");
+		Join<?, ?> traveler = booking.join("traveler");
+		Path<LocalDateTime> createdAt = booking.get("createdAt");
+		Path<Long> id = booking.get("id");
+
+		select.select(cb.construct(BookingView.class,
+				id, guide.get("id"), guide.get("name"), traveler.get("id"), traveler.get("name"),
+				booking.get("tourDate"), booking.get("tourTime"), booking.get("hours"), booking.get("totalAmount"),
+				booking.get("status"), createdAt));
+
+		List<Predicate> where = new ArrayList<>();
+		// Compared on the booking's own foreign key so the (party, created_at, id) index applies.
+		String party = query.party() == Party.TRAVELER ? "traveler" : "guide";
+		where.add(cb.equal(booking.get(party).get("id"), query.userId()));
+		if (query.status() != null) {
+			where.add(cb.equal(booking.get("status"), query.status()));
+		}
+		if (query.fromDate() != null) {
+			where.add(cb.greaterThanOrEqualTo(booking.<LocalDate>get("tourDate"), query.fromDate()));
+		}
+		if (query.toDate() != null) {
+			where.add(cb.lessThanOrEqualTo(booking.<LocalDate>get("tourDate"), query.toDate()));
+		}
+		if (query.afterCreatedAt() != null) {
+			// Rows strictly after the previous page's last row in (createdAt DESC, id DESC) order.
+			where.add(cb.or(cb.lessThan(createdAt, query.afterCreatedAt()),
+					cb.and(cb.equal(createdAt, query.afterCreatedAt()), cb.lessThan(id, query.afterId()))));
+		}
+
+		select.where(where.toArray(Predicate[]::new)).orderBy(cb.desc(createdAt), cb.desc(id));
+		return entityManager.createQuery(select).setMaxResults(limit).getResultList();
+	}
+}
@@ -1,10 +1,52 @@
 package com.tourverse.backend.booking.repository;
 
 import com.tourverse.backend.booking.entity.PackageBooking;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface PackageBookingRepository extends JpaRepository<PackageBooking, Long> {
 
-}
\ No newline at end of file
+	// Lifecycle scan: a chunk of package bookings in a state whose travel date is
+	// before the cutoff, read as a range on the (status, travel_date) index
+	@Query("SELECT p.id FROM PackageBooking p WHERE p.status = :status AND p.travelDate < :before "
+			+ "ORDER BY p.travelDate, p.id")
+	List<Long> findIdsDue(@Param("status") PackageBooking.PackageBookingStatus status,
+			@Param("before") LocalDate before, Pageable page);
+
+	// Moves many package bookings to a new state in one statement; rows no longer
+	// in the expected state are left alone
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE PackageBooking p SET p.status = :to WHERE p.id IN :ids AND p.status = :from")
+	int updateStatus(@Param("ids") Collection<Long> ids, @Param("from") PackageBooking.PackageBookingStatus from,
+			@Param("to") PackageBooking.PackageBookingStatus to);
+
+	// Moves the package bookings of the given Razorpay orders to a new state in one
+	// statement; rows no longer in the expected state are left alone
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE PackageBooking p SET p.status = :to WHERE p.razorpayOrderId IN :orderIds AND p.status = :from")
+	int updateStatusByOrderIds(@Param("orderIds") Collection<String> orderIds,
+			@Param("from") PackageBooking.PackageBookingStatus from, @Param("to") PackageBooking.PackageBookingStatus to);
+
+	// Records a payment order on a package booking that has none yet, in one
+	// statement; returns 0 if it already has one
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE PackageBooking p SET p.razorpayOrderId = :orderId WHERE p.id = :id AND p.razorpayOrderId IS NULL")
+	int recordOrder(@Param("id") Long id, @Param("orderId") String orderId);
+
+	// Which of the given Razorpay orders are recorded on a package booking, in any state
+	@Query("SELECT p.razorpayOrderId FROM PackageBooking p WHERE p.razorpayOrderId IN :orderIds")
+	List<String> findOrderIdsIn(@Param("orderIds") Collection<String> orderIds);
+
+	// Package bookings in a state that belong to any of the given Razorpay orders
+	List<PackageBooking> findByRazorpayOrderIdInAndStatus(Collection<String> orderIds,
+			PackageBooking.PackageBookingStatus status);
+}
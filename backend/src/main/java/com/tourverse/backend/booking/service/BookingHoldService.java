@@ -0,0 +1,101 @@
+package com.tourverse.backend.booking.service;
+
+import com.tourverse.backend.common.config.BookingConfig.BookingProperties;
+import com.tourverse.backend.common.config.BookingConfig.HoldProperties;
+import com.tourverse.backend.common.util.AppConstants;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Time-bounded holds on booked guide time.
+ *
+ * Every hold is a member of one Redis sorted set, scored by its expiry time. A
+ * new booking is held until the guide accepts it, an accepted booking until the
+ * traveler starts paying. Expired holds are read off the low end of the set, so
+ * a sweep costs O(expired) no matter how many holds are live.
+ */
+@Service
+public class BookingHoldService {
+
+	private static final String KEY = AppConstants.BOOKING_HOLDS_KEY;
+
+	// Reads and removes a batch of expired holds in one step, so each hold is
+	// claimed by exactly one instance.
+	private static final RedisScript<List> CLAIM_EXPIRED = RedisScript.of("""
+			local ids = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+			if #ids > 0 then
+				redis.call('ZREM', KEYS[1], unpack(ids))
+			end
+			return ids
+			""", List.class);
+
+	private final HoldProperties properties;
+	private final StringRedisTemplate redis;
+
+	public BookingHoldService(BookingProperties properties, StringRedisTemplate redis) {
+		this.properties = properties.getHold();
+		this.redis = redis;
+	}
+
+	/**
+	 * Holds a new booking's time until the guide has had time to accept it.
+	 */
+	public void holdForGuide(Long bookingId) {
+		hold(bookingId, properties.getPendingTtl());
+	}
+
+	/**
+	 * Extends the hold of an accepted booking until the traveler has had time to
+	 * start paying.
+	 */
+	public void holdForPayment(Long bookingId) {
+		hold(bookingId, properties.getPaymentTtl());
+	}
+
+	/**
+	 * Drops a hold once the booking no longer needs one, e.g. payment has started.
+	 */
+	public void clear(Long bookingId) {
+		if (properties.isEnabled()) {
+			redis.opsForZSet().remove(KEY, bookingId.toString());
+		}
+	}
+
+	/**
+	 * Removes and returns up to a batch of holds that have expired.
+	 */
+	public List<Long> claimExpired() {
+		if (!properties.isEnabled()) {
+			return List.of();
+		}
+		List<?> ids = redis.execute(CLAIM_EXPIRED, List.of(KEY),
+				Long.toString(Instant.now().toEpochMilli()), Integer.toString(properties.getSweepBatchSize()));
+		return ids == null ? List.of() : ids.stream().map(id -> Long.valueOf(id.toString())).toList();
+	}
+
+	/**
+	 * Puts claimed holds back so the next sweep retries them.
+	 */
+	public void restore(Collection<Long> bookingIds) {
+		double now = Instant.now().toEpochMilli();
+		bookingIds.forEach(id -> redis.opsForZSet().add(KEY, id.toString(), now));
+	}
+
+	public int batchSize() {
+		return properties.getSweepBatchSize();
+	}
+
+	// --- Private Helper Methods ---
+
+	private void hold(Long bookingId, Duration ttl) {
+		if (properties.isEnabled()) {
+			redis.opsForZSet().add(KEY, bookingId.toString(), Instant.now().plus(ttl).toEpochMilli());
+		}
+	}
+}
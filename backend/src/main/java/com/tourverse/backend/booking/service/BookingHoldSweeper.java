@@ -0,0 +1,56 @@
+package com.tourverse.backend.booking.service;
+
+import com.tourverse.backend.common.config.BookingConfig.BookingProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodically cancels bookings whose hold ran out and frees the guide's time,
+ * every {@code booking.hold.sweep-interval}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingHoldSweeper implements SchedulingConfigurer {
+
+	private final BookingProperties properties;
+	private final BookingHoldService bookingHoldService;
+	private final BookingService bookingService;
+
+	@Override
+	public void configureTasks(ScheduledTaskRegistrar registrar) {
+		registrar.addFixedDelayTask(this::sweep, properties.getHold().getSweepInterval());
+	}
+
+	public void sweep() {
+		List<Long> expired;
+		try {
+			do {
+				expired = bookingHoldService.claimExpired();
+				if (!expired.isEmpty()) {
+					expire(expired);
+				}
+			} while (expired.size() == bookingHoldService.batchSize());
+		} catch (RuntimeException e) {
+			log.warn("Could not collect expired booking holds: {}", e.getMessage());
+		}
+	}
+
+	// --- Private Helper Methods ---
+
+	private void expire(List<Long> bookingIds) {
+		try {
+			int canceled = bookingService.expireBookings(bookingIds);
+			log.info("Canceled {} of {} bookings whose hold expired", canceled, bookingIds.size());
+		} catch (RuntimeException e) {
+			// The holds were already claimed; put them back for the next sweep.
+			bookingHoldService.restore(bookingIds);
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.tourverse.backend.booking.service;
+
+import com.tourverse.backend.booking.entity.Booking;
+import com.tourverse.backend.booking.entity.PackageBooking;
+import com.tourverse.backend.common.config.BookingConfig.BookingProperties;
+import com.tourverse.backend.common.config.BookingConfig.LifecycleProperties;
+import com.tourverse.backend.common.util.AppConstants;
+import com.tourverse.backend.common.util.RedisLease;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Periodically completes or cancels bookings whose tour date has passed.
+ *
+ * Only the instance holding the lifecycle lease does the work; the others skip
+ * the run. The lease is renewed before every chunk, so a run that loses it stops
+ * instead of racing the new owner.
+ */
+@Component
+@Slf4j
+public class BookingLifecycleScheduler {
+
+	private final LifecycleProperties properties;
+	private final BookingLifecycleService lifecycleService;
+	private final RedisLease redisLease;
+
+	public BookingLifecycleScheduler(BookingProperties properties, BookingLifecycleService lifecycleService,
+			RedisLease redisLease) {
+		this.properties = properties.getLifecycle();
+		this.lifecycleService = lifecycleService;
+		this.redisLease = redisLease;
+	}
+
+	@Scheduled(fixedDelayString = "${booking.lifecycle.interval:5m}")
+	public void run() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		Optional<RedisLease.Lease> lease;
+		try {
+			lease = redisLease.tryAcquire(AppConstants.BOOKING_LIFECYCLE_LEASE_KEY, properties.getLeaseTtl());
+		} catch (RuntimeException e) {
+			log.warn("Could not take the booking lifecycle lease: {}", e.getMessage());
+			return;
+		}
+		if (lease.isEmpty()) {
+			log.debug("Booking lifecycle is running on another instance");
+			return;
+		}
+
+		try (RedisLease.Lease held = lease.get()) {
+			LocalDate today = LocalDate.now();
+			int pending = drain(held, chunk -> lifecycleService.closePastBookings(
+					Booking.BookingStatus.PENDING, today, chunk));
+			int accepted = drain(held, chunk -> lifecycleService.closePastBookings(
+					Booking.BookingStatus.CONFIRMED, today, chunk));
+			int paid = drain(held, chunk -> lifecycleService.closePastBookings(
+					Booking.BookingStatus.PAID, today, chunk));
+			int unpaidPackages = drain(held, chunk -> lifecycleService.closePastPackageBookings(
+					PackageBooking.PackageBookingStatus.PENDING_PAYMENT, today, chunk));
+			int packages = drain(held, chunk -> lifecycleService.closePastPackageBookings(
+					PackageBooking.PackageBookingStatus.CONFIRMED, today, chunk));
+			if (pending + accepted + paid + unpaidPackages + packages > 0) {
+				log.info("Closed past bookings: {} pending, {} accepted and {} paid guide bookings, "
+						+ "{} unpaid and {} confirmed package bookings", pending, accepted, paid, unpaidPackages,
+						packages);
+			}
+		} catch (RuntimeException e) {
+			// Whatever was committed stays; the next run picks up the rest.
+			log.warn("Booking lifecycle run failed: {}", e.getMessage());
+		}
+	}
+
+	// --- Private Helper Methods ---
+
+	private int drain(RedisLease.Lease lease, IntUnaryOperator closeChunk) {
+		int total = 0;
+		int closed;
+		do {
+			if (!lease.renew()) {
+				throw new IllegalStateException("Lost the booking lifecycle lease.");
+			}
+			closed = closeChunk.applyAsInt(properties.getChunkSize());
+			total += closed;
+		} while (closed == properties.getChunkSize());
+		return total;
+	}
+}
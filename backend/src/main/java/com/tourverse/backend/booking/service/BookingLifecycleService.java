@@ -0,0 +1,79 @@
+package com.tourverse.backend.booking.service;
+
+import com.tourverse.backend.booking.entity.Booking;
+import com.tourverse.backend.booking.entity.PackageBooking;
+import com.tourverse.backend.booking.repository.BookingRepository;
+import com.tourverse.backend.booking.repository.PackageBookingRepository;
+import com.tourverse.backend.common.util.TransactionUtils;
+import com.tourverse.backend.guide.service.GuideCalendarService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Moves bookings whose tour date has passed into their final state, one chunk
+ * per transaction.
+ *
+ * Each chunk is a range scan of one state on the (status, date) index followed
+ * by a bulk UPDATE per target state. Every row of a chunk leaves the scanned
+ * state, so the next chunk starts from the front of the range again.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingLifecycleService {
+
+	private final BookingRepository bookingRepository;
+	private final PackageBookingRepository packageBookingRepository;
+	private final GuideCalendarService guideCalendarService;
+
+	/**
+	 * Closes a chunk of guide bookings in the given state whose tour date is
+	 * before {@code today}. Paid bookings are completed; requests the guide never
+	 * accepted and accepted bookings that were never paid are canceled, whether
+	 * or not a payment order was opened.
+	 *
+	 * @return The number of bookings closed; less than {@code chunkSize} once none
+	 *         are left.
+	 */
+	@Transactional
+	public int closePastBookings(Booking.BookingStatus status, LocalDate today, int chunkSize) {
+		// Locked, so an accept or payment in flight cannot interleave with the update.
+		List<Booking> due = bookingRepository.findDueForUpdate(status, today, PageRequest.of(0, chunkSize));
+		if (due.isEmpty()) {
+			return 0;
+		}
+
+		Booking.BookingStatus outcome = status == Booking.BookingStatus.PAID ? Booking.BookingStatus.COMPLETED
+				: Booking.BookingStatus.CANCELED;
+		bookingRepository.updateStatus(due.stream().map(Booking::getId).toList(), status, outcome);
+		due.forEach(booking -> booking.setStatus(outcome));
+
+		// Past days can no longer be booked, so the guide's time is not given back;
+		// only the calendar needs to show the outcome.
+		TransactionUtils.runAfterCommit(() -> due.forEach(guideCalendarService::onBookingChanged));
+		return due.size();
+	}
+
+	/**
+	 * Closes a chunk of package bookings in the given state whose travel date is
+	 * before {@code today}: unpaid ones are canceled, confirmed ones completed.
+	 *
+	 * @return The number of package bookings examined; less than
+	 *         {@code chunkSize} once none are left.
+	 */
+	@Transactional
+	public int closePastPackageBookings(PackageBooking.PackageBookingStatus status, LocalDate today, int chunkSize) {
+		List<Long> due = packageBookingRepository.findIdsDue(status, today, PageRequest.of(0, chunkSize));
+		if (!due.isEmpty()) {
+			PackageBooking.PackageBookingStatus outcome = status == PackageBooking.PackageBookingStatus.CONFIRMED
+					? PackageBooking.PackageBookingStatus.COMPLETED
+					: PackageBooking.PackageBookingStatus.CANCELED;
+			packageBookingRepository.updateStatus(due, status, outcome);
+		}
+		return due.size();
+	}
+}
@@ -1,22 +1,43 @@
 package com.tourverse.backend.booking.service;
 
+import com.tourverse.backend.booking.dto.BookingHistoryRequest;
+import com.tourverse.backend.booking.dto.BookingPageDto;
+import com.tourverse.backend.booking.dto.BookingParties;
 import com.tourverse.backend.booking.dto.BookingRequest;
 import com.tourverse.backend.booking.dto.BookingResponse;
+import com.tourverse.backend.booking.dto.BookingView;
+import com.tourverse.backend.booking.dto.BulkBookingDecisionRequest;
+import com.tourverse.backend.booking.dto.BulkBookingDecisionResponse;
+import com.tourverse.backend.booking.dto.BulkBookingDecisionResponse.DecisionResult;
+import com.tourverse.backend.booking.dto.BulkBookingDecisionResponse.Outcome;
 import com.tourverse.backend.booking.entity.Booking;
 import com.tourverse.backend.booking.repository.BookingRepository;
-import com.tourverse.backend.guide.document.AvailabilitySlot;
-import com.tourverse.backend.guide.entity.Guide;
+import com.tourverse.backend.booking.repository.BookingRepositoryCustom.HistoryQuery;
+import com.tourverse.backend.booking.repository.BookingRepositoryCustom.Party;
+import com.tourverse.backend.common.exceptions.InvalidCursorException;
+import com.tourverse.backend.common.util.CursorCodec;
+import com.tourverse.backend.common.util.TransactionUtils;
 import com.tourverse.backend.guide.repository.AvailabilityRepository;
 import com.tourverse.backend.guide.repository.GuideRepository;
-import com.tourverse.backend.user.entity.Traveler;
+import com.tourverse.backend.guide.service.AvailabilityService;
+import com.tourverse.backend.guide.service.GuideCalendarService;
 import com.tourverse.backend.user.repository.TravelerRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,10 +48,13 @@ public class BookingService {
     private final TravelerRepository travelerRepository;
     private final GuideRepository guideRepository;
     private final AvailabilityRepository availabilityRepository;
+    private final AvailabilityService availabilityService;
+    private final BookingHoldService bookingHoldService;
+    private final GuideCalendarService guideCalendarService;
 
     /**
      * Creates a booking request from a traveler.
-     * This method validates the guide's availability and calculates the total cost.
+     * This method reserves the guide's time and calculates the total cost.
      *
      * @param travelerId The ID of the logged-in traveler.
      * @param request    The booking request DTO.
@@ -38,23 +62,23 @@ public class BookingService {
      */
     @Transactional
     public BookingResponse createBooking(Long travelerId, BookingRequest request) {
-        // Step 1: Fetch the core entities
-        Traveler traveler = travelerRepository.findById(travelerId)
-                .orElseThrow(() -> new RuntimeException("Traveler not found"));
+        // Step 1: Read the names and rate of both parties in one statement
+        BookingParties parties = bookingRepository.findParties(travelerId, request.getGuideId())
+                .orElseThrow(() -> new RuntimeException(
+                        travelerRepository.existsById(travelerId) ? "Guide not found" : "Traveler not found"));
 
-        Guide guide = guideRepository.findById(request.getGuideId())
-                .orElseThrow(() -> new RuntimeException("Guide not found"));
-
-        // Step 2: Validate the guide's availability
-        validateGuideAvailability(guide.getId(), request.getTourDate(), request.getTourTime());
+        // Step 2: Reserve the guide's time. The reservation is atomic, so the same
+        // hours can never be booked twice.
+        reserveGuideTime(parties.guideId(), request.getTourDate(), request.getTourTime(), request.getHours());
 
         // Step 3: Calculate the total amount
-        BigDecimal totalAmount = guide.getRatePerHour().multiply(new BigDecimal(request.getHours()));
+        BigDecimal totalAmount = parties.ratePerHour().multiply(new BigDecimal(request.getHours()));
 
-        // Step 4: Create and save the booking entity
+        // Step 4: Create and save the booking entity. It only needs references to
+        // the users, so neither is loaded.
         Booking booking = Booking.builder()
-                .traveler(traveler)
-                .guide(guide)
+                .traveler(travelerRepository.getReferenceById(travelerId))
+                .guide(guideRepository.getReferenceById(parties.guideId()))
                 .tourDate(request.getTourDate())
                 .tourTime(request.getTourTime())
                 .hours(request.getHours())
@@ -64,30 +88,39 @@ public class BookingService {
 
         Booking savedBooking = bookingRepository.save(booking);
 
-        // Here, we would typically proceed to the payment flow.
-        // For now, we return the created booking details.
+        // The guide's time is only held for a while; if the guide does not accept
+        // in time, the booking is canceled and the time freed. Held once committed,
+        // so a rolled-back booking leaves no hold behind.
+        TransactionUtils.runAfterCommit(() -> bookingHoldService.holdForGuide(savedBooking.getId()));
+        updateCalendarAfterCommit(List.of(savedBooking));
 
-        return convertToDto(savedBooking);
+        return convertToDto(savedBooking, parties);
     }
 
     /**
-     * Retrieves all bookings for a specific traveler.
+     * Retrieves one page of a traveler's bookings, newest first.
+     *
+     * @param travelerId The ID of the logged-in traveler.
+     * @param request    Optional status and tour-date filters, the page size and
+     *                   the cursor of the previous page.
+     * @return A page of bookings with the cursor for the next page.
      */
     @Transactional(readOnly = true)
-    public List<BookingResponse> getBookingsForTraveler(Long travelerId) {
-        return bookingRepository.findByTravelerId(travelerId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public BookingPageDto getBookingsForTraveler(Long travelerId, BookingHistoryRequest request) {
+        return getHistory(Party.TRAVELER, travelerId, request);
     }
 
     /**
-     * Retrieves all bookings for a specific guide.
+     * Retrieves one page of a guide's bookings, newest first.
+     *
+     * @param guideId The ID of the logged-in guide.
+     * @param request Optional status and tour-date filters, the page size and the
+     *                cursor of the previous page.
+     * @return A page of bookings with the cursor for the next page.
      */
     @Transactional(readOnly = true)
-    public List<BookingResponse> getBookingsForGuide(Long guideId) {
-        return bookingRepository.findByGuideId(guideId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public BookingPageDto getBookingsForGuide(Long guideId, BookingHistoryRequest request) {
+        return getHistory(Party.GUIDE, guideId, request);
     }
     
     /**
@@ -99,7 +132,8 @@ public class BookingService {
      */
     @Transactional
     public BookingResponse acceptBooking(Long guideId, Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        // Locked, so an expiring hold cannot cancel the booking while it is accepted.
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
 
         // Security check: Ensure the booking belongs to the guide who is accepting it.
@@ -114,31 +148,198 @@ public class BookingService {
 
         booking.setStatus(Booking.BookingStatus.CONFIRMED);
         Booking updatedBooking = bookingRepository.save(booking);
+        TransactionUtils.runAfterCommit(() -> bookingHoldService.holdForPayment(bookingId));
+        updateCalendarAfterCommit(List.of(updatedBooking));
 
         // Optional: You could send an email notification to the traveler here,
         // letting them know their booking is confirmed and ready for payment.
 
-        return convertToDto(updatedBooking);
+        // One joined read of the response columns instead of loading both users.
+        return bookingRepository.findViewById(bookingId).map(this::convertToDto)
+                .orElseThrow(() -> new RuntimeException("Booking not found"));
+    }
+
+    /**
+     * Applies a guide's answers to several pending booking requests at once. The
+     * bookings are read with one query and changed with one UPDATE; a decision
+     * that cannot be applied is reported back without failing the others.
+     *
+     * @param guideId The ID of the currently authenticated guide.
+     * @param request The bookings to accept or decline.
+     * @return The outcome of every decision, in request order.
+     */
+    @Transactional
+    public BulkBookingDecisionResponse decideBookings(Long guideId, BulkBookingDecisionRequest request) {
+        List<BulkBookingDecisionRequest.Decision> decisions = request.getDecisions();
+        Set<Long> ids = new HashSet<>();
+        for (BulkBookingDecisionRequest.Decision decision : decisions) {
+            if (!ids.add(decision.getBookingId())) {
+                throw new IllegalArgumentException("Booking " + decision.getBookingId() + " is decided more than once.");
+            }
+        }
+
+        // Locked, so an expiring hold cannot cancel a booking while it is decided.
+        Map<Long, Booking> bookings = bookingRepository.findAllByIdForUpdate(ids).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        List<Outcome> outcomes = new ArrayList<>(decisions.size());
+        List<Booking> decided = new ArrayList<>();
+        Set<Long> accepted = new HashSet<>();
+        for (BulkBookingDecisionRequest.Decision decision : decisions) {
+            Booking booking = bookings.get(decision.getBookingId());
+            Outcome outcome;
+            if (booking == null) {
+                outcome = Outcome.NOT_FOUND;
+            } else if (!booking.getGuide().getId().equals(guideId)) {
+                outcome = Outcome.NOT_AUTHORIZED;
+            } else if (booking.getStatus() != Booking.BookingStatus.PENDING) {
+                outcome = Outcome.NOT_PENDING;
+            } else if (decision.getAction() == BulkBookingDecisionRequest.Action.ACCEPT) {
+                outcome = Outcome.ACCEPTED;
+                accepted.add(booking.getId());
+                decided.add(booking);
+            } else {
+                outcome = Outcome.DECLINED;
+                decided.add(booking);
+            }
+            outcomes.add(outcome);
+        }
+
+        if (!decided.isEmpty()) {
+            bookingRepository.decidePending(decided.stream().map(Booking::getId).toList(), accepted);
+            // The update cleared the persistence context; bring the loaded copies in line.
+            decided.forEach(booking -> booking.setStatus(accepted.contains(booking.getId())
+                    ? Booking.BookingStatus.CONFIRMED : Booking.BookingStatus.CANCELED));
+
+            List<Runnable> afterCommit = new ArrayList<>();
+            for (Booking booking : decided) {
+                Long id = booking.getId();
+                if (booking.getStatus() == Booking.BookingStatus.CONFIRMED) {
+                    afterCommit.add(() -> bookingHoldService.holdForPayment(id));
+                } else {
+                    afterCommit.add(() -> bookingHoldService.clear(id));
+                    afterCommit.add(releaseOf(booking.getGuide().getId(), booking.getTourDate(), booking.getTourTime(),
+                            booking.getHours()));
+                }
+            }
+            // Holds change and declined requests give their time back once the
+            // decision is committed; each on its own, so one failure skips no other.
+            afterCommit.forEach(TransactionUtils::runAfterCommit);
+            updateCalendarAfterCommit(decided);
+        }
+
+        List<DecisionResult> results = new ArrayList<>(decisions.size());
+        for (int i = 0; i < decisions.size(); i++) {
+            Booking booking = bookings.get(decisions.get(i).getBookingId());
+            Outcome outcome = outcomes.get(i);
+            results.add(DecisionResult.builder()
+                    .bookingId(decisions.get(i).getBookingId())
+                    .outcome(outcome)
+                    // Other guides' bookings are not described.
+                    .status(booking == null || outcome == Outcome.NOT_AUTHORIZED ? null : booking.getStatus())
+                    .build());
+        }
+        return BulkBookingDecisionResponse.builder()
+                .accepted(accepted.size())
+                .declined(decided.size() - accepted.size())
+                .rejected(decisions.size() - decided.size())
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Cancels bookings whose hold ran out before the guide accepted them or the
+     * traveler started paying, and gives their time back to the guide.
+     *
+     * @param bookingIds The IDs of the bookings whose hold expired.
+     * @return The number of bookings canceled.
+     */
+    @Transactional
+    public int expireBookings(Collection<Long> bookingIds) {
+        List<Booking> expired = bookingRepository.findAllByIdForUpdate(bookingIds).stream()
+                .filter(booking -> booking.getStatus() == Booking.BookingStatus.PENDING
+                        || (booking.getStatus() == Booking.BookingStatus.CONFIRMED
+                                && booking.getRazorpayOrderId() == null))
+                .toList();
+        expired.forEach(booking -> booking.setStatus(Booking.BookingStatus.CANCELED));
+        bookingRepository.saveAll(expired);
+
+        // Free the time only once the cancellations are committed.
+        List<Runnable> releases = expired.stream()
+                .map(booking -> releaseOf(booking.getGuide().getId(), booking.getTourDate(), booking.getTourTime(),
+                        booking.getHours()))
+                .toList();
+        releases.forEach(TransactionUtils::runAfterCommit);
+        updateCalendarAfterCommit(expired);
+        return expired.size();
     }
 
     // --- Private Helper Methods ---
 
-    private void validateGuideAvailability(Long guideId, java.time.LocalDate date, LocalTime time) {
-        AvailabilitySlot slot = availabilityRepository.findByGuideIdAndDate(guideId, date)
-                .orElseThrow(() -> new RuntimeException("Guide is not available on " + date));
+    private BookingPageDto getHistory(Party party, Long userId, BookingHistoryRequest request) {
+        if (request.getFromDate() != null && request.getToDate() != null
+                && request.getFromDate().isAfter(request.getToDate())) {
+            throw new IllegalArgumentException("fromDate must not be after toDate.");
+        }
+
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (request.getCursor() != null && !request.getCursor().isBlank()) {
+            String[] parts = CursorCodec.decode(request.getCursor(), 2);
+            try {
+                afterCreatedAt = LocalDateTime.parse(parts[0]);
+                afterId = Long.parseLong(parts[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new InvalidCursorException("Invalid cursor: " + request.getCursor(), e);
+            }
+        }
+
+        // One extra row tells whether there is a next page.
+        HistoryQuery query = new HistoryQuery(party, userId, request.getStatus(), request.getFromDate(),
+                request.getToDate(), afterCreatedAt, afterId);
+        List<BookingView> rows = bookingRepository.findHistory(query, request.getLimit() + 1);
+
+        String nextCursor = null;
+        if (rows.size() > request.getLimit()) {
+            rows = rows.subList(0, request.getLimit());
+            BookingView last = rows.get(rows.size() - 1);
+            nextCursor = CursorCodec.encode(last.createdAt(), last.id());
+        }
+        List<BookingResponse> bookings = rows.stream().map(this::convertToDto).toList();
+        return BookingPageDto.builder().bookings(bookings).nextCursor(nextCursor).build();
+    }
 
-        if (!slot.isAvailable() || slot.getSlots() == null || !slot.getSlots().contains(time)) {
+    private void reserveGuideTime(Long guideId, LocalDate date, LocalTime time, int hours) {
+        if (hours < 1) {
+            throw new IllegalArgumentException("A booking must last at least one hour.");
+        }
+        if (!availabilityService.reserve(guideId, date, time, hours)) {
+            // Tell apart a day with no schedule from time that is taken.
+            availabilityRepository.findByGuideIdAndDate(guideId, date)
+                    .orElseThrow(() -> new RuntimeException("Guide is not available on " + date));
             throw new IllegalStateException("The selected time slot is not available.");
         }
+
+        // The reservation lives in MongoDB, outside this transaction, so give the
+        // time back if the booking itself is not committed.
+        TransactionUtils.runAfterRollback(releaseOf(guideId, date, time, hours));
     }
 
-    private BookingResponse convertToDto(Booking booking) {
+    private void updateCalendarAfterCommit(List<Booking> bookings) {
+        TransactionUtils.runAfterCommit(() -> bookings.forEach(guideCalendarService::onBookingChanged));
+    }
+
+    private Runnable releaseOf(Long guideId, LocalDate date, LocalTime time, int hours) {
+        return () -> availabilityService.release(guideId, date, time, hours);
+    }
+
+    private BookingResponse convertToDto(Booking booking, BookingParties parties) {
         return BookingResponse.builder()
                 .id(booking.getId())
-                .guideId(booking.getGuide().getId())
-                .guideName(booking.getGuide().getName())
-                .travelerId(booking.getTraveler().getId())
-                .travelerName(booking.getTraveler().getName())
+                .guideId(parties.guideId())
+                .guideName(parties.guideName())
+                .travelerId(parties.travelerId())
+                .travelerName(parties.travelerName())
                 .tourDate(booking.getTourDate())
                 .tourTime(booking.getTourTime())
                 .hours(booking.getHours())
@@ -146,4 +347,19 @@ public class BookingService {
                 .status(booking.getStatus())
                 .build();
     }
+
+    private BookingResponse convertToDto(BookingView booking) {
+        return BookingResponse.builder()
+                .id(booking.id())
+                .guideId(booking.guideId())
+                .guideName(booking.guideName())
+                .travelerId(booking.travelerId())
+                .travelerName(booking.travelerName())
+                .tourDate(booking.tourDate())
+                .tourTime(booking.tourTime())
+                .hours(booking.hours())
+                .totalAmount(booking.totalAmount())
+                .status(booking.status())
+                .build();
+    }
 }
\ No newline at end of file
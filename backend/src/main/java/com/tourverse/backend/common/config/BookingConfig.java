@@ -0,0 +1,61 @@
+package com.tourverse.backend.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+import java.time.Duration;
+
+@Configuration
+@EnableScheduling // Runs the booking housekeeping jobs
+@EnableConfigurationProperties(BookingConfig.BookingProperties.class)
+public class BookingConfig {
+
+	@ConfigurationProperties(prefix = "booking")
+	@Validated
+	@Data
+	public static class BookingProperties {
+		@Valid
+		private HoldProperties hold = new HoldProperties();
+
+		@Valid
+		private LifecycleProperties lifecycle = new LifecycleProperties();
+	}
+
+	@Data
+	public static class HoldProperties {
+		private boolean enabled = true;
+
+		// How long a new booking keeps the guide's time while waiting for the guide.
+		private Duration pendingTtl = Duration.ofMinutes(30);
+
+		// How long an accepted booking keeps it while waiting for the traveler to pay.
+		private Duration paymentTtl = Duration.ofMinutes(30);
+
+		// How often expired holds are collected, and how many per round trip.
+		private Duration sweepInterval = Duration.ofSeconds(10);
+		@Min(value = 1, message = "Hold sweep batch size must be positive")
+		private int sweepBatchSize = 500;
+	}
+
+	@Data
+	public static class LifecycleProperties {
+		private boolean enabled = true;
+
+		// How often bookings whose tour date has passed are completed or canceled.
+		private Duration interval = Duration.ofMinutes(5);
+
+		// Rows moved per transaction.
+		@Min(value = 1, message = "Lifecycle chunk size must be positive")
+		private int chunkSize = 500;
+
+		// How long one instance owns a run without renewing; must outlast a chunk.
+		private Duration leaseTtl = Duration.ofMinutes(1);
+	}
+}
@@ -0,0 +1,84 @@
+package com.tourverse.backend.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(GuideSearchConfig.SearchProperties.class)
+public class GuideSearchConfig {
+
+	@ConfigurationProperties(prefix = "guide.search")
+	@Validated
+	@Data
+	public static class SearchProperties {
+		// Groups of interchangeable spellings, e.g. "bengaluru|bangalore".
+		private List<String> synonyms = new ArrayList<>();
+
+		// Minimum trigram (Dice) similarity for a fuzzy match to be accepted.
+		@DecimalMin(value = "0.0", message = "Minimum similarity must be between 0 and 1")
+		@DecimalMax(value = "1.0", message = "Minimum similarity must be between 0 and 1")
+		private double minSimilarity = 0.4;
+
+		@Valid
+		private CacheProperties cache = new CacheProperties();
+
+		private FanOutProperties fanOut = new FanOutProperties();
+
+		@Valid
+		private LiveProperties live = new LiveProperties();
+	}
+
+	@Data
+	public static class CacheProperties {
+		private boolean enabled = true;
+
+		// Per-instance (L1) tier: bounded and short-lived.
+		@Min(value = 1, message = "Local cache size must be positive")
+		private long localMaxSize = 10_000;
+		private Duration localTtl = Duration.ofSeconds(30);
+
+		// Redis (L2) tier shared by all instances.
+		private Duration sharedTtl = Duration.ofMinutes(5);
+	}
+
+	@Data
+	public static class FanOutProperties {
+		public enum Mode { PARALLEL, SEQUENTIAL }
+
+		// PARALLEL loads the MySQL and MongoDB sides of a search on virtual threads.
+		private Mode mode = Mode.PARALLEL;
+
+		// How long a search waits for each store before giving up.
+		private Duration mysqlTimeout = Duration.ofSeconds(3);
+		private Duration mongoTimeout = Duration.ofSeconds(3);
+	}
+
+	@Data
+	public static class LiveProperties {
+		private boolean enabled = true;
+
+		// Changes for the same (date, location) within this window go out as one event.
+		private Duration flushInterval = Duration.ofMillis(250);
+
+		// How long a subscriber stays connected before the client has to reconnect.
+		private Duration subscriberTimeout = Duration.ofMinutes(30);
+
+		// Open feeds allowed per client address, and on this instance in total.
+		@Min(value = 1, message = "Live subscribers per client must be positive")
+		private int maxSubscribersPerClient = 4;
+		@Min(value = 1, message = "Live subscribers must be positive")
+		private int maxSubscribers = 10_000;
+	}
+}
@@ -0,0 +1,30 @@
+package com.tourverse.backend.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyConfig.IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+	@ConfigurationProperties(prefix = "idempotency")
+	@Data
+	public static class IdempotencyProperties {
+		private boolean enabled = true;
+
+		// How long a completed response is replayed for retries with the same key.
+		private Duration responseTtl = Duration.ofHours(24);
+
+		// How long a request may run before its key is considered abandoned.
+		private Duration lockTtl = Duration.ofMinutes(1);
+
+		// How long a duplicate waits for the first request to finish.
+		private Duration waitTimeout = Duration.ofSeconds(10);
+		private Duration pollInterval = Duration.ofMillis(50);
+	}
+}
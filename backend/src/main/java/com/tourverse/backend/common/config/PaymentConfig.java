@@ -0,0 +1,54 @@
+package com.tourverse.backend.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Configuration
+@EnableConfigurationProperties({ PaymentConfig.GatewayProperties.class, PaymentConfig.WebhookProperties.class })
+public class PaymentConfig {
+
+	@ConfigurationProperties(prefix = "razorpay.api")
+	@Data
+	public static class GatewayProperties {
+		private String keyId;
+		private String keySecret;
+
+		// Overridden to point the client at a stub gateway.
+		private String baseUrl = "https://api.razorpay.com/v1";
+
+		private Duration connectTimeout = Duration.ofSeconds(2);
+		private Duration readTimeout = Duration.ofSeconds(10);
+
+		// Bulkhead: at most this many calls in flight; others wait up to maxWait, then fail.
+		private int maxConcurrentCalls = 20;
+		private Duration maxWait = Duration.ofMillis(200);
+
+		// Circuit breaker: this many failures in a row stop calls for openDuration.
+		private int failureThreshold = 5;
+		private Duration openDuration = Duration.ofSeconds(30);
+	}
+
+	@ConfigurationProperties(prefix = "razorpay.webhook")
+	@Data
+	public static class WebhookProperties {
+		private boolean enabled = true;
+
+		// Shared secret the gateway signs each webhook body with.
+		private String secret;
+
+		// How often the consumer reads new events, and how many it applies per transaction.
+		private Duration pollInterval = Duration.ofSeconds(1);
+		private int batchSize = 200;
+
+		// Events a consumer took but never acknowledged are taken over after this long.
+		private Duration claimIdle = Duration.ofMinutes(1);
+
+		// Once the stream holds more events than this, the acknowledged ones are trimmed.
+		private long maxLength = 100_000;
+	}
+}
@@ -6,6 +6,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.*;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.*;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 @EnableCaching
@@ -22,4 +25,29 @@ public class RedisConfig {
 		template.setConnectionFactory(factory);
 		return template;
 	}
+
+	// Raw values for callers that encode their own payloads (e.g. the search cache).
+	@Bean
+	RedisTemplate<String, byte[]> binaryRedisTemplate(RedisConnectionFactory factory) {
+		RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+		template.setConnectionFactory(factory);
+		template.setKeySerializer(RedisSerializer.string());
+		template.setValueSerializer(RedisSerializer.byteArray());
+		return template;
+	}
+
+	@Bean
+	RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory factory) {
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(factory);
+		// One thread, so messages are handled in the order they were published; the
+		// search cache relies on seeing evictions in order.
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(1);
+		executor.setMaxPoolSize(1);
+		executor.setThreadNamePrefix("redis-listener-");
+		executor.initialize();
+		container.setTaskExecutor(executor);
+		return container;
+	}
 }
@@ -56,6 +56,7 @@ public class SecurityConfig {
 	                            "/api/guide/register/verify",
 	                            "/api/guide/forgot-password",
 	                            "/api/guide/reset-password",
+	                            "/api/payment/webhook",
 	                            "/swagger-ui/**",
 	                            "/api-docs/**"
 	                    ).permitAll()
@@ -0,0 +1,15 @@
+package com.tourverse.backend.common.exceptions;
+
+/**
+ * Thrown when an Idempotency-Key is reused for a different request, or its first
+ * request is still running after the wait timeout.
+ */
+public class IdempotencyConflictException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public IdempotencyConflictException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,19 @@
+package com.tourverse.backend.common.exceptions;
+
+/**
+ * Thrown when a pagination cursor sent by a client cannot be read, or was
+ * issued for a different query.
+ */
+public class InvalidCursorException extends IllegalArgumentException {
+
+	private static final long serialVersionUID = 1L;
+
+	public InvalidCursorException(String message) {
+		super(message);
+	}
+
+	public InvalidCursorException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+}
@@ -0,0 +1,15 @@
+package com.tourverse.backend.common.exceptions;
+
+/**
+ * Thrown when a live feed is asked for another subscription beyond its limit,
+ * per client or in total.
+ */
+public class TooManySubscribersException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public TooManySubscribersException(String message) {
+		super(message);
+	}
+
+}
@@ -6,4 +6,15 @@ public final class AppConstants {
 
 	public static final String OTP_PREFIX = "otp:";
 	public static final String BLACKLIST_PREFIX = "BLACKLISTED_TOKEN:";
+	public static final String GUIDE_SEARCH_CACHE_PREFIX = "guide-search:";
+	public static final String BOOKING_HOLDS_KEY = "booking:holds";
+	public static final String AVAILABILITY_FEED_CHANNEL = "availability-feed";
+	public static final String BOOKING_LIFECYCLE_LEASE_KEY = "lease:booking-lifecycle";
+	public static final String IDEMPOTENCY_PREFIX = "idempotency:";
+	public static final String PAYMENT_EVENTS_STREAM = "stream:payment-events";
+	public static final String PAYMENT_EVENTS_GROUP = "payment-events";
+
+	// IDs each instance reserves per trip to an entity's ID sequence, so inserts
+	// need no round trip for their key and can be sent in JDBC batches.
+	public static final int ID_ALLOCATION_SIZE = 50;
 }
\ No newline at end of file
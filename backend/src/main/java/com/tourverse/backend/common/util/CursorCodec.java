@@ -0,0 +1,47 @@
+package com.tourverse.backend.common.util;
+
+import com.tourverse.backend.common.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes keyset-pagination positions as opaque, URL-safe cursor tokens.
+ */
+public final class CursorCodec {
+
+	private static final String SEPARATOR = "|";
+
+	private CursorCodec() {} // Private constructor to prevent instantiation
+
+	public static String encode(Object... parts) {
+		StringBuilder raw = new StringBuilder();
+		for (int i = 0; i < parts.length; i++) {
+			if (i > 0) {
+				raw.append(SEPARATOR);
+			}
+			raw.append(parts[i]);
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decodes a cursor produced by {@link #encode}, checking that it has the
+	 * expected number of parts.
+	 *
+	 * @throws InvalidCursorException if the cursor cannot be read.
+	 */
+	public static String[] decode(String cursor, int expectedParts) {
+		String raw;
+		try {
+			raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+		}
+		String[] parts = raw.split("\\" + SEPARATOR, -1);
+		if (parts.length != expectedParts) {
+			throw new InvalidCursorException("Invalid cursor: " + cursor);
+		}
+		return parts;
+	}
+}
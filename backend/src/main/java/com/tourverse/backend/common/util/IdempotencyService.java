@@ -0,0 +1,248 @@
+package com.tourverse.backend.common.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourverse.backend.common.config.IdempotencyConfig.IdempotencyProperties;
+import com.tourverse.backend.common.exceptions.IdempotencyConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a create request at most once per client-supplied Idempotency-Key.
+ *
+ * The first request with a key claims it in Redis (SET NX) and runs; its
+ * successful response is stored under the key for a while and replayed to every
+ * retry. Duplicates that arrive while it runs wait for it: on this instance
+ * through an in-memory future, on other instances by polling the key. A failed
+ * request gives its key up, so the client can retry with the same key.
+ *
+ * Each claim carries a random token, and the response is stored or the key given
+ * up only while the key still holds that claim. A request that outlives its
+ * claim's TTL therefore never overwrites or deletes the claim of a retry that
+ * took the key over.
+ */
+@Component
+@Slf4j
+public class IdempotencyService {
+
+	public static final String HEADER = "Idempotency-Key";
+	public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+	private static final int MAX_KEY_LENGTH = 255;
+
+	private static final RedisScript<Long> STORE = RedisScript.of("""
+			if redis.call('GET', KEYS[1]) == ARGV[1] then
+				redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+				return 1
+			end
+			return 0
+			""", Long.class);
+
+	private static final RedisScript<Long> RELEASE = RedisScript.of("""
+			if redis.call('GET', KEYS[1]) == ARGV[1] then
+				return redis.call('DEL', KEYS[1])
+			end
+			return 0
+			""", Long.class);
+
+	private final IdempotencyProperties properties;
+	private final StringRedisTemplate redis;
+	private final ObjectMapper objectMapper;
+
+	// Requests running on this instance, so local duplicates wait without polling.
+	private final ConcurrentMap<String, CompletableFuture<Void>> running = new ConcurrentHashMap<>();
+
+	public IdempotencyService(IdempotencyProperties properties, StringRedisTemplate redis,
+			ObjectMapper objectMapper) {
+		this.properties = properties;
+		this.redis = redis;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Runs the action once for the given key, or replays the response of the run
+	 * that already happened.
+	 *
+	 * @param key      The client's Idempotency-Key; without one the action simply runs.
+	 * @param scope    Separates keys of different users and endpoints.
+	 * @param request  The request's input; reusing a key for a different input is a conflict.
+	 * @param bodyType The response body type, to read a stored response back.
+	 * @param action   The request to run.
+	 */
+	public <T> ResponseEntity<T> execute(String key, String scope, Object request, Class<T> bodyType,
+			Supplier<ResponseEntity<T>> action) {
+		if (!properties.isEnabled() || key == null || key.isBlank()) {
+			return action.get();
+		}
+		if (key.length() > MAX_KEY_LENGTH) {
+			throw new IllegalArgumentException(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters.");
+		}
+
+		String redisKey = AppConstants.IDEMPOTENCY_PREFIX + scope + ":" + key;
+		String fingerprint = fingerprintOf(request);
+		long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+		while (true) {
+			String claim = claim(redisKey, fingerprint);
+			if (claim != null) {
+				return run(redisKey, fingerprint, claim, action);
+			}
+			Entry existing = read(redisKey);
+			if (existing == null) {
+				continue; // Given up or expired since the claim failed; try again.
+			}
+			if (!existing.fingerprint().equals(fingerprint)) {
+				throw new IdempotencyConflictException(HEADER + " was already used for a different request.");
+			}
+			if (existing.finished()) {
+				return replay(existing, bodyType);
+			}
+			awaitRunning(redisKey, deadline);
+		}
+	}
+
+	// --- Private Helper Methods ---
+
+	/**
+	 * Claims the key for this request.
+	 *
+	 * @return The stored claim, or null if the key is taken.
+	 */
+	private String claim(String redisKey, String fingerprint) {
+		String inProgress = write(new Entry(fingerprint, UUID.randomUUID().toString(), null, null));
+		boolean claimed = Boolean.TRUE.equals(
+				redis.opsForValue().setIfAbsent(redisKey, inProgress, properties.getLockTtl()));
+		return claimed ? inProgress : null;
+	}
+
+	private <T> ResponseEntity<T> run(String redisKey, String fingerprint, String claim,
+			Supplier<ResponseEntity<T>> action) {
+		CompletableFuture<Void> finished = new CompletableFuture<>();
+		running.put(redisKey, finished);
+		try {
+			ResponseEntity<T> response = action.get();
+			if (response.getStatusCode().is2xxSuccessful()) {
+				store(redisKey, claim,
+						new Entry(fingerprint, null, response.getStatusCode().value(), write(response.getBody())));
+			} else {
+				release(redisKey, claim);
+			}
+			return response;
+		} catch (RuntimeException e) {
+			release(redisKey, claim);
+			throw e;
+		} finally {
+			running.remove(redisKey, finished);
+			finished.complete(null);
+		}
+	}
+
+	private void awaitRunning(String redisKey, long deadline) {
+		long remaining = deadline - System.nanoTime();
+		if (remaining <= 0) {
+			throw new IdempotencyConflictException("A request with this " + HEADER + " is still being processed.");
+		}
+		CompletableFuture<Void> local = running.get(redisKey);
+		try {
+			if (local != null) {
+				local.get(remaining, TimeUnit.NANOSECONDS);
+			} else {
+				Thread.sleep(properties.getPollInterval().toMillis());
+			}
+		} catch (TimeoutException | ExecutionException e) {
+			// Checked again against the deadline on the next round.
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for a duplicate request.", e);
+		}
+	}
+
+	private <T> ResponseEntity<T> replay(Entry entry, Class<T> bodyType) {
+		try {
+			T body = objectMapper.readValue(entry.body(), bodyType);
+			return ResponseEntity.status(HttpStatusCode.valueOf(entry.status())).header(REPLAYED_HEADER, "true")
+					.body(body);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Could not read the stored response.", e);
+		}
+	}
+
+	private void store(String redisKey, String claim, Entry entry) {
+		try {
+			Long stored = redis.execute(STORE, List.of(redisKey), claim, write(entry),
+					Long.toString(properties.getResponseTtl().toMillis()));
+			if (stored == null || stored == 0) {
+				// The claim expired while the request ran and a retry may hold the key now.
+				log.warn("Did not store the response for {}: its claim had expired", redisKey);
+			}
+		} catch (RuntimeException e) {
+			// The request itself succeeded; a retry after the claim expires runs it again.
+			log.warn("Could not store the response for {}: {}", redisKey, e.getMessage());
+		}
+	}
+
+	private void release(String redisKey, String claim) {
+		try {
+			redis.execute(RELEASE, List.of(redisKey), claim);
+		} catch (RuntimeException e) {
+			log.warn("Could not release {}: {}", redisKey, e.getMessage());
+		}
+	}
+
+	private Entry read(String redisKey) {
+		String value = redis.opsForValue().get(redisKey);
+		if (value == null) {
+			return null;
+		}
+		try {
+			return objectMapper.readValue(value, Entry.class);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Could not read the stored response.", e);
+		}
+	}
+
+	private String write(Object value) {
+		try {
+			return objectMapper.writeValueAsString(value);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Could not write the response.", e);
+		}
+	}
+
+	private String fingerprintOf(Object request) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+		} catch (JsonProcessingException | NoSuchAlgorithmException e) {
+			throw new IllegalStateException("Could not fingerprint the request.", e);
+		}
+	}
+
+	/**
+	 * What is stored under a key: the request's fingerprint and, while it runs,
+	 * the token of its claim, or once it has finished, its response. A null
+	 * status means the request is still running.
+	 */
+	private record Entry(String fingerprint, String claim, Integer status, String body) {
+
+		boolean finished() {
+			return status != null;
+		}
+	}
+}
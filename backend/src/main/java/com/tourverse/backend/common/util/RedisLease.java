@@ -0,0 +1,77 @@
+package com.tourverse.backend.common.util;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Time-bounded ownership of a named job across all app instances.
+ *
+ * A lease is a Redis key holding a random token of its owner, set only if absent
+ * and expiring on its own, so a crashed owner never blocks the job for longer
+ * than the lease's TTL. Renewal and release only touch the key while it still
+ * holds the owner's token.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisLease {
+
+	private static final RedisScript<Long> RENEW = RedisScript.of("""
+			if redis.call('GET', KEYS[1]) == ARGV[1] then
+				return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+			end
+			return 0
+			""", Long.class);
+
+	private static final RedisScript<Long> RELEASE = RedisScript.of("""
+			if redis.call('GET', KEYS[1]) == ARGV[1] then
+				return redis.call('DEL', KEYS[1])
+			end
+			return 0
+			""", Long.class);
+
+	private final StringRedisTemplate redis;
+
+	/**
+	 * Takes the lease if no other instance holds it.
+	 *
+	 * @return The held lease, or empty if another instance owns it.
+	 */
+	public Optional<Lease> tryAcquire(String key, Duration ttl) {
+		String token = UUID.randomUUID().toString();
+		Boolean acquired = redis.opsForValue().setIfAbsent(key, token, ttl);
+		return Boolean.TRUE.equals(acquired) ? Optional.of(new Lease(key, token, ttl)) : Optional.empty();
+	}
+
+	/**
+	 * A held lease. Closing it hands the job over to the next instance right away.
+	 */
+	@RequiredArgsConstructor
+	public final class Lease implements AutoCloseable {
+
+		private final String key;
+		private final String token;
+		private final Duration ttl;
+
+		/**
+		 * Extends the lease by its TTL.
+		 *
+		 * @return false if the lease already ran out and may be held elsewhere.
+		 */
+		public boolean renew() {
+			Long renewed = redis.execute(RENEW, List.of(key), token, Long.toString(ttl.toMillis()));
+			return renewed != null && renewed == 1;
+		}
+
+		@Override
+		public void close() {
+			redis.execute(RELEASE, List.of(key), token);
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package com.tourverse.backend.common.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Slf4j
+public final class TransactionUtils {
+
+	private TransactionUtils() {} // Private constructor to prevent instantiation
+
+	/**
+	 * Runs the action once the surrounding transaction has committed, or right
+	 * away when no transaction is active. Used to keep in-memory read models from
+	 * seeing changes that may still be rolled back.
+	 *
+	 * The change is already committed when the action runs, so a failing action
+	 * is logged rather than thrown: it cannot fail the request, and it does not
+	 * stop the actions registered after it.
+	 */
+	public static void runAfterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			runIsolated(action);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				runIsolated(action);
+			}
+		});
+	}
+
+	/**
+	 * Runs the action if the surrounding transaction does not commit. Used to undo
+	 * side effects outside the database, such as reservations in MongoDB.
+	 */
+	public static void runAfterRollback(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				if (status != STATUS_COMMITTED) {
+					action.run();
+				}
+			}
+		});
+	}
+
+	private static void runIsolated(Runnable action) {
+		try {
+			action.run();
+		} catch (RuntimeException e) {
+			log.error("An action after commit failed", e);
+		}
+	}
+}
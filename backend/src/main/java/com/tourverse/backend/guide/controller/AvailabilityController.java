@@ -3,7 +3,10 @@ package com.tourverse.backend.guide.controller;
 import com.tourverse.backend.auth.util.UserPrincipal;
 import com.tourverse.backend.guide.document.AvailabilitySlot;
 import com.tourverse.backend.guide.dto.AvailabilityRequest;
+import com.tourverse.backend.guide.dto.BulkAvailabilityRequest;
+import com.tourverse.backend.guide.dto.BulkAvailabilityResponse;
 import com.tourverse.backend.guide.service.AvailabilityService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -34,6 +37,20 @@ public class AvailabilityController {
 		return ResponseEntity.ok(updatedSlot);
 	}
 
+	/**
+	 * Endpoint for a guide to set a recurring schedule in one call, e.g. weekdays
+	 * 09:00-17:00 until the end of the year except holidays.
+	 */
+	@PostMapping("/bulk")
+	public ResponseEntity<BulkAvailabilityResponse> setBulkAvailability(Authentication auth,
+			@Valid @RequestBody BulkAvailabilityRequest request) {
+
+		UserPrincipal principal = (UserPrincipal) auth.getPrincipal();
+		BulkAvailabilityResponse response = availabilityService.setBulkAvailability(principal.getUser().getId(),
+				request);
+		return ResponseEntity.ok(response);
+	}
+
 	/**
 	 * Endpoint for a guide to view their own schedule over a date range. This will
 	 * power the calendar/dashboard view on the front-end.
@@ -0,0 +1,43 @@
+package com.tourverse.backend.guide.controller;
+
+import com.tourverse.backend.auth.util.UserPrincipal;
+import com.tourverse.backend.guide.dto.GuideCalendarDto;
+import com.tourverse.backend.guide.service.GuideCalendarService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/guide/calendar")
+@RequiredArgsConstructor
+public class GuideCalendarController {
+
+	private final GuideCalendarService guideCalendarService;
+
+	/**
+	 * Endpoint for a guide's dashboard: one month of offered slots, free slots and
+	 * bookings. Answers 304 Not Modified when the client's ETag is still current.
+	 */
+	@GetMapping("/{month}")
+	public ResponseEntity<GuideCalendarDto> getMonth(Authentication auth,
+			@PathVariable @DateTimeFormat(pattern = "yyyy-MM") YearMonth month, WebRequest webRequest) {
+
+		UserPrincipal principal = (UserPrincipal) auth.getPrincipal();
+		Long guideId = principal.getUser().getId();
+		GuideCalendarDto calendar = guideCalendarService.getMonth(guideId, month);
+
+		String eTag = "\"" + guideId + "-" + month + "-" + calendar.getVersion() + "\"";
+		if (webRequest.checkNotModified(eTag)) {
+			return null; // The response is already a 304
+		}
+		return ResponseEntity.ok().eTag(eTag).body(calendar);
+	}
+}
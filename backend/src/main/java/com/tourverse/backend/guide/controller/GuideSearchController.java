@@ -1,15 +1,31 @@
 package com.tourverse.backend.guide.controller;
 
-import com.tourverse.backend.guide.dto.GuideSearchResultDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourverse.backend.common.exceptions.ResourceNotFoundException;
+import com.tourverse.backend.guide.dto.GuideNearbySearchRequest;
+import com.tourverse.backend.guide.dto.GuideRangeSearchRequest;
+import com.tourverse.backend.guide.dto.GuideSearchPageDto;
+import com.tourverse.backend.guide.dto.GuideSearchRequest;
+import com.tourverse.backend.guide.service.AvailabilityFeed;
 import com.tourverse.backend.guide.service.GuideSearchService;
+import com.tourverse.backend.guide.service.GuideTermIndex;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -19,21 +35,101 @@ import java.util.List;
 public class GuideSearchController {
 
 	private final GuideSearchService guideSearchService;
+	private final ObjectMapper objectMapper;
+	private final AvailabilityFeed availabilityFeed;
 
 	/**
-	 * Public endpoint to search for available guides.
+	 * Public endpoint to search for available guides, one page at a time.
 	 *
-	 * @param date     The desired date for the tour (in YYYY-MM-DD format).
-	 * @param location The desired location for the tour.
-	 * @param language The desired language for the tour.
-	 * @return A list of guides who match the criteria and are available.
+	 * @param request The date, location and language to search for, plus the sort
+	 *                order, page size and the cursor of the previous page.
+	 * @return A page of guides who match the criteria and are available, with the
+	 *         cursor for the next page.
 	 */
 	@GetMapping("/search")
-	public ResponseEntity<List<GuideSearchResultDto>> searchGuides(
-			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date, @RequestParam String location,
-			@RequestParam String language) {
+	public ResponseEntity<GuideSearchPageDto> searchGuides(@Valid @ModelAttribute GuideSearchRequest request) {
+		GuideSearchPageDto page = guideSearchService.searchAvailableGuides(request);
+		return ResponseEntity.ok(page);
+	}
+
+	/**
+	 * Public endpoint to search for guides available on a date within a radius of
+	 * a point (or inside a bounding box), nearest first.
+	 *
+	 * @param request The date, the centre and radius or the bounding box, an
+	 *                optional language, the page size and the previous cursor.
+	 * @return A page of guides ordered by distance, with the cursor for the next
+	 *         page.
+	 */
+	@GetMapping("/search/nearby")
+	public ResponseEntity<GuideSearchPageDto> searchNearbyGuides(
+			@Valid @ModelAttribute GuideNearbySearchRequest request) {
+		GuideSearchPageDto page = guideSearchService.searchNearbyGuides(request);
+		return ResponseEntity.ok(page);
+	}
 
-		List<GuideSearchResultDto> availableGuides = guideSearchService.searchAvailableGuides(date, location, language);
-		return ResponseEntity.ok(availableGuides);
+	/**
+	 * Searches for guides available on every day of a date range with enough
+	 * consecutive free hours inside a daily time window, e.g.
+	 * {@code ?startDate=2025-06-03&endDate=2025-06-06&from=09:00&to=13:00&minHours=3}.
+	 */
+	@GetMapping("/search/range")
+	public ResponseEntity<GuideSearchPageDto> searchGuidesInRange(
+			@Valid @ModelAttribute GuideRangeSearchRequest request) {
+		GuideSearchPageDto page = guideSearchService.searchAvailableGuidesInRange(request);
+		return ResponseEntity.ok(page);
+	}
+
+	/**
+	 * Streaming variant of the search. Results are written to the response as a
+	 * JSON array while they are produced, so the full result set is never held in
+	 * memory.
+	 */
+	@GetMapping("/search/stream")
+	public ResponseEntity<StreamingResponseBody> streamGuides(@Valid @ModelAttribute GuideSearchRequest request) {
+		StreamingResponseBody body = out -> {
+			try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+				json.writeStartArray();
+				guideSearchService.streamAvailableGuides(request, result -> {
+					try {
+						// The generator flushes its buffer to the response as it fills up.
+						json.writeObject(result);
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+				json.writeEndArray();
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+	}
+
+	/**
+	 * Public live feed for an open search page: a server-sent event named
+	 * {@code availability} at most every 250 ms, carrying the latest free slots of
+	 * each guide in the location whose availability on the date changed. Answers
+	 * 404 for a location without guides and 429 once the client has too many
+	 * feeds open.
+	 */
+	@GetMapping(value = "/search/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter liveAvailability(
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+			@RequestParam String location, HttpServletRequest request) throws ResourceNotFoundException {
+		return availabilityFeed.subscribe(date, location, request.getRemoteAddr());
+	}
+
+	/**
+	 * Public typeahead endpoint for the location and language search boxes.
+	 *
+	 * @param field Which values to suggest (LOCATION or LANGUAGE).
+	 * @param q     What the traveler has typed so far.
+	 * @param limit The maximum number of suggestions.
+	 * @return Matching values, best match first.
+	 */
+	@GetMapping("/suggest")
+	public ResponseEntity<List<String>> suggest(@RequestParam GuideTermIndex.Field field, @RequestParam String q,
+			@RequestParam(defaultValue = "10") int limit) {
+		List<String> suggestions = guideSearchService.suggest(field, q, Math.min(Math.max(limit, 1), 50));
+		return ResponseEntity.ok(suggestions);
 	}
-}
\ No newline at end of file
+}
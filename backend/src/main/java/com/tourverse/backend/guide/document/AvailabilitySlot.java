@@ -1,10 +1,14 @@
 package com.tourverse.backend.guide.document;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.tourverse.backend.guide.util.SlotMask;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -13,6 +17,11 @@ import java.time.LocalTime;
 import java.util.List;
 
 @Document(collection = "availability_slots")
+@CompoundIndexes({
+		// One document per guide per day; serves single-day lookups and a guide's date ranges.
+		@CompoundIndex(name = "guide_date", def = "{'guide_id': 1, 'date': 1}", unique = true),
+		// Serves the search side: every available guide on a date.
+		@CompoundIndex(name = "date_available", def = "{'date': 1, 'is_available': 1, 'guide_id': 1}") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,4 +45,38 @@ public class AvailabilitySlot {
 
 	// A list of available time slots for the day (e.g., 09:00, 10:00, 11:00)
 	private List<LocalTime> slots;
+
+	// The same slots as a 96 x 15-minute bitmask (see SlotMask), used for all
+	// availability checks. Null on documents written before the mask existed.
+	@Field("slot_mask_lo")
+	@JsonIgnore
+	private Long slotMaskLo;
+
+	@Field("slot_mask_hi")
+	@JsonIgnore
+	private Long slotMaskHi;
+
+	/**
+	 * Returns the free time of the day as a bitmask, falling back to the slot
+	 * list for documents that have not been migrated yet.
+	 */
+	public SlotMask slotMask() {
+		if (!isAvailable) {
+			return SlotMask.EMPTY;
+		}
+		if (slotMaskLo == null || slotMaskHi == null) {
+			return SlotMask.ofSlots(slots);
+		}
+		return new SlotMask(slotMaskLo, slotMaskHi);
+	}
+
+	/**
+	 * Sets the slot list together with its bitmask.
+	 */
+	public void setSlotsWithMask(List<LocalTime> slots) {
+		SlotMask mask = SlotMask.ofSlots(slots);
+		this.slots = slots;
+		this.slotMaskLo = mask.lo();
+		this.slotMaskHi = mask.hi();
+	}
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.tourverse.backend.guide.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One guide's month at a glance: the offered slots and the bookings of every
+ * day, kept up to date by availability and booking writes so the dashboard
+ * reads a single document.
+ */
+@Document(collection = "guide_calendars")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GuideCalendar {
+
+	// "{guideId}:{yyyy-MM}"
+	@Id
+	private String id;
+
+	@Field("guide_id")
+	private Long guideId;
+
+	// The month as "yyyy-MM".
+	private String month;
+
+	// Bumped by every change; clients use it as the ETag.
+	private long version;
+
+	// False while the document only holds changes made since it was first
+	// written; it is then rebuilt from the source collections on the next read.
+	private boolean built;
+
+	// Keyed by ISO date ("2025-07-14").
+	@Builder.Default
+	private Map<String, Day> days = new HashMap<>();
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class Day {
+		private Boolean available;
+
+		// Offered slot start times as "HH:mm".
+		private List<String> slots;
+
+		// Keyed by booking ID. Canceled bookings are kept, but not shown, so a
+		// late change cannot bring them back.
+		@Builder.Default
+		private Map<String, Booking> bookings = new HashMap<>();
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class Booking {
+		private Long bookingId;
+		private String start; // "HH:mm"
+		private int hours;
+		private String status;
+
+		// How far the booking has come; an entry never replaces one that is
+		// further along, so late or reordered changes are dropped.
+		private int stage;
+	}
+
+	public static String idOf(Long guideId, String month) {
+		return guideId + ":" + month;
+	}
+}
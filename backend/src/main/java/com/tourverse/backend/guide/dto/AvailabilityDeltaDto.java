@@ -0,0 +1,37 @@
+package com.tourverse.backend.guide.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * One live-feed event: the latest state of every guide whose availability in
+ * a (date, location) changed during the last flush window.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilityDeltaDto {
+
+	private LocalDate date;
+	private String location;
+	private List<GuideChange> changes;
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class GuideChange {
+		private Long guideId;
+		private boolean isAvailable;
+
+		// Slot start times that can still be booked.
+		private List<LocalTime> freeSlots;
+	}
+}
@@ -0,0 +1,51 @@
+package com.tourverse.backend.guide.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A recurring schedule, e.g. "weekdays 09:00-17:00 until Dec 31, except
+ * holidays", expanded into one availability document per matching day.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkAvailabilityRequest {
+
+	// First and last day (inclusive) the rule applies to.
+	@NotNull(message = "Start date is required")
+	private LocalDate startDate;
+
+	@NotNull(message = "End date is required")
+	private LocalDate endDate;
+
+	// Days of the week the rule applies to; empty means every day.
+	@Builder.Default
+	private Set<DayOfWeek> daysOfWeek = new HashSet<>();
+
+	@Builder.Default
+	private boolean isAvailable = true;
+
+	// Either explicit slot start times (e.g., 09:00, 10:00, 14:00)...
+	private List<LocalTime> slots;
+
+	// ...or a working window that is cut into one-hour slots (09:00-17:00 gives
+	// 09:00 through 16:00).
+	private LocalTime from;
+	private LocalTime to;
+
+	// Days inside the range that are marked unavailable instead (e.g., holidays).
+	@Builder.Default
+	private Set<LocalDate> exceptDates = new HashSet<>();
+}
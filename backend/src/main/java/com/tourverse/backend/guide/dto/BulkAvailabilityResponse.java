@@ -0,0 +1,36 @@
+package com.tourverse.backend.guide.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkAvailabilityResponse {
+
+	public enum Outcome { CREATED, UPDATED }
+
+	private int created;
+	private int updated;
+
+	// One entry per day written, in date order.
+	private List<DayResult> days;
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class DayResult {
+		private LocalDate date;
+		private boolean isAvailable;
+		private List<LocalTime> slots;
+		private Outcome outcome;
+	}
+}
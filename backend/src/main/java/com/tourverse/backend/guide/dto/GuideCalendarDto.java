@@ -0,0 +1,52 @@
+package com.tourverse.backend.guide.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GuideCalendarDto {
+
+	private YearMonth month;
+
+	// Changes whenever anything in the month changes; also sent as the ETag.
+	private long version;
+
+	// Only days with a schedule or bookings, in date order.
+	private List<Day> days;
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class Day {
+		private LocalDate date;
+		private boolean isAvailable;
+
+		// Every slot the guide offers, and those not taken by a booking.
+		private List<LocalTime> slots;
+		private List<LocalTime> freeSlots;
+
+		private List<BookedSlot> bookings;
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class BookedSlot {
+		private Long bookingId;
+		private LocalTime start;
+		private int hours;
+		private String status;
+	}
+}
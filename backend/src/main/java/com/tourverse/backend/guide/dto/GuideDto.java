@@ -19,5 +19,7 @@ public class GuideDto {
 	private List<String> languages;
 	private BigDecimal ratePerHour;
 	private String location;
+	private Double latitude;
+	private Double longitude;
 	private Guide.VerificationStatus verificationStatus;
 }
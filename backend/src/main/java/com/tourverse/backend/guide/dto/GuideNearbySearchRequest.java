@@ -0,0 +1,74 @@
+package com.tourverse.backend.guide.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GuideNearbySearchRequest {
+
+	// The desired date for the tour (in YYYY-MM-DD format).
+	@NotNull(message = "Date is required")
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+	private LocalDate date;
+
+	// Radius search: the centre point and the radius around it.
+	@DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+	@DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+	private Double latitude;
+
+	@DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+	@DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+	private Double longitude;
+
+	@DecimalMin(value = "0.0", inclusive = false, message = "Radius must be positive")
+	@DecimalMax(value = "200.0", message = "Radius cannot exceed 200 km")
+	@Builder.Default
+	private double radiusKm = 25;
+
+	// Bounding-box search: used instead of the radius when all four are given. The
+	// box may span at most GuideGeoIndex.MAX_BOX_DEGREES each way and must not
+	// cross the antimeridian.
+	@DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+	@DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+	private Double minLatitude;
+
+	@DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+	@DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+	private Double minLongitude;
+
+	@DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+	@DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+	private Double maxLatitude;
+
+	@DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+	@DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+	private Double maxLongitude;
+
+	// Optional language filter.
+	private String language;
+
+	@Min(1)
+	@Max(100)
+	@Builder.Default
+	private int limit = 20;
+
+	// Opaque token from a previous page's 'nextCursor'.
+	private String cursor;
+
+	public boolean isBoundingBox() {
+		return minLatitude != null && minLongitude != null && maxLatitude != null && maxLongitude != null;
+	}
+}
@@ -0,0 +1,58 @@
+package com.tourverse.backend.guide.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GuideRangeSearchRequest {
+
+	// The guide must be available on every day from startDate to endDate (inclusive).
+	@NotNull(message = "Start date is required")
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+	private LocalDate startDate;
+
+	@NotNull(message = "End date is required")
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+	private LocalDate endDate;
+
+	// Daily time window the tour has to fit in; an empty 'to' means the end of the day.
+	@DateTimeFormat(iso = DateTimeFormat.ISO.TIME)
+	@Builder.Default
+	private LocalTime from = LocalTime.MIDNIGHT;
+
+	@DateTimeFormat(iso = DateTimeFormat.ISO.TIME)
+	private LocalTime to;
+
+	// Minimum number of consecutive free hours inside the window, on every day.
+	@Min(1)
+	@Max(24)
+	@Builder.Default
+	private int minHours = 1;
+
+	@NotBlank(message = "Location is required")
+	private String location;
+
+	@NotBlank(message = "Language is required")
+	private String language;
+
+	@Min(1)
+	@Max(100)
+	@Builder.Default
+	private int limit = 20;
+
+	// Opaque token from a previous page's 'nextCursor'.
+	private String cursor;
+}
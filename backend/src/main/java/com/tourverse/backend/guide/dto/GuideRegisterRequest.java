@@ -25,6 +25,8 @@ public class GuideRegisterRequest {
 	private List<String> languages;
 	private BigDecimal ratePerHour;
 	private String location;
+	private Double latitude;
+	private Double longitude;
 
 	// Documents for Verification
 	private MultipartFile aadhaarDocument;
@@ -0,0 +1,19 @@
+package com.tourverse.backend.guide.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GuideSearchPageDto {
+	private List<GuideSearchResultDto> results;
+
+	// Pass back as 'cursor' to fetch the next page; null on the last page.
+	private String nextCursor;
+}
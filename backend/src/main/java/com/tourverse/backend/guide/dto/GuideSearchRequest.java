@@ -0,0 +1,49 @@
+package com.tourverse.backend.guide.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GuideSearchRequest {
+
+	public enum SortField { RELEVANCE, RATE, RATING, SLOTS }
+
+	// The desired date for the tour (in YYYY-MM-DD format).
+	@NotNull(message = "Date is required")
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+	private LocalDate date;
+
+	@NotBlank(message = "Location is required")
+	private String location;
+
+	@NotBlank(message = "Language is required")
+	private String language;
+
+	@Builder.Default
+	private SortField sort = SortField.RELEVANCE;
+
+	@Builder.Default
+	private Sort.Direction direction = Sort.Direction.DESC;
+
+	// Page size; ignored by the streaming endpoint.
+	@Min(1)
+	@Max(100)
+	@Builder.Default
+	private int limit = 20;
+
+	// Opaque token from a previous page's 'nextCursor'.
+	private String cursor;
+}
@@ -1,14 +1,20 @@
 package com.tourverse.backend.guide.dto;
 
 import com.tourverse.backend.guide.entity.Guide;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @Builder
 public class GuideSearchResultDto {
 	// Guide Profile Info
@@ -23,4 +29,10 @@ public class GuideSearchResultDto {
 
 	// Availability for the Searched Date
 	private List<LocalTime> availableSlots;
+
+	// Distance from the searched point; only set by nearby searches.
+	private Double distanceKm;
+
+	// Start times that fit the requested window, per day; only set by range searches.
+	private Map<LocalDate, List<LocalTime>> availableStartsByDate;
 }
\ No newline at end of file
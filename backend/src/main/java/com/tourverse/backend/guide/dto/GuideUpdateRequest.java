@@ -19,4 +19,6 @@ public class GuideUpdateRequest {
 	private List<String> languages;
 	private BigDecimal ratePerHour;
 	private String location;
+	private Double latitude;
+	private Double longitude;
 }
\ No newline at end of file
@@ -51,6 +51,15 @@ public class Guide extends User {
 	@NotBlank(message = "Location is required")
 	private String location;
 
+	// Optional coordinates of the guide's base, used for radius searches.
+	@DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+	@DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+	private Double latitude;
+
+	@DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+	@DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+	private Double longitude;
+
 	public enum VerificationStatus { PENDING, APPROVED, REJECTED }
 
 	@Enumerated(EnumType.STRING)
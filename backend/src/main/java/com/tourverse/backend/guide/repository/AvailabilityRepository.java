@@ -9,7 +9,8 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AvailabilityRepository extends MongoRepository<AvailabilitySlot, String> {
+public interface AvailabilityRepository
+		extends MongoRepository<AvailabilitySlot, String>, AvailabilityRepositoryCustom {
 
 	/**
 	 * Finds the availability slot for a specific guide on a specific date. This is
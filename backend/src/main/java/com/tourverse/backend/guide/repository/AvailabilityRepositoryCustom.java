@@ -0,0 +1,45 @@
+package com.tourverse.backend.guide.repository;
+
+import com.tourverse.backend.guide.document.AvailabilitySlot;
+import com.tourverse.backend.guide.util.SlotMask;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Availability writes that need more than a plain save: atomic bit updates on
+ * the slot mask and bulk schedule writes that keep reserved time taken.
+ */
+public interface AvailabilityRepositoryCustom {
+
+	/**
+	 * Atomically takes a period out of a guide's free time on a date. The update
+	 * only matches if the day is available and every quarter of the period is
+	 * still free, so concurrent reservations of overlapping time cannot both
+	 * succeed.
+	 *
+	 * @return The updated document, or empty if the time is not free.
+	 */
+	Optional<AvailabilitySlot> reserve(Long guideId, LocalDate date, SlotMask period);
+
+	/**
+	 * Gives a reserved period back. Only quarters the guide still offers in the
+	 * day's slot list become free again.
+	 *
+	 * @return The updated document, or empty if the day no longer exists.
+	 */
+	Optional<AvailabilitySlot> release(Long guideId, LocalDate date, SlotMask period);
+
+	/**
+	 * Writes a new schedule for the given days of one guide, in a single unordered
+	 * bulk. Time the stored mask has reserved stays taken: each existing day is
+	 * updated only if its mask is still the one that was read, and read again
+	 * otherwise, so a concurrent reservation is never overwritten. The final mask
+	 * and document ID are set on the given days.
+	 *
+	 * @return The positions of the days that were inserted rather than updated.
+	 */
+	BitSet applySchedules(Long guideId, List<AvailabilitySlot> days);
+}
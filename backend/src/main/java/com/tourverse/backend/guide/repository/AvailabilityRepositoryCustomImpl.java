@@ -0,0 +1,216 @@
+package com.tourverse.backend.guide.repository;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.tourverse.backend.guide.document.AvailabilitySlot;
+import com.tourverse.backend.guide.util.SlotMask;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+class AvailabilityRepositoryCustomImpl implements AvailabilityRepositoryCustom {
+
+	// Releases and schedule writes are compare-and-set; after a lost race, wait a
+	// random time up to a doubling bound before retrying, and give up after this
+	// many attempts.
+	private static final int MAX_WRITE_ATTEMPTS = 10;
+	private static final long WRITE_BACKOFF_MILLIS = 10;
+	private static final long MAX_WRITE_BACKOFF_MILLIS = 500;
+
+	private final MongoTemplate mongoTemplate;
+
+	@Override
+	public Optional<AvailabilitySlot> reserve(Long guideId, LocalDate date, SlotMask period) {
+		Query query = Query.query(dayOf(guideId, date)
+				.and("isAvailable").is(true)
+				.and("slotMaskLo").bits().allSet(bitPositions(period.lo()))
+				.and("slotMaskHi").bits().allSet(bitPositions(period.hi())));
+		Update update = new Update();
+		update.bitwise("slotMaskLo").and(~period.lo());
+		update.bitwise("slotMaskHi").and(~period.hi());
+
+		AvailabilitySlot reserved = findAndModify(query, update);
+		if (reserved == null && addMissingMask(guideId, date)) {
+			// The day predates the slot mask; retry now that it has one.
+			reserved = findAndModify(query, update);
+		}
+		return Optional.ofNullable(reserved);
+	}
+
+	@Override
+	public Optional<AvailabilitySlot> release(Long guideId, LocalDate date, SlotMask period) {
+		for (int attempt = 0; attempt < MAX_WRITE_ATTEMPTS; attempt++) {
+			AvailabilitySlot day = mongoTemplate.findOne(Query.query(dayOf(guideId, date)), AvailabilitySlot.class);
+			if (day == null) {
+				return Optional.empty();
+			}
+			SlotMask current = storedMask(day);
+			SlotMask freed = current.or(period.and(SlotMask.ofSlots(day.getSlots())));
+
+			Update update = new Update().set("slotMaskLo", freed.lo()).set("slotMaskHi", freed.hi());
+			AvailabilitySlot released = findAndModify(unchanged(day), update);
+			if (released != null) {
+				return Optional.of(released);
+			}
+			backOff(attempt);
+		}
+		throw new IllegalStateException("Could not release availability of guide " + guideId + " on " + date
+				+ " after " + MAX_WRITE_ATTEMPTS + " attempts.");
+	}
+
+	@Override
+	public BitSet applySchedules(Long guideId, List<AvailabilitySlot> days) {
+		BitSet inserted = new BitSet(days.size());
+		for (int attempt = 0; attempt < MAX_WRITE_ATTEMPTS; attempt++) {
+			if (tryApplySchedules(guideId, days, inserted)) {
+				return inserted;
+			}
+			backOff(attempt);
+		}
+		throw new IllegalStateException("Could not write availability of guide " + guideId + " after "
+				+ MAX_WRITE_ATTEMPTS + " attempts.");
+	}
+
+	// --- Private Helper Methods ---
+
+	/**
+	 * Writes every day in one unordered bulk: an insert for a new day, an update
+	 * conditioned on the mask that was read for an existing one. Returns whether
+	 * every write applied; if not, the whole batch is read and written again,
+	 * which leaves the days that did apply as they are.
+	 */
+	private boolean tryApplySchedules(Long guideId, List<AvailabilitySlot> days, BitSet inserted) {
+		Query query = Query.query(Criteria.where("guideId").is(guideId)
+				.and("date").in(days.stream().map(AvailabilitySlot::getDate).toList()));
+		Map<LocalDate, AvailabilitySlot> stored = mongoTemplate.find(query, AvailabilitySlot.class).stream()
+				.collect(Collectors.toMap(AvailabilitySlot::getDate, day -> day));
+
+		BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AvailabilitySlot.class);
+		BitSet inserts = new BitSet(days.size());
+		int updates = 0;
+		for (int i = 0; i < days.size(); i++) {
+			AvailabilitySlot day = days.get(i);
+			AvailabilitySlot current = stored.get(day.getDate());
+			// Time reserved in the stored mask stays taken, including reservations
+			// whose booking has not committed yet.
+			SlotMask free = new SlotMask(day.getSlotMaskLo(), day.getSlotMaskHi()).andNot(reservedIn(current));
+			day.setSlotMaskLo(free.lo());
+			day.setSlotMaskHi(free.hi());
+			if (current == null) {
+				day.setId(new ObjectId().toHexString());
+				inserts.set(i);
+				bulk.insert(day);
+			} else {
+				day.setId(current.getId());
+				bulk.updateOne(unchanged(current), new Update()
+						.set("isAvailable", day.isAvailable())
+						.set("slots", day.getSlots())
+						.set("slotMaskLo", free.lo())
+						.set("slotMaskHi", free.hi()));
+				updates++;
+			}
+		}
+
+		try {
+			BulkWriteResult result = bulk.execute();
+			inserted.or(inserts);
+			return result.getMatchedCount() == updates;
+		} catch (BulkOperationException e) {
+			// Only a day another writer inserted first is retried; anything else fails.
+			for (BulkWriteError error : e.getErrors()) {
+				if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+					throw e;
+				}
+				inserts.clear(error.getIndex());
+			}
+			inserted.or(inserts);
+			return false;
+		}
+	}
+
+	private AvailabilitySlot findAndModify(Query query, Update update) {
+		return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true),
+				AvailabilitySlot.class);
+	}
+
+	private static void backOff(int attempt) {
+		long bound = Math.min(WRITE_BACKOFF_MILLIS << attempt, MAX_WRITE_BACKOFF_MILLIS);
+		try {
+			Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while writing availability.", e);
+		}
+	}
+
+	private boolean addMissingMask(Long guideId, LocalDate date) {
+		Query unmigrated = Query.query(dayOf(guideId, date).and("slotMaskLo").exists(false));
+		AvailabilitySlot day = mongoTemplate.findOne(unmigrated, AvailabilitySlot.class);
+		if (day == null) {
+			return false;
+		}
+		SlotMask mask = SlotMask.ofSlots(day.getSlots());
+		mongoTemplate.updateFirst(unmigrated, new Update().set("slotMaskLo", mask.lo()).set("slotMaskHi", mask.hi()),
+				AvailabilitySlot.class);
+		return true;
+	}
+
+	/**
+	 * Matches a day only if nobody changed its mask since it was read.
+	 */
+	private static Query unchanged(AvailabilitySlot day) {
+		return Query.query(Criteria.where("id").is(day.getId())
+				.and("slotMaskLo").is(day.getSlotMaskLo())
+				.and("slotMaskHi").is(day.getSlotMaskHi()));
+	}
+
+	/**
+	 * The time a stored day offers but no longer has free, i.e. reserved.
+	 */
+	private static SlotMask reservedIn(AvailabilitySlot day) {
+		if (day == null || !day.isAvailable()) {
+			return SlotMask.EMPTY;
+		}
+		return SlotMask.ofSlots(day.getSlots()).andNot(storedMask(day));
+	}
+
+	private static SlotMask storedMask(AvailabilitySlot day) {
+		if (day.getSlotMaskLo() == null || day.getSlotMaskHi() == null) {
+			return SlotMask.ofSlots(day.getSlots());
+		}
+		return new SlotMask(day.getSlotMaskLo(), day.getSlotMaskHi());
+	}
+
+	/**
+	 * The set bits of a mask word as a list of positions; Criteria only takes
+	 * 32-bit numeric bitmasks.
+	 */
+	private static List<Integer> bitPositions(long word) {
+		List<Integer> positions = new ArrayList<>(Long.bitCount(word));
+		for (long rest = word; rest != 0; rest &= rest - 1) {
+			positions.add(Long.numberOfTrailingZeros(rest));
+		}
+		return positions;
+	}
+
+	private static Criteria dayOf(Long guideId, LocalDate date) {
+		return Criteria.where("guideId").is(guideId).and("date").is(date);
+	}
+}
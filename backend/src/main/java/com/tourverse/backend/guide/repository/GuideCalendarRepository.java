@@ -0,0 +1,10 @@
+package com.tourverse.backend.guide.repository;
+
+import com.tourverse.backend.guide.document.GuideCalendar;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GuideCalendarRepository
+		extends MongoRepository<GuideCalendar, String>, GuideCalendarRepositoryCustom {
+}
@@ -0,0 +1,41 @@
+package com.tourverse.backend.guide.repository;
+
+import com.tourverse.backend.guide.document.GuideCalendar;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * In-place updates of guide calendars. Each one touches only the affected day
+ * and bumps the version; a month that does not exist yet is created unbuilt.
+ */
+public interface GuideCalendarRepositoryCustom {
+
+	/**
+	 * Sets the availability part of the given days, leaving their bookings as they
+	 * are. The days may span several months.
+	 */
+	void putDays(Long guideId, Map<LocalDate, GuideCalendar.Day> days);
+
+	/**
+	 * Adds or updates a booking on its day, unless the day already holds a later
+	 * stage of it.
+	 */
+	void putBooking(Long guideId, LocalDate date, GuideCalendar.Booking booking);
+
+	/**
+	 * Flags a month for rebuilding on its next read, e.g. after an update to it
+	 * failed.
+	 */
+	void markStale(Long guideId, LocalDate date);
+
+	/**
+	 * Stores a freshly built month, unless it changed since it was read.
+	 *
+	 * @param calendar        The built month.
+	 * @param expectedVersion The version the month had when it was read, or null
+	 *                        if it did not exist.
+	 * @return Whether the month was stored.
+	 */
+	boolean replaceIfUnchanged(GuideCalendar calendar, Long expectedVersion);
+}
@@ -0,0 +1,96 @@
+package com.tourverse.backend.guide.repository;
+
+import com.tourverse.backend.guide.document.GuideCalendar;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class GuideCalendarRepositoryCustomImpl implements GuideCalendarRepositoryCustom {
+
+	private final MongoTemplate mongoTemplate;
+
+	@Override
+	public void putDays(Long guideId, Map<LocalDate, GuideCalendar.Day> days) {
+		if (days.isEmpty()) {
+			return;
+		}
+		BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GuideCalendar.class);
+		days.forEach((date, day) -> {
+			String path = dayPath(date);
+			Update update = change(guideId, date)
+					.set(path + ".available", day.getAvailable())
+					.set(path + ".slots", day.getSlots());
+			bulk.upsert(monthOf(guideId, date), update);
+		});
+		bulk.execute();
+	}
+
+	@Override
+	public void putBooking(Long guideId, LocalDate date, GuideCalendar.Booking booking) {
+		String path = bookingPath(date, booking.getBookingId());
+		Query notBehind = monthOf(guideId, date).addCriteria(new Criteria().orOperator(
+				Criteria.where(path + ".stage").exists(false),
+				Criteria.where(path + ".stage").lte(booking.getStage())));
+		try {
+			mongoTemplate.upsert(notBehind, change(guideId, date).set(path, booking), GuideCalendar.class);
+		} catch (DuplicateKeyException e) {
+			// The month exists and holds a later stage of the booking.
+		}
+	}
+
+	@Override
+	public void markStale(Long guideId, LocalDate date) {
+		mongoTemplate.updateFirst(monthOf(guideId, date), new Update().set("built", false).inc("version", 1),
+				GuideCalendar.class);
+	}
+
+	@Override
+	public boolean replaceIfUnchanged(GuideCalendar calendar, Long expectedVersion) {
+		if (expectedVersion == null) {
+			try {
+				mongoTemplate.insert(calendar);
+				return true;
+			} catch (DuplicateKeyException e) {
+				// Created by a concurrent change in the meantime.
+				return false;
+			}
+		}
+		Query unchanged = Query.query(Criteria.where("id").is(calendar.getId()).and("version").is(expectedVersion));
+		Update update = new Update()
+				.set("days", calendar.getDays())
+				.set("built", true)
+				.set("version", calendar.getVersion());
+		return mongoTemplate.updateFirst(unchanged, update, GuideCalendar.class).getMatchedCount() == 1;
+	}
+
+	// --- Private Helper Methods ---
+
+	private static Query monthOf(Long guideId, LocalDate date) {
+		return Query.query(Criteria.where("id").is(GuideCalendar.idOf(guideId, YearMonth.from(date).toString())));
+	}
+
+	private static Update change(Long guideId, LocalDate date) {
+		return new Update()
+				.setOnInsert("guideId", guideId)
+				.setOnInsert("month", YearMonth.from(date).toString())
+				.setOnInsert("built", false)
+				.inc("version", 1);
+	}
+
+	private static String dayPath(LocalDate date) {
+		return "days." + date;
+	}
+
+	private static String bookingPath(LocalDate date, Long bookingId) {
+		return dayPath(date) + ".bookings." + bookingId;
+	}
+}
@@ -1,6 +1,7 @@
 package com.tourverse.backend.guide.repository;
 
 import com.tourverse.backend.guide.entity.Guide;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,5 +14,17 @@ public interface GuideRepository extends JpaRepository<Guide, Long> {
 
 	List<Guide> findByVerificationStatus(Guide.VerificationStatus status);
 
-	List<Guide> findAllByIdInAndLocationAndLanguagesContaining(List<Long> ids, String location, String language);
-}
\ No newline at end of file
+	/**
+	 * Same as {@link #findByVerificationStatus} but fetches the languages in the
+	 * same query. Used to build the in-memory guide search projection.
+	 */
+	@EntityGraph(attributePaths = "languages")
+	List<Guide> findWithLanguagesByVerificationStatus(Guide.VerificationStatus status);
+
+	/**
+	 * Fetches a guide with its languages, to re-project it after another instance
+	 * changed it.
+	 */
+	@EntityGraph(attributePaths = "languages")
+	Optional<Guide> findWithLanguagesById(Long id);
+}
@@ -0,0 +1,281 @@
+package com.tourverse.backend.guide.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tourverse.backend.common.config.GuideSearchConfig.LiveProperties;
+import com.tourverse.backend.common.config.GuideSearchConfig.SearchProperties;
+import com.tourverse.backend.common.exceptions.ResourceNotFoundException;
+import com.tourverse.backend.common.exceptions.TooManySubscribersException;
+import com.tourverse.backend.common.util.AppConstants;
+import com.tourverse.backend.guide.document.AvailabilitySlot;
+import com.tourverse.backend.guide.dto.AvailabilityDeltaDto;
+import com.tourverse.backend.guide.dto.AvailabilityDeltaDto.GuideChange;
+import com.tourverse.backend.guide.util.SlotMask;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live feed of availability changes for open search pages, served as
+ * server-sent events per (date, location).
+ *
+ * Every availability write is published over Redis pub/sub, so each instance
+ * hears the changes made on all of them. An instance only buffers changes for
+ * topics its own clients are subscribed to, keeps the latest state per guide,
+ * and sends each topic's buffer as one event per flush window, so a busy city
+ * costs one event per window rather than one per booking. Flushes run on the
+ * feed's own thread, so the window holds while other scheduled jobs run.
+ *
+ * Feeds are public, so each client address may only hold a few at once, each
+ * instance holds a bounded number, and only locations with guides can be
+ * watched.
+ */
+@Component
+@Slf4j
+public class AvailabilityFeed implements MessageListener {
+
+	private static final String CHANNEL = AppConstants.AVAILABILITY_FEED_CHANNEL;
+	private static final String EVENT_NAME = "availability";
+
+	/**
+	 * A feed topic; the location is the normalized search term.
+	 */
+	record Topic(LocalDate date, String location) {
+	}
+
+	/**
+	 * A single guide's change as sent between instances.
+	 */
+	record Event(LocalDate date, String location, GuideChange change) {
+	}
+
+	private final boolean enabled;
+	private final long subscriberTimeoutMillis;
+	private final int maxSubscribersPerClient;
+	private final int maxSubscribers;
+	private final GuideSearchProjection guideSearchProjection;
+	private final GuideTermIndex guideTermIndex;
+	private final RedisTemplate<String, byte[]> redis;
+	private final ObjectMapper json = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+
+	private final Map<Topic, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+	private final Map<Topic, Map<Long, GuideChange>> pending = new ConcurrentHashMap<>();
+	private final Map<String, Integer> subscribersPerClient = new ConcurrentHashMap<>();
+	private final AtomicInteger subscriberCount = new AtomicInteger();
+	private final ScheduledExecutorService flusher;
+
+	public AvailabilityFeed(SearchProperties properties, GuideSearchProjection guideSearchProjection,
+			GuideTermIndex guideTermIndex, RedisTemplate<String, byte[]> binaryRedisTemplate,
+			RedisMessageListenerContainer listenerContainer) {
+		LiveProperties config = properties.getLive();
+		this.enabled = config.isEnabled();
+		this.subscriberTimeoutMillis = config.getSubscriberTimeout().toMillis();
+		this.maxSubscribersPerClient = config.getMaxSubscribersPerClient();
+		this.maxSubscribers = config.getMaxSubscribers();
+		this.guideSearchProjection = guideSearchProjection;
+		this.guideTermIndex = guideTermIndex;
+		this.redis = binaryRedisTemplate;
+		if (enabled) {
+			listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+			long interval = config.getFlushInterval().toMillis();
+			this.flusher = Executors.newSingleThreadScheduledExecutor(
+					Thread.ofPlatform().name("availability-feed").daemon().factory());
+			flusher.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+		} else {
+			this.flusher = null;
+		}
+	}
+
+	/**
+	 * Opens a live feed of availability changes for a date and location. The
+	 * location is resolved like a search term, so the feed matches the results
+	 * of the same search.
+	 *
+	 * @param client The client's address, to which the per-client limit applies.
+	 * @throws ResourceNotFoundException   if no guide works in the location.
+	 * @throws TooManySubscribersException if the client or this instance has no
+	 *                                     feeds left.
+	 */
+	public SseEmitter subscribe(LocalDate date, String location, String client) throws ResourceNotFoundException {
+		if (!enabled) {
+			throw new IllegalStateException("Live availability updates are disabled.");
+		}
+		// The term index is filled by the projection, which loads on first use.
+		guideSearchProjection.ensureLoaded();
+		String resolved = guideTermIndex.resolve(GuideTermIndex.Field.LOCATION, location);
+		if (!guideTermIndex.isKnown(GuideTermIndex.Field.LOCATION, resolved)) {
+			throw new ResourceNotFoundException("No guides found in location: " + location);
+		}
+		Topic topic = new Topic(date, resolved);
+		acquire(client);
+
+		SseEmitter emitter = new SseEmitter(subscriberTimeoutMillis);
+		subscribers.compute(topic, (key, emitters) -> {
+			Set<SseEmitter> joined = emitters == null ? ConcurrentHashMap.newKeySet() : emitters;
+			joined.add(emitter);
+			return joined;
+		});
+		// Completion follows a timeout or error, so release only once.
+		AtomicBoolean released = new AtomicBoolean();
+		Runnable unsubscribe = () -> {
+			unsubscribe(topic, emitter);
+			if (released.compareAndSet(false, true)) {
+				release(client);
+			}
+		};
+		emitter.onCompletion(unsubscribe);
+		emitter.onTimeout(unsubscribe);
+		emitter.onError(error -> unsubscribe.run());
+		return emitter;
+	}
+
+	/**
+	 * Announces a guide's new availability on a day to every instance.
+	 */
+	public void publish(AvailabilitySlot day) {
+		if (!enabled) {
+			return;
+		}
+		// Only approved guides show up in search, so only they have watchers.
+		GuideSearchProjection.Entry guide = guideSearchProjection.get(day.getGuideId());
+		if (guide == null) {
+			return;
+		}
+		Event event = new Event(day.getDate(), GuideSearchProjection.normalize(guide.location()), changeOf(day));
+		try {
+			redis.convertAndSend(CHANNEL, json.writeValueAsBytes(event));
+		} catch (IOException | RuntimeException e) {
+			// Other instances miss this one, but local watchers still get it.
+			log.warn("Could not publish availability change: {}", e.getMessage());
+			accept(event);
+		}
+	}
+
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+		try {
+			accept(json.readValue(message.getBody(), Event.class));
+		} catch (IOException e) {
+			log.warn("Ignoring unreadable availability change: {}", e.getMessage());
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		if (flusher != null) {
+			flusher.shutdownNow();
+		}
+	}
+
+	/**
+	 * Sends each topic's buffered changes as a single event.
+	 */
+	public void flush() {
+		for (Topic topic : List.copyOf(pending.keySet())) {
+			Map<Long, GuideChange> changes = pending.remove(topic);
+			Set<SseEmitter> emitters = subscribers.get(topic);
+			if (changes == null || emitters == null) {
+				continue;
+			}
+			AvailabilityDeltaDto delta = AvailabilityDeltaDto.builder()
+					.date(topic.date())
+					.location(topic.location())
+					.changes(new ArrayList<>(changes.values()))
+					.build();
+			for (SseEmitter emitter : emitters) {
+				try {
+					emitter.send(SseEmitter.event().name(EVENT_NAME).data(delta));
+				} catch (IOException | IllegalStateException e) {
+					// The client has gone away.
+					unsubscribe(topic, emitter);
+				}
+			}
+		}
+	}
+
+	// --- Private Helper Methods ---
+
+	private void flushSafely() {
+		// An exception would cancel the periodic task.
+		try {
+			flush();
+		} catch (RuntimeException e) {
+			log.warn("Could not flush availability changes: {}", e.getMessage());
+		}
+	}
+
+	private void acquire(String client) {
+		if (subscriberCount.incrementAndGet() > maxSubscribers) {
+			subscriberCount.decrementAndGet();
+			throw new TooManySubscribersException("Too many live availability feeds are open; try again later.");
+		}
+		boolean[] admitted = new boolean[1];
+		subscribersPerClient.compute(client, (key, count) -> {
+			int open = count == null ? 0 : count;
+			admitted[0] = open < maxSubscribersPerClient;
+			return admitted[0] ? open + 1 : count;
+		});
+		if (!admitted[0]) {
+			subscriberCount.decrementAndGet();
+			throw new TooManySubscribersException(
+					"At most " + maxSubscribersPerClient + " live availability feeds can be open per client.");
+		}
+	}
+
+	private void release(String client) {
+		subscribersPerClient.computeIfPresent(client, (key, count) -> count > 1 ? count - 1 : null);
+		subscriberCount.decrementAndGet();
+	}
+
+	private void accept(Event event) {
+		Topic topic = new Topic(event.date(), event.location());
+		if (!subscribers.containsKey(topic)) {
+			return;
+		}
+		// Later changes for the same guide replace earlier ones in the window.
+		pending.compute(topic, (key, changes) -> {
+			Map<Long, GuideChange> buffer = changes == null ? new LinkedHashMap<>() : changes;
+			buffer.put(event.change().getGuideId(), event.change());
+			return buffer;
+		});
+	}
+
+	private void unsubscribe(Topic topic, SseEmitter emitter) {
+		subscribers.computeIfPresent(topic, (key, emitters) -> {
+			emitters.remove(emitter);
+			return emitters.isEmpty() ? null : emitters;
+		});
+	}
+
+	private static GuideChange changeOf(AvailabilitySlot day) {
+		SlotMask mask = day.slotMask();
+		List<LocalTime> free = !day.isAvailable() || day.getSlots() == null ? List.of()
+				: day.getSlots().stream()
+						.filter(start -> mask.covers(start, SlotMask.SLOT_MINUTES))
+						.sorted()
+						.toList();
+		return GuideChange.builder().guideId(day.getGuideId()).isAvailable(day.isAvailable()).freeSlots(free).build();
+	}
+}
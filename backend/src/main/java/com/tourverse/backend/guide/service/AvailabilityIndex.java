@@ -0,0 +1,268 @@
+package com.tourverse.backend.guide.service;
+
+import com.tourverse.backend.guide.document.AvailabilitySlot;
+import com.tourverse.backend.guide.repository.AvailabilityRepository;
+import com.tourverse.backend.guide.util.SlotMask;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process, per-date index of guide availability built from the
+ * {@code availability_slots} collection.
+ *
+ * Each date holds a bitset of the guides that are available that day (bit
+ * position = guide ID) and, per guide, the slot start times as a sorted array
+ * of minutes-of-day plus the day's {@link SlotMask}. A date is loaded from
+ * MongoDB the first time it is searched and is then kept current by
+ * {@link AvailabilityService}, so repeated searches never re-read the whole
+ * day's documents.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilityIndex {
+
+	private final AvailabilityRepository availabilityRepository;
+
+	private final ConcurrentMap<LocalDate, DayIndex> days = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns whether the given date has already been read from MongoDB.
+	 */
+	public boolean isLoaded(LocalDate date) {
+		DayIndex day = days.get(date);
+		return day != null && day.isLoaded();
+	}
+
+	/**
+	 * Returns a copy of the set of guide IDs that are available on the given date.
+	 */
+	public BitSet availableGuides(LocalDate date) {
+		return day(date).guides();
+	}
+
+	/**
+	 * Returns the available slot start times of a guide on the given date, or an
+	 * empty list if the guide is not available.
+	 */
+	public List<LocalTime> slotsFor(LocalDate date, Long guideId) {
+		return toTimes(day(date).guide(guideId).starts());
+	}
+
+	/**
+	 * Returns how many slots a guide has open on the given date.
+	 */
+	public int slotCount(LocalDate date, Long guideId) {
+		return day(date).guide(guideId).starts().length;
+	}
+
+	/**
+	 * Returns the start times at which a guide has {@code hours} consecutive
+	 * free hours on the given date, with the whole run inside the window
+	 * [{@code from}, {@code to}). A null bound means the start or end of the day.
+	 */
+	public List<LocalTime> consecutiveStarts(LocalDate date, Long guideId, LocalTime from, LocalTime to, int hours) {
+		GuideDay guide = day(date).guide(guideId);
+		int windowStart = from == null ? 0 : from.getHour() * 60 + from.getMinute();
+		int windowEnd = to == null ? 24 * 60 : to.getHour() * 60 + to.getMinute();
+		int runLength = hours * 60;
+
+		List<LocalTime> starts = new ArrayList<>();
+		for (short start : guide.starts()) {
+			if (start < windowStart || start + runLength > windowEnd) {
+				continue;
+			}
+			LocalTime time = LocalTime.of(start / 60, start % 60);
+			if (guide.mask().covers(time, runLength)) {
+				starts.add(time);
+			}
+		}
+		return starts;
+	}
+
+	/**
+	 * Applies a freshly saved availability document to the index. Dates that have
+	 * not been loaded yet are skipped; they will read the saved state when first
+	 * searched.
+	 */
+	public void update(AvailabilitySlot slot) {
+		// A day that is still loading holds its own lock, so the write is applied on
+		// top of the loaded state and can never be lost behind an in-flight load.
+		DayIndex day = days.get(slot.getDate());
+		if (day != null) {
+			day.put(slot);
+		}
+	}
+
+	/**
+	 * Re-reads one guide's availability on a date from MongoDB, if that date is in
+	 * the index. Used when another instance changed it.
+	 */
+	public void refresh(Long guideId, LocalDate date) {
+		DayIndex day = days.get(date);
+		if (day == null) {
+			return;
+		}
+		availabilityRepository.findByGuideIdAndDate(guideId, date)
+				.ifPresentOrElse(day::put, () -> day.remove(guideId));
+	}
+
+	/**
+	 * Re-reads one guide's availability on every date in the index.
+	 */
+	public void refreshGuide(Long guideId) {
+		days.keySet().forEach(date -> refresh(guideId, date));
+	}
+
+	/**
+	 * Drops every date, so each is read again from MongoDB when next searched.
+	 */
+	public void clear() {
+		days.clear();
+	}
+
+	private DayIndex day(LocalDate date) {
+		DayIndex day = days.get(date);
+		if (day == null) {
+			// Past dates can no longer be searched meaningfully; drop them as new days
+			// come in so the index does not grow without bound.
+			LocalDate today = LocalDate.now();
+			days.keySet().removeIf(loaded -> loaded.isBefore(today));
+			day = days.computeIfAbsent(date, key -> new DayIndex());
+		}
+		// Each day loads under its own lock, so different days can load in parallel.
+		day.loadIfNeeded(date, availabilityRepository);
+		return day;
+	}
+
+	// --- Encoding Helpers ---
+
+	static short[] toMinutes(List<LocalTime> times) {
+		if (times == null || times.isEmpty()) {
+			return new short[0];
+		}
+		short[] minutes = new short[times.size()];
+		for (int i = 0; i < minutes.length; i++) {
+			LocalTime time = times.get(i);
+			minutes[i] = (short) (time.getHour() * 60 + time.getMinute());
+		}
+		Arrays.sort(minutes);
+		return minutes;
+	}
+
+	static List<LocalTime> toTimes(short[] minutes) {
+		List<LocalTime> times = new ArrayList<>(minutes.length);
+		for (short minute : minutes) {
+			times.add(LocalTime.of(minute / 60, minute % 60));
+		}
+		return times;
+	}
+
+	/**
+	 * One guide's slots on a date: sorted start minutes and the free-time mask.
+	 */
+	private record GuideDay(short[] starts, SlotMask mask) {
+
+		static final GuideDay NONE = new GuideDay(new short[0], SlotMask.EMPTY);
+	}
+
+	/**
+	 * Availability of every guide on a single date.
+	 *
+	 * Guarded by a {@link ReentrantLock} rather than {@code synchronized}: the
+	 * first search of a date loads it from MongoDB while holding the lock, and
+	 * searches run on virtual threads, which a {@code synchronized} block would pin
+	 * to their carrier for the whole load.
+	 */
+	private static final class DayIndex {
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private final BitSet guides = new BitSet();
+		private final Map<Integer, GuideDay> slots = new HashMap<>();
+		private volatile boolean loaded;
+
+		void loadIfNeeded(LocalDate date, AvailabilityRepository repository) {
+			if (loaded) {
+				return;
+			}
+			lock.lock();
+			try {
+				if (loaded) {
+					return;
+				}
+				List<AvailabilitySlot> available = repository.findByDateAndIsAvailableTrue(date);
+				available.forEach(this::put);
+				loaded = true;
+				log.debug("Loaded availability index for {} ({} guides)", date, available.size());
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		boolean isLoaded() {
+			return loaded;
+		}
+
+		void put(AvailabilitySlot slot) {
+			int bit = Math.toIntExact(slot.getGuideId());
+			lock.lock();
+			try {
+				if (slot.isAvailable()) {
+					guides.set(bit);
+					SlotMask mask = slot.slotMask();
+					// Starts whose hour has been booked are no longer offered.
+					List<LocalTime> free = slot.getSlots() == null ? List.of()
+							: slot.getSlots().stream().filter(start -> mask.covers(start, SlotMask.SLOT_MINUTES)).toList();
+					slots.put(bit, new GuideDay(toMinutes(free), mask));
+				} else {
+					guides.clear(bit);
+					slots.remove(bit);
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		void remove(Long guideId) {
+			int bit = Math.toIntExact(guideId);
+			lock.lock();
+			try {
+				guides.clear(bit);
+				slots.remove(bit);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		BitSet guides() {
+			lock.lock();
+			try {
+				return (BitSet) guides.clone();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		GuideDay guide(Long guideId) {
+			lock.lock();
+			try {
+				return slots.getOrDefault(Math.toIntExact(guideId), GuideDay.NONE);
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+}
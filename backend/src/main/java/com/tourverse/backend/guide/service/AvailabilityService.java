@@ -1,20 +1,47 @@
 package com.tourverse.backend.guide.service;
 
+import com.tourverse.backend.booking.entity.Booking;
+import com.tourverse.backend.booking.repository.BookingRepository;
 import com.tourverse.backend.guide.document.AvailabilitySlot;
 import com.tourverse.backend.guide.dto.AvailabilityRequest; // To be created
+import com.tourverse.backend.guide.dto.BulkAvailabilityRequest;
+import com.tourverse.backend.guide.dto.BulkAvailabilityResponse;
 import com.tourverse.backend.guide.repository.AvailabilityRepository;
+import com.tourverse.backend.guide.util.SlotMask;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AvailabilityService {
 
+	// Longest range a single bulk request may expand to.
+	private static final int MAX_BULK_DAYS = 366;
+
+	// Bookings in these states keep the guide's time taken.
+	private static final List<Booking.BookingStatus> ACTIVE_BOOKINGS = List.of(Booking.BookingStatus.PENDING,
+			Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.PAID);
+
 	private final AvailabilityRepository availabilityRepository;
+	private final BookingRepository bookingRepository;
+	private final AvailabilityIndex availabilityIndex;
+	private final GuideSearchProjection guideSearchProjection;
+	private final GuideSearchCache guideSearchCache;
+	private final GuideCalendarService guideCalendarService;
+	private final AvailabilityFeed availabilityFeed;
 
 	/**
 	 * Sets or updates a guide's availability for a specific day. This can be used
@@ -26,14 +53,111 @@ public class AvailabilityService {
 	 */
 	@Transactional
 	public AvailabilitySlot setOrUpdateAvailability(Long guideId, AvailabilityRequest request) {
-		// Find an existing slot or create a new one
-		AvailabilitySlot slot = availabilityRepository.findByGuideIdAndDate(guideId, request.getDate())
-				.orElse(AvailabilitySlot.builder().guideId(guideId).date(request.getDate()).build());
+		AvailabilitySlot savedSlot = AvailabilitySlot.builder().guideId(guideId).date(request.getDate())
+				.isAvailable(request.isAvailable()).build();
+		savedSlot.setSlotsWithMask(request.getSlots()); // Set the list of available times and its bitmask
+		// Time already booked stays taken, whatever the new schedule offers; so does
+		// time reserved in the stored mask, which the write keeps.
+		excludeBooked(savedSlot, bookedTime(bookingRepository.findByGuideIdAndTourDateAndStatusIn(guideId,
+				request.getDate(), ACTIVE_BOOKINGS)).get(request.getDate()));
+
+		availabilityRepository.applySchedules(guideId, List.of(savedSlot));
+		// Keep the in-memory search index in step with the stored schedule.
+		availabilityIndex.update(savedSlot);
+		evictCachedSearches(guideId, savedSlot.getDate());
+		availabilityFeed.publish(savedSlot);
+		guideCalendarService.onAvailabilityChanged(guideId, List.of(savedSlot));
+		return savedSlot;
+	}
+
+	/**
+	 * Expands a recurring schedule into one availability document per day and
+	 * writes them all as a single unordered bulk, instead of a read and a save
+	 * per day.
+	 *
+	 * @param guideId The ID of the guide whose availability is being set.
+	 * @param request The recurrence rule.
+	 * @return One result per day written, telling whether it was created or
+	 *         updated.
+	 */
+	public BulkAvailabilityResponse setBulkAvailability(Long guideId, BulkAvailabilityRequest request) {
+		List<AvailabilitySlot> days = expand(guideId, request);
+		if (days.isEmpty()) {
+			return BulkAvailabilityResponse.builder().days(List.of()).build();
+		}
 
-		slot.setAvailable(request.isAvailable());
-		slot.setSlots(request.getSlots()); // Set the list of available times
+		Map<LocalDate, SlotMask> booked = bookedTime(bookingRepository.findByGuideIdAndTourDateBetweenAndStatusIn(
+				guideId, request.getStartDate(), request.getEndDate(), ACTIVE_BOOKINGS));
+		days.forEach(day -> excludeBooked(day, booked.get(day.getDate())));
 
-		return availabilityRepository.save(slot);
+		BitSet inserted = availabilityRepository.applySchedules(guideId, days);
+
+		List<BulkAvailabilityResponse.DayResult> results = new ArrayList<>(days.size());
+		for (int i = 0; i < days.size(); i++) {
+			AvailabilitySlot day = days.get(i);
+			availabilityIndex.update(day);
+			availabilityFeed.publish(day);
+			results.add(BulkAvailabilityResponse.DayResult.builder()
+					.date(day.getDate())
+					.isAvailable(day.isAvailable())
+					.slots(day.getSlots())
+					.outcome(inserted.get(i) ? BulkAvailabilityResponse.Outcome.CREATED
+							: BulkAvailabilityResponse.Outcome.UPDATED)
+					.build());
+		}
+
+		// Many days at once: drop the guide's whole location rather than evicting
+		// each day separately.
+		GuideSearchProjection.Entry guide = guideSearchProjection.get(guideId);
+		guideSearchCache.evictAvailability(guideId, guide == null ? null : guide.location());
+		guideCalendarService.onAvailabilityChanged(guideId, days);
+
+		return BulkAvailabilityResponse.builder()
+				.created(inserted.cardinality())
+				.updated(days.size() - inserted.cardinality())
+				.days(results)
+				.build();
+	}
+
+	/**
+	 * Atomically takes a booking's time out of the guide's free time. Two
+	 * concurrent bookings of overlapping hours cannot both get it.
+	 *
+	 * @param guideId The ID of the guide being booked.
+	 * @param date    The tour date.
+	 * @param start   The tour start time.
+	 * @param hours   The tour length in hours.
+	 * @return Whether the whole period was free and is now reserved.
+	 */
+	public boolean reserve(Long guideId, LocalDate date, LocalTime start, int hours) {
+		int minutes = hours * SlotMask.SLOT_MINUTES;
+		if (!SlotMask.fitsInDay(start, minutes)) {
+			return false;
+		}
+		Optional<AvailabilitySlot> reserved = availabilityRepository.reserve(guideId, date,
+				SlotMask.period(start, minutes));
+		reserved.ifPresent(this::applyToSearch);
+		return reserved.isPresent();
+	}
+
+	/**
+	 * Gives back time taken by {@link #reserve}, e.g. when the booking is rolled
+	 * back or canceled. Runs after the booking's transaction has ended, so a
+	 * release that still fails after its retries is logged with everything needed
+	 * to redo it rather than thrown.
+	 */
+	public void release(Long guideId, LocalDate date, LocalTime start, int hours) {
+		int minutes = hours * SlotMask.SLOT_MINUTES;
+		if (!SlotMask.fitsInDay(start, minutes)) {
+			return;
+		}
+		try {
+			availabilityRepository.release(guideId, date, SlotMask.period(start, minutes))
+					.ifPresent(this::applyToSearch);
+		} catch (RuntimeException e) {
+			log.error("Could not release {} hours of guide {} from {} on {}; the time stays taken", hours, guideId,
+					start, date, e);
+		}
 	}
 
 	/**
@@ -60,4 +184,83 @@ public class AvailabilityService {
 	public List<AvailabilitySlot> getAvailableGuides(LocalDate date) {
 		return availabilityRepository.findByDateAndIsAvailableTrue(date);
 	}
+
+	// --- Private Helper Methods ---
+
+	private List<AvailabilitySlot> expand(Long guideId, BulkAvailabilityRequest request) {
+		LocalDate startDate = request.getStartDate();
+		LocalDate endDate = request.getEndDate();
+		if (endDate.isBefore(startDate)) {
+			throw new IllegalArgumentException("End date must not be before the start date.");
+		}
+		if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_BULK_DAYS) {
+			throw new IllegalArgumentException("A bulk request can cover at most " + MAX_BULK_DAYS + " days.");
+		}
+		List<LocalTime> slots = request.isAvailable() ? slotsOf(request) : List.of();
+
+		List<AvailabilitySlot> days = new ArrayList<>();
+		for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+			boolean excepted = request.getExceptDates().contains(date);
+			if (!excepted && !request.getDaysOfWeek().isEmpty()
+					&& !request.getDaysOfWeek().contains(date.getDayOfWeek())) {
+				continue;
+			}
+			boolean available = request.isAvailable() && !excepted;
+			AvailabilitySlot day = AvailabilitySlot.builder().guideId(guideId).date(date).isAvailable(available).build();
+			day.setSlotsWithMask(available ? slots : List.of());
+			days.add(day);
+		}
+		return days;
+	}
+
+	private static List<LocalTime> slotsOf(BulkAvailabilityRequest request) {
+		if (request.getSlots() != null && !request.getSlots().isEmpty()) {
+			return request.getSlots().stream().distinct().sorted().toList();
+		}
+		if (request.getFrom() == null || request.getTo() == null) {
+			throw new IllegalArgumentException("Provide either slot start times or a from/to window.");
+		}
+		if (!request.getTo().isAfter(request.getFrom())) {
+			throw new IllegalArgumentException("The time window must end after it starts.");
+		}
+		List<LocalTime> slots = new ArrayList<>();
+		// A slot lasts an hour, so the last one has to start an hour before the window ends.
+		int end = request.getTo().toSecondOfDay() / 60;
+		for (int start = request.getFrom().toSecondOfDay() / 60; start + 60 <= end; start += 60) {
+			slots.add(LocalTime.of(start / 60, start % 60));
+		}
+		return slots;
+	}
+
+	private static Map<LocalDate, SlotMask> bookedTime(List<Booking> bookings) {
+		Map<LocalDate, SlotMask> booked = new HashMap<>();
+		for (Booking booking : bookings) {
+			SlotMask period = SlotMask.period(booking.getTourTime(), booking.getHours() * SlotMask.SLOT_MINUTES);
+			booked.merge(booking.getTourDate(), period, SlotMask::or);
+		}
+		return booked;
+	}
+
+	private static void excludeBooked(AvailabilitySlot day, SlotMask booked) {
+		if (booked == null) {
+			return;
+		}
+		SlotMask free = day.slotMask().andNot(booked);
+		day.setSlotMaskLo(free.lo());
+		day.setSlotMaskHi(free.hi());
+	}
+
+	private void applyToSearch(AvailabilitySlot day) {
+		availabilityIndex.update(day);
+		evictCachedSearches(day.getGuideId(), day.getDate());
+		availabilityFeed.publish(day);
+	}
+
+	private void evictCachedSearches(Long guideId, LocalDate date) {
+		// Only approved guides appear in search results, so only their location's
+		// pages for that day can be affected. The eviction is still broadcast for
+		// other guides so every instance's index stays current.
+		GuideSearchProjection.Entry guide = guideSearchProjection.get(guideId);
+		guideSearchCache.evictAvailability(guideId, guide == null ? null : guide.location(), date);
+	}
 }
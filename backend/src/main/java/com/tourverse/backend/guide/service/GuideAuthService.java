@@ -35,6 +35,7 @@ public class GuideAuthService {
 	private final EmailService emailService;
 	private final AuthenticationManager authenticationManager;
 	private final JwtTokenService jwtTokenService;
+	private final GuideSearchProjection guideSearchProjection;
 
 	// --- REGISTRATION ---
 
@@ -56,6 +57,8 @@ public class GuideAuthService {
 			throw new IllegalStateException("User is already registered.");
 		}
 
+		requireBothOrNeither(req.getLatitude(), req.getLongitude());
+
 		String profilePictureUrl = uploadFile(req.getProfilePicture());
 		String aadhaarUrl = uploadFile(req.getAadhaarDocument());
 		String panUrl = uploadFile(req.getPanDocument());
@@ -75,6 +78,8 @@ public class GuideAuthService {
 				.languages(req.getLanguages())
 				.ratePerHour(req.getRatePerHour())
 				.location(req.getLocation())
+				.latitude(req.getLatitude())
+				.longitude(req.getLongitude())
 				.aadhaarDocumentUrl(aadhaarUrl)
 				.panDocumentUrl(panUrl)
 				.guideCertificateUrl(certificateUrl)
@@ -155,6 +160,8 @@ public class GuideAuthService {
 	public GuideDto updateProfile(Long userId, GuideUpdateRequest req) {
 		Guide guide = guideRepository.findById(userId).orElseThrow(() -> new RuntimeException("Guide not found"));
 
+		requireBothOrNeither(req.getLatitude(), req.getLongitude());
+
 		if (req.getName() != null)
 			guide.setName(req.getName());
 		if (req.getPhone() != null)
@@ -167,6 +174,10 @@ public class GuideAuthService {
 			guide.setRatePerHour(req.getRatePerHour());
 		if (req.getLocation() != null)
 			guide.setLocation(req.getLocation());
+		if (req.getLatitude() != null && req.getLongitude() != null) {
+			guide.setLatitude(req.getLatitude());
+			guide.setLongitude(req.getLongitude());
+		}
 
 		if (req.getProfilePicture() != null && !req.getProfilePicture().isEmpty()) {
 			String url = s3FileUploadService.uploadFile(req.getProfilePicture());
@@ -174,6 +185,7 @@ public class GuideAuthService {
 		}
 
 		guideRepository.save(guide);
+		guideSearchProjection.refresh(guide);
 		return convertToDto(guide);
 	}
 
@@ -183,6 +195,7 @@ public class GuideAuthService {
 			throw new RuntimeException("Guide not found");
 		}
 		guideRepository.deleteById(userId);
+		guideSearchProjection.remove(userId);
 	}
 
 	// --- UTILITY METHODS ---
@@ -194,6 +207,12 @@ public class GuideAuthService {
 		return null;
 	}
 
+	private void requireBothOrNeither(Double latitude, Double longitude) {
+		if ((latitude == null) != (longitude == null)) {
+			throw new IllegalArgumentException("Latitude and longitude must be provided together.");
+		}
+	}
+
 	private GuideDto convertToDto(Guide guide) {
 		return GuideDto
 				.builder()
@@ -206,6 +225,8 @@ public class GuideAuthService {
 				.languages(guide.getLanguages())
 				.ratePerHour(guide.getRatePerHour())
 				.location(guide.getLocation())
+				.latitude(guide.getLatitude())
+				.longitude(guide.getLongitude())
 				.verificationStatus(guide.getVerificationStatus())
 				.build();
 	}
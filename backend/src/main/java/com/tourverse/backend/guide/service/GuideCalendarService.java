@@ -0,0 +1,200 @@
+package com.tourverse.backend.guide.service;
+
+import com.tourverse.backend.booking.entity.Booking;
+import com.tourverse.backend.booking.repository.BookingRepository;
+import com.tourverse.backend.guide.document.AvailabilitySlot;
+import com.tourverse.backend.guide.document.GuideCalendar;
+import com.tourverse.backend.guide.dto.GuideCalendarDto;
+import com.tourverse.backend.guide.repository.AvailabilityRepository;
+import com.tourverse.backend.guide.repository.GuideCalendarRepository;
+import com.tourverse.backend.guide.util.SlotMask;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the per-guide, per-month calendar documents and serves them.
+ *
+ * Availability and booking writes update only the affected day in place, so a
+ * dashboard read is a single lookup. A month that has never been read is
+ * built once from the availability and booking stores; the build is stored
+ * only if no change landed while it ran.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GuideCalendarService {
+
+	private static final int MAX_BUILD_ATTEMPTS = 3;
+
+	// Bookings in these states occupy the guide's time on the calendar.
+	private static final List<Booking.BookingStatus> SHOWN_BOOKINGS = List.of(Booking.BookingStatus.PENDING,
+			Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.PAID, Booking.BookingStatus.COMPLETED);
+
+	private final GuideCalendarRepository guideCalendarRepository;
+	private final AvailabilityRepository availabilityRepository;
+	private final BookingRepository bookingRepository;
+
+	/**
+	 * Returns a guide's calendar for a month, building it on first use.
+	 */
+	public GuideCalendarDto getMonth(Long guideId, YearMonth month) {
+		String id = GuideCalendar.idOf(guideId, month.toString());
+		for (int attempt = 0; attempt < MAX_BUILD_ATTEMPTS; attempt++) {
+			GuideCalendar calendar = guideCalendarRepository.findById(id).orElse(null);
+			if (calendar != null && calendar.isBuilt()) {
+				return toDto(month, calendar);
+			}
+			Long version = calendar == null ? null : calendar.getVersion();
+			GuideCalendar built = build(guideId, month, version == null ? 1 : version + 1);
+			if (guideCalendarRepository.replaceIfUnchanged(built, version)) {
+				return toDto(month, built);
+			}
+		}
+		throw new IllegalStateException("The calendar for " + month + " kept changing; please try again.");
+	}
+
+	/**
+	 * Applies saved availability days to the calendar.
+	 */
+	public void onAvailabilityChanged(Long guideId, Collection<AvailabilitySlot> days) {
+		Map<LocalDate, GuideCalendar.Day> changed = new LinkedHashMap<>();
+		days.forEach(day -> changed.put(day.getDate(), toDay(day)));
+		apply(guideId, days.stream().map(AvailabilitySlot::getDate).toList(),
+				() -> guideCalendarRepository.putDays(guideId, changed));
+	}
+
+	/**
+	 * Applies a committed booking change to the calendar.
+	 */
+	public void onBookingChanged(Booking booking) {
+		Long guideId = booking.getGuide().getId();
+		LocalDate date = booking.getTourDate();
+		apply(guideId, List.of(date), () -> guideCalendarRepository.putBooking(guideId, date, toEntry(booking)));
+	}
+
+	// --- Private Helper Methods ---
+
+	/**
+	 * Runs a calendar update. The calendar is derived data, so a failure never
+	 * fails the write that caused it; the month is flagged for rebuilding instead.
+	 */
+	private void apply(Long guideId, List<LocalDate> dates, Runnable update) {
+		try {
+			update.run();
+		} catch (RuntimeException e) {
+			log.warn("Could not update calendar of guide {}: {}", guideId, e.getMessage());
+			try {
+				dates.stream().map(YearMonth::from).distinct()
+						.forEach(month -> guideCalendarRepository.markStale(guideId, month.atDay(1)));
+			} catch (RuntimeException ignored) {
+				log.warn("Could not flag calendar of guide {} for rebuilding", guideId);
+			}
+		}
+	}
+
+	private GuideCalendar build(Long guideId, YearMonth month, long version) {
+		LocalDate first = month.atDay(1);
+		LocalDate last = month.atEndOfMonth();
+		Map<String, GuideCalendar.Day> days = new HashMap<>();
+		for (AvailabilitySlot slot : availabilityRepository.findByGuideIdAndDateBetween(guideId, first, last)) {
+			days.put(slot.getDate().toString(), toDay(slot));
+		}
+		for (Booking booking : bookingRepository.findByGuideIdAndTourDateBetweenAndStatusIn(guideId, first, last,
+				SHOWN_BOOKINGS)) {
+			GuideCalendar.Day day = days.computeIfAbsent(booking.getTourDate().toString(),
+					date -> GuideCalendar.Day.builder().build());
+			day.getBookings().put(booking.getId().toString(), toEntry(booking));
+		}
+		return GuideCalendar.builder()
+				.id(GuideCalendar.idOf(guideId, month.toString()))
+				.guideId(guideId)
+				.month(month.toString())
+				.version(version)
+				.built(true)
+				.days(days)
+				.build();
+	}
+
+	private static GuideCalendar.Day toDay(AvailabilitySlot slot) {
+		List<String> slots = slot.getSlots() == null ? List.of()
+				: slot.getSlots().stream().sorted().map(LocalTime::toString).toList();
+		return GuideCalendar.Day.builder().available(slot.isAvailable()).slots(slots).build();
+	}
+
+	private static GuideCalendar.Booking toEntry(Booking booking) {
+		return GuideCalendar.Booking.builder()
+				.bookingId(booking.getId())
+				.start(booking.getTourTime().toString())
+				.hours(booking.getHours())
+				.status(booking.getStatus().name())
+				.stage(stageOf(booking.getStatus()))
+				.build();
+	}
+
+	/**
+	 * A booking only ever moves forward through its states, so the stage orders
+	 * the changes to it even when they reach the calendar out of order.
+	 */
+	private static int stageOf(Booking.BookingStatus status) {
+		return switch (status) {
+			case PENDING -> 0;
+			case CONFIRMED -> 1;
+			case PAID -> 2;
+			case CANCELED, COMPLETED -> 3;
+		};
+	}
+
+	private static GuideCalendarDto toDto(YearMonth month, GuideCalendar calendar) {
+		List<GuideCalendarDto.Day> days = calendar.getDays().entrySet().stream()
+				.map(entry -> toDto(LocalDate.parse(entry.getKey()), entry.getValue()))
+				.sorted(Comparator.comparing(GuideCalendarDto.Day::getDate))
+				.toList();
+		return GuideCalendarDto.builder().month(month).version(calendar.getVersion()).days(days).build();
+	}
+
+	private static GuideCalendarDto.Day toDto(LocalDate date, GuideCalendar.Day day) {
+		List<GuideCalendarDto.BookedSlot> bookings = day.getBookings() == null ? List.of()
+				: day.getBookings().values().stream()
+						.filter(booking -> SHOWN_BOOKINGS.contains(Booking.BookingStatus.valueOf(booking.getStatus())))
+						.map(booking -> GuideCalendarDto.BookedSlot.builder()
+								.bookingId(booking.getBookingId())
+								.start(LocalTime.parse(booking.getStart()))
+								.hours(booking.getHours())
+								.status(booking.getStatus())
+								.build())
+						.sorted(Comparator.comparing(GuideCalendarDto.BookedSlot::getStart))
+						.toList();
+
+		SlotMask booked = SlotMask.EMPTY;
+		for (GuideCalendarDto.BookedSlot booking : bookings) {
+			booked = booked.or(SlotMask.period(booking.getStart(), booking.getHours() * SlotMask.SLOT_MINUTES));
+		}
+		SlotMask taken = booked;
+
+		boolean available = Boolean.TRUE.equals(day.getAvailable());
+		List<LocalTime> slots = day.getSlots() == null || !available ? List.of()
+				: day.getSlots().stream().map(LocalTime::parse).toList();
+		List<LocalTime> freeSlots = slots.stream()
+				.filter(start -> SlotMask.period(start, SlotMask.SLOT_MINUTES).and(taken).isEmpty())
+				.toList();
+
+		return GuideCalendarDto.Day.builder()
+				.date(date)
+				.isAvailable(available)
+				.slots(slots)
+				.freeSlots(freeSlots)
+				.bookings(bookings)
+				.build();
+	}
+}
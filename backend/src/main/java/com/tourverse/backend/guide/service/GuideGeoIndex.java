@@ -0,0 +1,218 @@
+package com.tourverse.backend.guide.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Uniform-grid spatial index over the coordinates of searchable guides.
+ *
+ * The globe is cut into cells of {@value #CELL_DEGREES} degrees; each cell
+ * stores its guides' IDs and coordinates in flat primitive arrays. A radius or
+ * bounding-box query only visits the cells overlapping the area, so the cost
+ * depends on local density rather than the total number of guides. The index is
+ * fed incrementally by the {@link GuideSearchProjection}.
+ */
+@Component
+public class GuideGeoIndex {
+
+	static final double CELL_DEGREES = 0.1;
+
+	// Largest bounding box a query may ask for, per side, so one query visits at
+	// most (MAX_BOX_DEGREES / CELL_DEGREES)^2 cells.
+	public static final double MAX_BOX_DEGREES = 5.0;
+	private static final double EARTH_RADIUS_KM = 6371.0088;
+	private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+	/**
+	 * A guide within the searched area and its distance from the search origin.
+	 */
+	public record Hit(long guideId, double distanceKm) {}
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Long, Cell> cells = new HashMap<>();
+	private final Map<Long, Long> cellOfGuide = new HashMap<>();
+
+	/**
+	 * Returns the guides within {@code radiusKm} of the origin whose IDs are in
+	 * {@code filter}, nearest first.
+	 */
+	public List<Hit> withinRadius(double latitude, double longitude, double radiusKm, BitSet filter) {
+		double latDelta = radiusKm / KM_PER_DEGREE;
+		double cosLat = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+		double lonDelta = Math.min(radiusKm / (KM_PER_DEGREE * cosLat), 180);
+
+		List<Hit> hits = new ArrayList<>();
+		scan(latitude - latDelta, longitude - lonDelta, latitude + latDelta, longitude + lonDelta, filter,
+				(id, lat, lon) -> {
+					double distance = haversineKm(latitude, longitude, lat, lon);
+					if (distance <= radiusKm) {
+						hits.add(new Hit(id, distance));
+					}
+				});
+		hits.sort(Comparator.comparingDouble(Hit::distanceKm).thenComparingLong(Hit::guideId));
+		return hits;
+	}
+
+	/**
+	 * Returns the guides inside the bounding box whose IDs are in {@code filter},
+	 * ordered by distance from the centre of the box.
+	 *
+	 * @throws IllegalArgumentException if the box is inverted, crosses the
+	 *                                  antimeridian or spans more than
+	 *                                  {@value #MAX_BOX_DEGREES} degrees.
+	 */
+	public List<Hit> withinBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+			BitSet filter) {
+		if (minLatitude > maxLatitude) {
+			throw new IllegalArgumentException("minLatitude must not be greater than maxLatitude.");
+		}
+		if (minLongitude > maxLongitude) {
+			throw new IllegalArgumentException(
+					"Bounding boxes crossing the antimeridian are not supported; search each side separately.");
+		}
+		if (maxLatitude - minLatitude > MAX_BOX_DEGREES || maxLongitude - minLongitude > MAX_BOX_DEGREES) {
+			throw new IllegalArgumentException(
+					"A bounding box can span at most " + MAX_BOX_DEGREES + " degrees of latitude and longitude.");
+		}
+		double centerLat = (minLatitude + maxLatitude) / 2;
+		double centerLon = (minLongitude + maxLongitude) / 2;
+
+		List<Hit> hits = new ArrayList<>();
+		scan(minLatitude, minLongitude, maxLatitude, maxLongitude, filter, (id, lat, lon) -> {
+			if (lat >= minLatitude && lat <= maxLatitude && lon >= minLongitude && lon <= maxLongitude) {
+				hits.add(new Hit(id, haversineKm(centerLat, centerLon, lat, lon)));
+			}
+		});
+		hits.sort(Comparator.comparingDouble(Hit::distanceKm).thenComparingLong(Hit::guideId));
+		return hits;
+	}
+
+	void put(long guideId, double latitude, double longitude) {
+		lock.writeLock().lock();
+		try {
+			removeInternal(guideId);
+			long key = cellKey(latIndex(latitude), lonIndex(longitude));
+			cells.computeIfAbsent(key, k -> new Cell()).add(Math.toIntExact(guideId), latitude, longitude);
+			cellOfGuide.put(guideId, key);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	void remove(long guideId) {
+		lock.writeLock().lock();
+		try {
+			removeInternal(guideId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// --- Private Helper Methods ---
+
+	@FunctionalInterface
+	private interface PointVisitor {
+		void visit(long guideId, double latitude, double longitude);
+	}
+
+	private void scan(double minLat, double minLon, double maxLat, double maxLon, BitSet filter, PointVisitor visitor) {
+		int fromLat = latIndex(Math.max(minLat, -90));
+		int toLat = latIndex(Math.min(maxLat, 90));
+		int fromLon = lonIndex(Math.max(minLon, -180));
+		int toLon = lonIndex(Math.min(maxLon, 180));
+
+		lock.readLock().lock();
+		try {
+			for (int latIdx = fromLat; latIdx <= toLat; latIdx++) {
+				for (int lonIdx = fromLon; lonIdx <= toLon; lonIdx++) {
+					Cell cell = cells.get(cellKey(latIdx, lonIdx));
+					if (cell == null) {
+						continue;
+					}
+					for (int i = 0; i < cell.size; i++) {
+						if (filter.get(cell.ids[i])) {
+							visitor.visit(cell.ids[i], cell.latitudes[i], cell.longitudes[i]);
+						}
+					}
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void removeInternal(long guideId) {
+		Long key = cellOfGuide.remove(guideId);
+		if (key == null) {
+			return;
+		}
+		Cell cell = cells.get(key);
+		cell.remove(Math.toIntExact(guideId));
+		if (cell.size == 0) {
+			cells.remove(key);
+		}
+	}
+
+	private static int latIndex(double latitude) {
+		return (int) Math.floor((latitude + 90) / CELL_DEGREES);
+	}
+
+	private static int lonIndex(double longitude) {
+		return (int) Math.floor((longitude + 180) / CELL_DEGREES);
+	}
+
+	private static long cellKey(int latIndex, int lonIndex) {
+		return ((long) latIndex << 32) | (lonIndex & 0xffffffffL);
+	}
+
+	static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+		double dLat = Math.toRadians(lat2 - lat1);
+		double dLon = Math.toRadians(lon2 - lon1);
+		double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) + Math.cos(Math.toRadians(lat1))
+				* Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+		return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+	}
+
+	/**
+	 * The guides located in one grid cell, stored as parallel arrays.
+	 */
+	private static final class Cell {
+		private int[] ids = new int[4];
+		private double[] latitudes = new double[4];
+		private double[] longitudes = new double[4];
+		private int size;
+
+		void add(int id, double latitude, double longitude) {
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+				latitudes = Arrays.copyOf(latitudes, size * 2);
+				longitudes = Arrays.copyOf(longitudes, size * 2);
+			}
+			ids[size] = id;
+			latitudes[size] = latitude;
+			longitudes[size] = longitude;
+			size++;
+		}
+
+		void remove(int id) {
+			for (int i = 0; i < size; i++) {
+				if (ids[i] == id) {
+					// Move the last point into the gap; order inside a cell does not matter.
+					size--;
+					ids[i] = ids[size];
+					latitudes[i] = latitudes[size];
+					longitudes[i] = longitudes[size];
+					return;
+				}
+			}
+		}
+	}
+}
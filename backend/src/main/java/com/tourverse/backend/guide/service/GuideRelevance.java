@@ -0,0 +1,43 @@
+package com.tourverse.backend.guide.service;
+
+/**
+ * Relevance score for ranking search results, between 0 and 1.
+ *
+ * Everything that depends only on the guide's profile (rating, number of
+ * ratings, price) is folded into a profile score that the
+ * {@link GuideSearchProjection} precomputes per guide. At query time only the
+ * slot coverage of the searched day is added.
+ */
+final class GuideRelevance {
+
+	// A guide's rating is pulled towards PRIOR_RATING as if they had PRIOR_WEIGHT
+	// extra reviews, so one 5-star review does not outrank fifty 4.8s.
+	private static final double PRIOR_RATING = 3.5;
+	private static final int PRIOR_WEIGHT = 5;
+	// Rating count at which the popularity signal saturates.
+	private static final int POPULAR_RATING_COUNT = 100;
+	// Hourly rate that scores 0.5 on price; cheaper guides score higher.
+	private static final double REFERENCE_RATE = 1000;
+	// Slots on the searched day that count as full coverage.
+	private static final int FULL_COVERAGE_SLOTS = 8;
+
+	private static final double RATING_WEIGHT = 0.5;
+	private static final double POPULARITY_WEIGHT = 0.15;
+	private static final double PRICE_WEIGHT = 0.15;
+	private static final double COVERAGE_WEIGHT = 0.2;
+
+	private GuideRelevance() {}
+
+	static double profileScore(GuideSearchProjection.Entry guide) {
+		int count = Math.max(guide.ratingCount(), 0);
+		double bayesianRating = (PRIOR_RATING * PRIOR_WEIGHT + guide.averageRating() * count) / (PRIOR_WEIGHT + count);
+		double popularity = Math.min(1, Math.log1p(count) / Math.log1p(POPULAR_RATING_COUNT));
+		double rate = guide.ratePerHour() == null ? REFERENCE_RATE : guide.ratePerHour().doubleValue();
+		double price = 1 / (1 + Math.max(rate, 0) / REFERENCE_RATE);
+		return RATING_WEIGHT * bayesianRating / 5 + POPULARITY_WEIGHT * popularity + PRICE_WEIGHT * price;
+	}
+
+	static double score(double profileScore, int slotCount) {
+		return profileScore + COVERAGE_WEIGHT * Math.min(slotCount, FULL_COVERAGE_SLOTS) / FULL_COVERAGE_SLOTS;
+	}
+}
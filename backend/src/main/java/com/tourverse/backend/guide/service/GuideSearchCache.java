@@ -0,0 +1,421 @@
+package com.tourverse.backend.guide.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tourverse.backend.common.config.GuideSearchConfig.CacheProperties;
+import com.tourverse.backend.common.config.GuideSearchConfig.SearchProperties;
+import com.tourverse.backend.common.util.AppConstants;
+import com.tourverse.backend.guide.dto.GuideSearchPageDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache of public guide search pages.
+ *
+ * L1 is a bounded Caffeine cache local to this instance; L2 is Redis, shared by
+ * all instances, with pages encoded as Smile (binary JSON). Every L2 entry is
+ * tagged with its (location, date) and its location, so an availability write
+ * evicts exactly the pages for that day and a guide profile or verification
+ * change evicts the pages for that guide's location. Evictions are broadcast
+ * over Redis pub/sub so other instances drop their L1 copies too. An eviction
+ * caused by a guide change names the guide, and every other instance first
+ * re-reads it: into its {@link AvailabilityIndex} for an availability change,
+ * into its {@link GuideSearchProjection} for a profile or verification change.
+ *
+ * Each broadcast carries a version that is bumped atomically with it. A page is
+ * only written to L2 by an instance that has applied every eviction up to the
+ * version it read before computing the page, and only if no eviction happened
+ * since, so an instance whose index is behind never shares what it computed.
+ */
+@Component
+@Slf4j
+public class GuideSearchCache implements MessageListener {
+
+	private static final String PREFIX = AppConstants.GUIDE_SEARCH_CACHE_PREFIX;
+	private static final String PAGE_PREFIX = PREFIX + "page:";
+	private static final String TAG_PREFIX = PREFIX + "tag:";
+	private static final String VERSION_KEY = PREFIX + "version";
+	private static final String CHANNEL = PREFIX + "invalidate";
+	private static final String ANY = "*";
+	private static final String AVAILABILITY = "availability";
+	private static final String PROFILE = "profile";
+	private static final long UNKNOWN = -1;
+
+	// Bumps the version and broadcasts the eviction under it in one step, so
+	// broadcasts are received in version order.
+	private static final RedisScript<Long> BROADCAST = RedisScript.of("""
+			local version = redis.call('INCR', KEYS[1])
+			redis.call('PUBLISH', ARGV[1], version .. '|' .. ARGV[2])
+			return version
+			""", Long.class);
+
+	// Stores a page and tags it, unless an eviction happened since the version it
+	// was computed at.
+	private static final RedisScript<Long> WRITE_IF_CURRENT = RedisScript.of("""
+			if tonumber(redis.call('GET', KEYS[1]) or '0') ~= tonumber(ARGV[1]) then
+				return 0
+			end
+			redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3])
+			redis.call('SADD', KEYS[3], ARGV[4])
+			redis.call('SADD', KEYS[4], ARGV[4])
+			redis.call('PEXPIRE', KEYS[3], ARGV[5])
+			redis.call('PEXPIRE', KEYS[4], ARGV[5])
+			return 1
+			""", Long.class);
+
+	/**
+	 * Applies profile and verification changes made on other instances; set by
+	 * the {@link GuideSearchProjection}, which itself depends on this cache.
+	 */
+	interface GuideListener {
+
+		/**
+		 * Re-reads a guide and returns the location it was listed under before, or
+		 * null if it was not listed.
+		 */
+		String reload(long guideId);
+
+		/**
+		 * Forgets every guide, so they are read again on next use.
+		 */
+		void reset();
+	}
+
+	/**
+	 * Identifies one cached page. Location and language are the resolved,
+	 * normalized terms, so spelling variants share an entry.
+	 */
+	public record Key(LocalDate date, String location, String language, String sort, String direction, int limit,
+			String cursor) {
+
+		String redisKey() {
+			return PAGE_PREFIX + String.join("|", date.toString(), location, language, sort, direction,
+					Integer.toString(limit), cursor == null ? "" : cursor);
+		}
+	}
+
+	private final boolean enabled;
+	private final Duration sharedTtl;
+	private final Cache<Key, GuideSearchPageDto> local;
+	private final RedisTemplate<String, byte[]> redis;
+	private final AvailabilityIndex availabilityIndex;
+	private volatile GuideListener guideListener;
+	private final String instanceId = UUID.randomUUID().toString();
+	private final ObjectMapper smile = SmileMapper.builder().addModule(new JavaTimeModule()).build();
+
+	// Bumped on every eviction seen by this instance. A page computed across an
+	// eviction may already be stale and is then served but not cached.
+	private final AtomicLong generation = new AtomicLong();
+
+	// The latest broadcast version this instance has applied.
+	private final AtomicLong appliedVersion = new AtomicLong(UNKNOWN);
+
+	public GuideSearchCache(SearchProperties properties, RedisTemplate<String, byte[]> binaryRedisTemplate,
+			RedisMessageListenerContainer listenerContainer, AvailabilityIndex availabilityIndex) {
+		CacheProperties config = properties.getCache();
+		this.enabled = config.isEnabled();
+		this.sharedTtl = config.getSharedTtl();
+		this.local = Caffeine.newBuilder()
+				.maximumSize(config.getLocalMaxSize())
+				.expireAfterWrite(config.getLocalTtl())
+				.build();
+		this.redis = binaryRedisTemplate;
+		this.availabilityIndex = availabilityIndex;
+		if (enabled) {
+			listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+		}
+	}
+
+	void setGuideListener(GuideListener guideListener) {
+		this.guideListener = guideListener;
+	}
+
+	/**
+	 * Returns the cached page for the key, computing and caching it on a miss in
+	 * both tiers.
+	 */
+	public GuideSearchPageDto get(Key key, Supplier<GuideSearchPageDto> loader) {
+		if (!enabled) {
+			return loader.get();
+		}
+		GuideSearchPageDto page = local.getIfPresent(key);
+		if (page != null) {
+			return page;
+		}
+
+		long observed = generation.get();
+		Shared shared = readShared(key);
+		page = shared.page();
+		if (page == null) {
+			page = loader.get();
+			if (generation.get() == observed && isApplied(shared.version())) {
+				writeShared(key, page, shared.version());
+			}
+		}
+		if (generation.get() == observed) {
+			local.put(key, page);
+		}
+		return page;
+	}
+
+	/**
+	 * Evicts the pages a change to a guide's availability on one date can affect,
+	 * and has every other instance re-read that day of the guide.
+	 *
+	 * @param location The guide's location, or null if the guide is not searchable.
+	 */
+	public void evictAvailability(long guideId, String location, LocalDate date) {
+		evict(normalizeOrNone(location), date.toString(), Long.toString(guideId), AVAILABILITY);
+	}
+
+	/**
+	 * Evicts every page for a guide's location after a change to many days of its
+	 * availability, and has every other instance re-read the guide.
+	 *
+	 * @param location The guide's location, or null if the guide is not searchable.
+	 */
+	public void evictAvailability(long guideId, String location) {
+		evict(normalizeOrNone(location), ANY, Long.toString(guideId), AVAILABILITY);
+	}
+
+	/**
+	 * Evicts every page for a location after a guide there was approved,
+	 * suspended, deleted or edited their profile, and has every other instance
+	 * re-read the guide.
+	 *
+	 * @param location The location the guide is or was listed under, or null if not known.
+	 */
+	public void evictGuide(long guideId, String location) {
+		evict(normalizeOrNone(location), ANY, Long.toString(guideId), PROFILE);
+	}
+
+	/**
+	 * Evicts everything; used when the affected location is not known.
+	 */
+	public void evictAll() {
+		if (!enabled) {
+			return;
+		}
+		generation.incrementAndGet();
+		local.invalidateAll();
+		try {
+			broadcast(ANY, ANY, ANY, ANY);
+			List<String> keys = new ArrayList<>();
+			scan(PAGE_PREFIX + "*", keys);
+			scan(TAG_PREFIX + "*", keys);
+			if (!keys.isEmpty()) {
+				redis.delete(keys);
+			}
+		} catch (RuntimeException e) {
+			log.warn("Could not clear shared guide search cache: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Receives evictions published by any instance (including this one), in the
+	 * order they were published. A guide changed on another instance is re-read
+	 * before the matching L1 entries are dropped.
+	 */
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+		// version|origin|guideId|change|date|location
+		String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 6);
+		if (parts.length != 6) {
+			return;
+		}
+		long version = Long.parseLong(parts[0]);
+		long applied = appliedVersion.get();
+		if (applied != UNKNOWN && version > applied + 1) {
+			// Broadcasts were lost (e.g. across a reconnect), so any loaded guide or day may be stale.
+			log.warn("Missed guide search evictions {} to {}; reloading guides", applied + 1, version - 1);
+			availabilityIndex.clear();
+			resetGuides();
+			evictLocal(ANY, ANY);
+		} else if (!parts[1].equals(instanceId) && !ANY.equals(parts[2])) {
+			long guideId = Long.parseLong(parts[2]);
+			if (PROFILE.equals(parts[3])) {
+				reloadGuide(guideId);
+			} else {
+				refreshIndex(guideId, parts[4]);
+			}
+		}
+		evictLocal(parts[5], parts[4]);
+		appliedVersion.accumulateAndGet(version, Math::max);
+	}
+
+	// --- Private Helper Methods ---
+
+	private void evict(String location, String date, String guideId, String change) {
+		if (!enabled) {
+			return;
+		}
+		evictLocal(location, date);
+		try {
+			// Bump the version before deleting: a page computed before this point is
+			// either refused on write or already tagged and deleted below.
+			broadcast(location, date, guideId, change);
+			if (location.isEmpty()) {
+				return;
+			}
+			String tag = ANY.equals(date) ? locationTag(location) : dateTag(location, date);
+			Set<byte[]> members = redis.opsForSet().members(tag);
+			List<String> keys = new ArrayList<>();
+			keys.add(tag);
+			if (members != null) {
+				members.forEach(member -> keys.add(new String(member, StandardCharsets.UTF_8)));
+			}
+			redis.delete(keys);
+		} catch (RuntimeException e) {
+			log.warn("Could not evict shared guide search cache for {} on {}: {}", location, date, e.getMessage());
+		}
+	}
+
+	private void evictLocal(String location, String date) {
+		generation.incrementAndGet();
+		local.asMap().keySet().removeIf(key -> (ANY.equals(location) || key.location().equals(location))
+				&& (ANY.equals(date) || key.date().toString().equals(date)));
+	}
+
+	private void broadcast(String location, String date, String guideId, String change) {
+		String message = String.join("|", instanceId, guideId, change, date, location);
+		redis.execute(BROADCAST, List.of(VERSION_KEY), bytes(CHANNEL), bytes(message));
+	}
+
+	private void refreshIndex(long guideId, String date) {
+		try {
+			if (ANY.equals(date)) {
+				availabilityIndex.refreshGuide(guideId);
+			} else {
+				availabilityIndex.refresh(guideId, LocalDate.parse(date));
+			}
+		} catch (RuntimeException e) {
+			log.warn("Could not refresh availability of guide {}; reloading availability: {}", guideId,
+					e.getMessage());
+			availabilityIndex.clear();
+		}
+	}
+
+	private void reloadGuide(long guideId) {
+		GuideListener listener = guideListener;
+		if (listener == null) {
+			return;
+		}
+		try {
+			String previous = listener.reload(guideId);
+			if (previous != null) {
+				// This instance may have listed the guide somewhere the sender did not know of.
+				evictLocal(GuideSearchProjection.normalize(previous), ANY);
+			}
+		} catch (RuntimeException e) {
+			log.warn("Could not reload guide {}; reloading guides: {}", guideId, e.getMessage());
+			resetGuides();
+			evictLocal(ANY, ANY);
+		}
+	}
+
+	private void resetGuides() {
+		GuideListener listener = guideListener;
+		if (listener != null) {
+			listener.reset();
+		}
+	}
+
+	/**
+	 * Whether this instance has applied every eviction up to the given version.
+	 * Before the first broadcast arrives the version is taken as applied: the
+	 * listener subscribes at startup, before the index has loaded anything. An
+	 * unknown version is never applied.
+	 */
+	private boolean isApplied(long version) {
+		if (version == UNKNOWN) {
+			return false;
+		}
+		appliedVersion.compareAndSet(UNKNOWN, version);
+		return version <= appliedVersion.get();
+	}
+
+	/**
+	 * Reads a page from L2 together with the broadcast version at that moment.
+	 */
+	private Shared readShared(Key key) {
+		try {
+			List<byte[]> values = redis.opsForValue().multiGet(List.of(key.redisKey(), VERSION_KEY));
+			byte[] page = values == null ? null : values.get(0);
+			byte[] version = values == null ? null : values.get(1);
+			return new Shared(page == null ? null : smile.readValue(page, GuideSearchPageDto.class),
+					version == null ? 0 : Long.parseLong(new String(version, StandardCharsets.UTF_8)));
+		} catch (IOException | RuntimeException e) {
+			// The shared tier is an optimization; fall back to computing the page, and
+			// do not share it without a version to check against.
+			log.warn("Could not read shared guide search cache: {}", e.getMessage());
+			return new Shared(null, UNKNOWN);
+		}
+	}
+
+	private void writeShared(Key key, GuideSearchPageDto page, long version) {
+		try {
+			String redisKey = key.redisKey();
+			// Tags outlive their pages slightly so an eviction always finds them.
+			redis.execute(WRITE_IF_CURRENT,
+					List.of(VERSION_KEY, redisKey, dateTag(key.location(), key.date().toString()),
+							locationTag(key.location())),
+					bytes(Long.toString(version)), smile.writeValueAsBytes(page),
+					bytes(Long.toString(sharedTtl.toMillis())), bytes(redisKey),
+					bytes(Long.toString(sharedTtl.multipliedBy(2).toMillis())));
+		} catch (IOException | RuntimeException e) {
+			log.warn("Could not write shared guide search cache: {}", e.getMessage());
+		}
+	}
+
+	private void scan(String pattern, List<String> keys) {
+		try (Cursor<String> cursor = redis.scan(ScanOptions.scanOptions().match(pattern).count(500).build())) {
+			cursor.forEachRemaining(keys::add);
+		}
+	}
+
+	private static String normalizeOrNone(String location) {
+		// An empty location matches no page; the broadcast still refreshes the index.
+		return location == null ? "" : GuideSearchProjection.normalize(location);
+	}
+
+	private static String dateTag(String location, String date) {
+		return TAG_PREFIX + location + "|" + date;
+	}
+
+	private static String locationTag(String location) {
+		return TAG_PREFIX + location;
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * A page read from L2 (null on a miss) and the version it was read at, or
+	 * {@link #UNKNOWN} if L2 could not be read.
+	 */
+	private record Shared(GuideSearchPageDto page, long version) {
+	}
+}
@@ -0,0 +1,130 @@
+package com.tourverse.backend.guide.service;
+
+import com.tourverse.backend.common.config.GuideSearchConfig.FanOutProperties;
+import com.tourverse.backend.common.config.GuideSearchConfig.SearchProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Brings the two stores behind a guide search into memory before the search
+ * runs: the MySQL-backed {@link GuideSearchProjection} and the MongoDB-backed
+ * {@link AvailabilityIndex} days it needs.
+ *
+ * Neither load depends on the other, so in PARALLEL mode each one runs on its
+ * own virtual thread and a cold search costs the slower of the two instead of
+ * their sum. Each store has its own timeout, and every load is timed under
+ * {@code guide.search.store.load} (tagged by store and outcome). Once everything
+ * is loaded this is a couple of flag checks.
+ */
+@Component
+@Slf4j
+public class GuideSearchFanOut {
+
+	private static final String MYSQL = "mysql";
+	private static final String MONGO = "mongo";
+
+	private final GuideSearchProjection guideSearchProjection;
+	private final AvailabilityIndex availabilityIndex;
+	private final FanOutProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+	public GuideSearchFanOut(GuideSearchProjection guideSearchProjection, AvailabilityIndex availabilityIndex,
+			SearchProperties searchProperties, MeterRegistry meterRegistry) {
+		this.guideSearchProjection = guideSearchProjection;
+		this.availabilityIndex = availabilityIndex;
+		this.properties = searchProperties.getFanOut();
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Loads the guide projection and the availability of the given dates if they
+	 * are not in memory yet.
+	 *
+	 * @throws IllegalStateException if a store does not answer within its timeout.
+	 */
+	public void prepare(Collection<LocalDate> dates) {
+		boolean profilesCold = !guideSearchProjection.isLoaded();
+		List<LocalDate> coldDates = dates.stream().filter(date -> !availabilityIndex.isLoaded(date)).toList();
+		if (!profilesCold && coldDates.isEmpty()) {
+			return;
+		}
+
+		Timer.Sample sample = Timer.start(meterRegistry);
+		if (properties.getMode() == FanOutProperties.Mode.SEQUENTIAL) {
+			if (profilesCold) {
+				timed(MYSQL, guideSearchProjection::ensureLoaded);
+			}
+			coldDates.forEach(date -> timed(MONGO, () -> availabilityIndex.availableGuides(date)));
+		} else {
+			long started = System.nanoTime();
+			List<Future<?>> mysql = new ArrayList<>();
+			List<Future<?>> mongo = new ArrayList<>();
+			if (profilesCold) {
+				mysql.add(executor.submit(() -> timed(MYSQL, guideSearchProjection::ensureLoaded)));
+			}
+			for (LocalDate date : coldDates) {
+				mongo.add(executor.submit(() -> timed(MONGO, () -> availabilityIndex.availableGuides(date))));
+			}
+			await(MYSQL, mysql, started, properties.getMysqlTimeout());
+			await(MONGO, mongo, started, properties.getMongoTimeout());
+		}
+		sample.stop(meterRegistry.timer("guide.search.fanout", "mode", properties.getMode().name()));
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdown();
+	}
+
+	// --- Private Helper Methods ---
+
+	private void timed(String store, Runnable load) {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String outcome = "error";
+		try {
+			load.run();
+			outcome = "success";
+		} finally {
+			sample.stop(meterRegistry.timer("guide.search.store.load", "store", store, "outcome", outcome));
+		}
+	}
+
+	private void await(String store, List<Future<?>> loads, long started, Duration timeout) {
+		long deadline = started + timeout.toNanos();
+		for (Future<?> load : loads) {
+			try {
+				load.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			} catch (TimeoutException e) {
+				// The load keeps running in the background, so the next search finds the
+				// store warm instead of starting over.
+				meterRegistry.counter("guide.search.store.timeouts", "store", store).increment();
+				log.warn("Guide search gave up waiting for {} after {}", store, timeout);
+				throw new IllegalStateException("Guide search timed out waiting for " + store + ".", e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException cause) {
+					throw cause;
+				}
+				throw new IllegalStateException("Guide search failed loading from " + store + ".", e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Guide search was interrupted.", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,287 @@
+package com.tourverse.backend.guide.service;
+
+import com.tourverse.backend.common.util.TransactionUtils;
+import com.tourverse.backend.guide.entity.Guide;
+import com.tourverse.backend.guide.repository.GuideRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Read-optimized, in-memory projection of APPROVED guides for the public search.
+ *
+ * Guides are bucketed by normalized (location, language), each bucket being a
+ * bitset of guide IDs, so a search is a single bucket lookup intersected with
+ * the {@link AvailabilityIndex} for the requested date. The projection is
+ * loaded from MySQL on first use and refreshed by the services that change a
+ * guide's searchable profile or verification status. Other instances hear of
+ * the change through the {@link GuideSearchCache} broadcast and re-read the
+ * guide from MySQL.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GuideSearchProjection implements GuideSearchCache.GuideListener {
+
+	private final GuideRepository guideRepository;
+	private final GuideTermIndex guideTermIndex;
+	private final GuideGeoIndex guideGeoIndex;
+	private final GuideSearchCache guideSearchCache;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Long, Entry> entries = new HashMap<>();
+	private final Map<String, BitSet> buckets = new HashMap<>();
+	// Precomputed GuideRelevance profile score, indexed by guide ID; NaN when absent.
+	private double[] profileScores = new double[0];
+	private volatile boolean loaded;
+
+	/**
+	 * The searchable snapshot of a single approved guide.
+	 */
+	public record Entry(Long id, String name, String profilePictureUrl, String bio, List<String> languages,
+			String location, Double latitude, Double longitude, BigDecimal ratePerHour, double averageRating,
+			int ratingCount) {
+
+		static Entry of(Guide guide) {
+			List<String> languages = guide.getLanguages() == null ? List.of() : List.copyOf(guide.getLanguages());
+			return new Entry(guide.getId(), guide.getName(), guide.getProfilePictureUrl(), guide.getBio(), languages,
+					guide.getLocation(), guide.getLatitude(), guide.getLongitude(), guide.getRatePerHour(),
+					guide.getAverageRating(), guide.getRatingCount());
+		}
+	}
+
+	@PostConstruct
+	void listen() {
+		guideSearchCache.setGuideListener(this);
+	}
+
+	/**
+	 * Returns a copy of the IDs of approved guides in the given location who speak
+	 * the given language.
+	 */
+	public BitSet bucket(String location, String language) {
+		ensureLoaded();
+		lock.readLock().lock();
+		try {
+			BitSet bucket = buckets.get(bucketKey(location, language));
+			return bucket == null ? new BitSet() : (BitSet) bucket.clone();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the snapshot of an approved guide, or null if the guide is not
+	 * (or no longer) searchable.
+	 */
+	public Entry get(Long guideId) {
+		ensureLoaded();
+		lock.readLock().lock();
+		try {
+			return entries.get(guideId);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Copies the precomputed relevance profile score of each guide into
+	 * {@code scores}; guides that are no longer searchable get NaN.
+	 */
+	void profileScores(int[] guideIds, int count, double[] scores) {
+		lock.readLock().lock();
+		try {
+			for (int i = 0; i < count; i++) {
+				int id = guideIds[i];
+				scores[i] = id < profileScores.length ? profileScores[id] : Double.NaN;
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Re-projects a guide after its profile or verification status changed. The
+	 * snapshot is taken immediately (while the entity is still attached) and
+	 * applied once the surrounding transaction commits. Cached search pages for
+	 * the guide's old and new location are evicted at the same time.
+	 */
+	public void refresh(Guide guide) {
+		if (guide.getVerificationStatus() != Guide.VerificationStatus.APPROVED) {
+			remove(guide.getId());
+			return;
+		}
+		Entry entry = Entry.of(guide);
+		TransactionUtils.runAfterCommit(() -> {
+			Entry previous = write(() -> put(entry));
+			if (previous != null && !normalize(previous.location()).equals(normalize(entry.location()))) {
+				guideSearchCache.evictGuide(entry.id(), previous.location());
+			} else if (previous == null) {
+				evictAllIfNotLoaded();
+			}
+			guideSearchCache.evictGuide(entry.id(), entry.location());
+		});
+	}
+
+	/**
+	 * Drops a guide from the projection once the surrounding transaction commits.
+	 */
+	public void remove(Long guideId) {
+		TransactionUtils.runAfterCommit(() -> {
+			Entry previous = write(() -> delete(guideId));
+			if (previous == null) {
+				evictAllIfNotLoaded();
+			}
+			guideSearchCache.evictGuide(guideId, previous == null ? null : previous.location());
+		});
+	}
+
+	/**
+	 * Re-projects a guide another instance changed, reading it from MySQL.
+	 */
+	@Override
+	public String reload(long guideId) {
+		if (!loaded) {
+			return null;
+		}
+		Entry entry = guideRepository.findWithLanguagesById(guideId)
+				.filter(guide -> guide.getVerificationStatus() == Guide.VerificationStatus.APPROVED)
+				.map(Entry::of)
+				.orElse(null);
+		Entry previous = write(() -> entry == null ? delete(guideId) : put(entry));
+		return previous == null ? null : previous.location();
+	}
+
+	/**
+	 * Empties the projection; it is read from MySQL again on next use.
+	 */
+	@Override
+	public void reset() {
+		lock.writeLock().lock();
+		try {
+			List.copyOf(entries.keySet()).forEach(this::delete);
+			loaded = false;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns whether the projection has been read from MySQL yet.
+	 */
+	boolean isLoaded() {
+		return loaded;
+	}
+
+	/**
+	 * Loads the projection (and with it the term and geo indexes) if this has
+	 * not happened yet.
+	 */
+	void ensureLoaded() {
+		if (loaded) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			if (!loaded) {
+				List<Guide> approved = guideRepository
+						.findWithLanguagesByVerificationStatus(Guide.VerificationStatus.APPROVED);
+				approved.forEach(guide -> put(Entry.of(guide)));
+				loaded = true;
+				log.info("Loaded guide search projection ({} approved guides)", approved.size());
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// --- Private Helper Methods ---
+
+	private void evictAllIfNotLoaded() {
+		if (!loaded) {
+			// Other instances may have cached the guide; without the projection
+			// we cannot tell where, so drop every page.
+			guideSearchCache.evictAll();
+		}
+	}
+
+	/**
+	 * Applies a mutation and returns the entry it replaced, if any.
+	 */
+	private Entry write(Supplier<Entry> mutation) {
+		lock.writeLock().lock();
+		try {
+			// Until the first search loads the projection there is nothing to update;
+			// the load itself will read the committed state.
+			return loaded ? mutation.get() : null;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private Entry put(Entry entry) {
+		Entry previous = delete(entry.id());
+		entries.put(entry.id(), entry);
+		guideTermIndex.add(GuideTermIndex.Field.LOCATION, List.of(entry.location()));
+		guideTermIndex.add(GuideTermIndex.Field.LANGUAGE, entry.languages());
+		if (entry.latitude() != null && entry.longitude() != null) {
+			guideGeoIndex.put(entry.id(), entry.latitude(), entry.longitude());
+		}
+		int bit = Math.toIntExact(entry.id());
+		for (String language : entry.languages()) {
+			buckets.computeIfAbsent(bucketKey(entry.location(), language), key -> new BitSet()).set(bit);
+		}
+		if (bit >= profileScores.length) {
+			int oldLength = profileScores.length;
+			profileScores = Arrays.copyOf(profileScores, Math.max(bit + 1, oldLength * 2));
+			Arrays.fill(profileScores, oldLength, profileScores.length, Double.NaN);
+		}
+		profileScores[bit] = GuideRelevance.profileScore(entry);
+		return previous;
+	}
+
+	private Entry delete(Long guideId) {
+		Entry previous = entries.remove(guideId);
+		if (previous == null) {
+			return null;
+		}
+		guideTermIndex.remove(GuideTermIndex.Field.LOCATION, List.of(previous.location()));
+		guideTermIndex.remove(GuideTermIndex.Field.LANGUAGE, previous.languages());
+		guideGeoIndex.remove(guideId);
+		int bit = Math.toIntExact(guideId);
+		profileScores[bit] = Double.NaN;
+		for (String language : previous.languages()) {
+			String key = bucketKey(previous.location(), language);
+			BitSet bucket = buckets.get(key);
+			if (bucket != null) {
+				bucket.clear(bit);
+				if (bucket.isEmpty()) {
+					buckets.remove(key);
+				}
+			}
+		}
+		return previous;
+	}
+
+	private static String bucketKey(String location, String language) {
+		return normalize(location) + '|' + normalize(language);
+	}
+
+	static String normalize(String value) {
+		if (value == null) {
+			return "";
+		}
+		return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+	}
+}
@@ -1,74 +1,397 @@
 package com.tourverse.backend.guide.service;
 
-import com.tourverse.backend.guide.document.AvailabilitySlot;
+import com.tourverse.backend.common.exceptions.InvalidCursorException;
+import com.tourverse.backend.common.util.CursorCodec;
+import com.tourverse.backend.guide.dto.GuideNearbySearchRequest;
+import com.tourverse.backend.guide.dto.GuideRangeSearchRequest;
+import com.tourverse.backend.guide.dto.GuideSearchPageDto;
+import com.tourverse.backend.guide.dto.GuideSearchRequest;
 import com.tourverse.backend.guide.dto.GuideSearchResultDto;
 import com.tourverse.backend.guide.entity.Guide;
-import com.tourverse.backend.guide.repository.AvailabilityRepository;
-import com.tourverse.backend.guide.repository.GuideRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class GuideSearchService {
 
-    private final GuideRepository guideRepository;
-    private final AvailabilityRepository availabilityRepository;
+    private static final int MAX_RANGE_DAYS = 31;
+
+    // First part of the cursors of the nearby and range searches.
+    private static final String DISTANCE_CURSOR = "DISTANCE";
+    private static final String RANGE_CURSOR = "RANGE";
+
+    private final GuideSearchProjection guideSearchProjection;
+    private final AvailabilityIndex availabilityIndex;
+    private final GuideTermIndex guideTermIndex;
+    private final GuideGeoIndex guideGeoIndex;
+    private final GuideSearchCache guideSearchCache;
+    private final GuideSearchFanOut guideSearchFanOut;
 
     /**
-     * Searches for available guides based on date, location, and language.
+     * Searches for available guides based on date, location, and language and
+     * returns one page of results in the requested order. Pages are served
+     * through the {@link GuideSearchCache}.
      * This is a public-facing method.
      */
-    @Transactional(readOnly = true)
-    public List<GuideSearchResultDto> searchAvailableGuides(LocalDate date, String location, String language) {
-        // Step 1: Find all guides who are available on the given date from MongoDB.
-        List<AvailabilitySlot> availableSlots = availabilityRepository.findByDateAndIsAvailableTrue(date);
-        List<Long> availableGuideIds = availableSlots.stream()
-                .map(AvailabilitySlot::getGuideId)
-                .collect(Collectors.toList());
-        
-        // If no guides are available on this date, return an empty list immediately.
-        if (availableGuideIds.isEmpty()) {
-            return List.of();
-        }
-
-        // Create a map for quick lookup of a guide's available time slots.
-        Map<Long, List<LocalTime>> slotMap = availableSlots.stream()
-                .collect(Collectors.toMap(AvailabilitySlot::getGuideId, AvailabilitySlot::getSlots));
-
-        // Step 2: Fetch the full profiles of the available guides from MySQL,
-        // filtering by location and language.
-        List<Guide> matchingGuides = guideRepository.findAllByIdInAndLocationAndLanguagesContaining(
-                availableGuideIds, location, language
-        );
-
-        // Step 3: Combine the profile and availability info into the final DTO.
-        return matchingGuides.stream()
-                // Only include guides who are fully approved.
-                .filter(guide -> guide.getVerificationStatus() == Guide.VerificationStatus.APPROVED)
-                .map(guide -> convertToSearchResultDto(guide, slotMap.get(guide.getId())))
-                .collect(Collectors.toList());
-    }
-
-    // --- Utility Method ---
-    private GuideSearchResultDto convertToSearchResultDto(Guide guide, List<LocalTime> slots) {
+    public GuideSearchPageDto searchAvailableGuides(GuideSearchRequest request) {
+        guideSearchFanOut.prepare(List.of(request.getDate()));
+        String location = guideTermIndex.resolve(GuideTermIndex.Field.LOCATION, request.getLocation());
+        String language = guideTermIndex.resolve(GuideTermIndex.Field.LANGUAGE, request.getLanguage());
+        GuideSearchCache.Key key = new GuideSearchCache.Key(request.getDate(), location, language,
+                request.getSort().name(), request.getDirection().name(), request.getLimit(), request.getCursor());
+        return guideSearchCache.get(key, () -> buildPage(request, collectCandidates(request, location, language)));
+    }
+
+    /**
+     * Same search as {@link #searchAvailableGuides}, but hands every remaining
+     * result to the sink as soon as it is built instead of collecting a page.
+     * Only the ranked IDs are held in memory; the limit is ignored.
+     */
+    public void streamAvailableGuides(GuideSearchRequest request, Consumer<GuideSearchResultDto> sink) {
+        guideSearchFanOut.prepare(List.of(request.getDate()));
+        Candidates candidates = collectCandidates(request,
+                guideTermIndex.resolve(GuideTermIndex.Field.LOCATION, request.getLocation()),
+                guideTermIndex.resolve(GuideTermIndex.Field.LANGUAGE, request.getLanguage()));
+        for (int position : rankAfterCursor(candidates, request, candidates.size())) {
+            GuideSearchResultDto dto = toResultDto(candidates.ids()[position], request.getDate());
+            if (dto != null) {
+                sink.accept(dto);
+            }
+        }
+    }
+
+    /**
+     * Searches for guides available on a date around a point (or inside a
+     * bounding box), nearest first, one page at a time.
+     */
+    public GuideSearchPageDto searchNearbyGuides(GuideNearbySearchRequest request) {
+        guideSearchFanOut.prepare(List.of(request.getDate()));
+        BitSet availableGuides = availabilityIndex.availableGuides(request.getDate());
+
+        List<GuideGeoIndex.Hit> hits;
+        if (request.isBoundingBox()) {
+            hits = guideGeoIndex.withinBox(request.getMinLatitude(), request.getMinLongitude(),
+                    request.getMaxLatitude(), request.getMaxLongitude(), availableGuides);
+        } else if (request.getLatitude() != null && request.getLongitude() != null) {
+            hits = guideGeoIndex.withinRadius(request.getLatitude(), request.getLongitude(), request.getRadiusKm(),
+                    availableGuides);
+        } else {
+            throw new IllegalArgumentException("Provide latitude and longitude, or a complete bounding box.");
+        }
+
+        if (request.getLanguage() != null && !request.getLanguage().isBlank()) {
+            String language = guideTermIndex.resolve(GuideTermIndex.Field.LANGUAGE, request.getLanguage());
+            hits = hits.stream().filter(hit -> speaks(hit.guideId(), language)).toList();
+        }
+
+        int from = 0;
+        if (request.getCursor() != null && !request.getCursor().isBlank()) {
+            String[] parts = decodeCursor(request.getCursor(), DISTANCE_CURSOR);
+            GuideGeoIndex.Hit last;
+            try {
+                last = new GuideGeoIndex.Hit(Long.parseLong(parts[2]), Double.parseDouble(parts[1]));
+            } catch (NumberFormatException e) {
+                throw new InvalidCursorException("Invalid cursor: " + request.getCursor(), e);
+            }
+            int position = Collections.binarySearch(hits, last, NEAREST_FIRST);
+            from = position >= 0 ? position + 1 : -(position + 1);
+        }
+        int to = Math.min(from + request.getLimit(), hits.size());
+
+        List<GuideSearchResultDto> results = new ArrayList<>(to - from);
+        for (GuideGeoIndex.Hit hit : hits.subList(from, to)) {
+            GuideSearchResultDto dto = toResultDto(hit.guideId(), request.getDate());
+            if (dto != null) {
+                dto.setDistanceKm(hit.distanceKm());
+                results.add(dto);
+            }
+        }
+
+        String nextCursor = null;
+        if (to < hits.size()) {
+            GuideGeoIndex.Hit last = hits.get(to - 1);
+            nextCursor = CursorCodec.encode(DISTANCE_CURSOR, last.distanceKm(), last.guideId());
+        }
+        return GuideSearchPageDto.builder().results(results).nextCursor(nextCursor).build();
+    }
+
+    /**
+     * Searches for guides who are available on every day of a date range and
+     * have at least {@code minHours} consecutive free hours inside the daily time
+     * window on each of those days. Results are ordered by rating, best first.
+     */
+    public GuideSearchPageDto searchAvailableGuidesInRange(GuideRangeSearchRequest request) {
+        LocalDate startDate = request.getStartDate();
+        LocalDate endDate = request.getEndDate();
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before the start date.");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("A range search can cover at most " + MAX_RANGE_DAYS + " days.");
+        }
+        if (request.getFrom() != null && request.getTo() != null && !request.getTo().isAfter(request.getFrom())) {
+            throw new IllegalArgumentException("The time window must end after it starts.");
+        }
+
+        // Step 1: Profile bucket intersected with the availability bitset of every day.
+        guideSearchFanOut.prepare(startDate.datesUntil(endDate.plusDays(1)).toList());
+        String location = guideTermIndex.resolve(GuideTermIndex.Field.LOCATION, request.getLocation());
+        String language = guideTermIndex.resolve(GuideTermIndex.Field.LANGUAGE, request.getLanguage());
+        BitSet matchingGuides = guideSearchProjection.bucket(location, language);
+        for (LocalDate day = startDate; !day.isAfter(endDate) && !matchingGuides.isEmpty(); day = day.plusDays(1)) {
+            matchingGuides.and(availabilityIndex.availableGuides(day));
+        }
+
+        // Step 2: Order the survivors by rating so pages are stable.
+        List<Candidate> candidates = new ArrayList<>(matchingGuides.cardinality());
+        matchingGuides.stream().forEach(id -> {
+            GuideSearchProjection.Entry entry = guideSearchProjection.get((long) id);
+            if (entry != null) {
+                candidates.add(new Candidate(id, entry.averageRating()));
+            }
+        });
+        Comparator<Candidate> order = comparator(Sort.Direction.DESC);
+        candidates.sort(order);
+
+        int from = 0;
+        if (request.getCursor() != null && !request.getCursor().isBlank()) {
+            String[] parts = decodeCursor(request.getCursor(), RANGE_CURSOR);
+            Candidate last;
+            try {
+                last = new Candidate(Long.parseLong(parts[2]), Double.parseDouble(parts[1]));
+            } catch (NumberFormatException e) {
+                throw new InvalidCursorException("Invalid cursor: " + request.getCursor(), e);
+            }
+            int position = Collections.binarySearch(candidates, last, order);
+            from = position >= 0 ? position + 1 : -(position + 1);
+        }
+
+        // Step 3: Check the time window day by day, stopping as soon as the page is full.
+        List<GuideSearchResultDto> results = new ArrayList<>(request.getLimit());
+        String nextCursor = null;
+        for (int i = from; i < candidates.size(); i++) {
+            Candidate candidate = candidates.get(i);
+            if (results.size() == request.getLimit()) {
+                Candidate last = candidates.get(i - 1);
+                nextCursor = CursorCodec.encode(RANGE_CURSOR, last.key(), last.id());
+                break;
+            }
+            Map<LocalDate, List<LocalTime>> startsByDate = windowStarts(candidate.id(), request);
+            GuideSearchProjection.Entry entry = guideSearchProjection.get(candidate.id());
+            if (startsByDate != null && entry != null) {
+                GuideSearchResultDto dto = convertToSearchResultDto(entry, null);
+                dto.setAvailableStartsByDate(startsByDate);
+                results.add(dto);
+            }
+        }
+        return GuideSearchPageDto.builder().results(results).nextCursor(nextCursor).build();
+    }
+
+    /**
+     * Suggests location or language values for a typeahead box, tolerating
+     * case, spelling variants and typos.
+     */
+    public List<String> suggest(GuideTermIndex.Field field, String query, int limit) {
+        guideSearchProjection.ensureLoaded();
+        return guideTermIndex.suggest(field, query, limit);
+    }
+
+    // --- Private Helper Methods ---
+
+    /**
+     * A matching guide together with the value it is sorted by.
+     */
+    private record Candidate(long id, double key) {}
+
+    private static final Comparator<GuideGeoIndex.Hit> NEAREST_FIRST = Comparator
+            .comparingDouble(GuideGeoIndex.Hit::distanceKm)
+            .thenComparingLong(GuideGeoIndex.Hit::guideId);
+
+    private boolean speaks(long guideId, String normalizedLanguage) {
+        GuideSearchProjection.Entry entry = guideSearchProjection.get(guideId);
+        return entry != null && entry.languages().stream()
+                .map(GuideSearchProjection::normalize)
+                .anyMatch(normalizedLanguage::equals);
+    }
+
+    /**
+     * Returns the qualifying start times of a guide for every day of the range,
+     * or null as soon as one day has none.
+     */
+    private Map<LocalDate, List<LocalTime>> windowStarts(long guideId, GuideRangeSearchRequest request) {
+        Map<LocalDate, List<LocalTime>> startsByDate = new LinkedHashMap<>();
+        for (LocalDate day = request.getStartDate(); !day.isAfter(request.getEndDate()); day = day.plusDays(1)) {
+            List<LocalTime> starts = availabilityIndex.consecutiveStarts(day, guideId, request.getFrom(),
+                    request.getTo(), request.getMinHours());
+            if (starts.isEmpty()) {
+                return null;
+            }
+            startsByDate.put(day, starts);
+        }
+        return startsByDate;
+    }
+
+    /**
+     * The guides matching a search as parallel primitive arrays. A higher rank
+     * comes first whatever the requested direction.
+     */
+    private record Candidates(int[] ids, double[] ranks, int size) {}
+
+    private GuideSearchPageDto buildPage(GuideSearchRequest request, Candidates candidates) {
+        // Select one extra candidate to learn whether another page follows.
+        int[] top = rankAfterCursor(candidates, request, request.getLimit() + 1);
+        int pageSize = Math.min(top.length, request.getLimit());
+
+        List<GuideSearchResultDto> results = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            GuideSearchResultDto dto = toResultDto(candidates.ids()[top[i]], request.getDate());
+            if (dto != null) {
+                results.add(dto);
+            }
+        }
+
+        String nextCursor = null;
+        if (top.length > pageSize) {
+            int last = top[pageSize - 1];
+            nextCursor = CursorCodec.encode(request.getSort(), request.getDirection(),
+                    toKey(candidates.ranks()[last], request.getDirection()), candidates.ids()[last]);
+        }
+        return GuideSearchPageDto.builder().results(results).nextCursor(nextCursor).build();
+    }
+
+    private Candidates collectCandidates(GuideSearchRequest request, String location, String language) {
+        // Step 1: Look up the approved guides for the resolved (location, language)
+        // bucket.
+        BitSet matchingGuides = guideSearchProjection.bucket(location, language);
+
+        // If nobody matches the profile criteria, skip the availability lookup entirely.
+        if (matchingGuides.isEmpty()) {
+            return new Candidates(new int[0], new double[0], 0);
+        }
+
+        // Step 2: Keep only the guides who are available on the given date.
+        matchingGuides.and(availabilityIndex.availableGuides(request.getDate()));
+
+        // Step 3: Attach the rank of every candidate.
+        int[] ids = matchingGuides.stream().toArray();
+        double[] ranks = new double[ids.length];
+        if (request.getSort() == GuideSearchRequest.SortField.RELEVANCE) {
+            guideSearchProjection.profileScores(ids, ids.length, ranks);
+            for (int i = 0; i < ids.length; i++) {
+                ranks[i] = GuideRelevance.score(ranks[i], availabilityIndex.slotCount(request.getDate(), (long) ids[i]));
+            }
+        } else {
+            for (int i = 0; i < ids.length; i++) {
+                GuideSearchProjection.Entry entry = guideSearchProjection.get((long) ids[i]);
+                ranks[i] = entry == null ? Double.NaN : toRank(sortKey(entry, request), request.getDirection());
+            }
+        }
+
+        // A guide may have been removed between the lookups; drop it.
+        int size = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (!Double.isNaN(ranks[i])) {
+                ids[size] = ids[i];
+                ranks[size++] = ranks[i];
+            }
+        }
+        return new Candidates(ids, ranks, size);
+    }
+
+    private double sortKey(GuideSearchProjection.Entry entry, GuideSearchRequest request) {
+        return switch (request.getSort()) {
+            // Ranked in bulk from the projection's profile scores instead.
+            case RELEVANCE -> throw new IllegalStateException("Relevance has no per-guide sort key");
+            case RATE -> entry.ratePerHour().doubleValue();
+            case RATING -> entry.averageRating();
+            case SLOTS -> availabilityIndex.slotCount(request.getDate(), entry.id());
+        };
+    }
+
+    private static double toRank(double key, Sort.Direction direction) {
+        return direction == Sort.Direction.DESC ? key : -key;
+    }
+
+    private static double toKey(double rank, Sort.Direction direction) {
+        return direction == Sort.Direction.DESC ? rank : -rank;
+    }
+
+    /**
+     * Decodes a (kind, key, id) cursor, rejecting one issued by another search.
+     */
+    private static String[] decodeCursor(String cursor, String kind) {
+        String[] parts = CursorCodec.decode(cursor, 3);
+        if (!parts[0].equals(kind)) {
+            throw new InvalidCursorException("Cursor was issued for a different search.");
+        }
+        return parts;
+    }
+
+    /**
+     * Returns the positions of the best {@code k} candidates after the request's
+     * cursor (or from the start when there is none), best first.
+     */
+    private static int[] rankAfterCursor(Candidates candidates, GuideSearchRequest request, int k) {
+        if (request.getCursor() == null || request.getCursor().isBlank()) {
+            return TopKSelector.select(candidates.ids(), candidates.ranks(), candidates.size(), k);
+        }
+        String[] parts = CursorCodec.decode(request.getCursor(), 4);
+        if (!parts[0].equals(request.getSort().name()) || !parts[1].equals(request.getDirection().name())) {
+            throw new InvalidCursorException("Cursor was issued for a different sort order.");
+        }
+        double afterRank;
+        int afterId;
+        try {
+            afterRank = toRank(Double.parseDouble(parts[2]), request.getDirection());
+            afterId = Integer.parseInt(parts[3]);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid cursor: " + request.getCursor(), e);
+        }
+        return TopKSelector.select(candidates.ids(), candidates.ranks(), candidates.size(), k, afterRank, afterId);
+    }
+
+    private static Comparator<Candidate> comparator(Sort.Direction direction) {
+        Comparator<Candidate> byKey = Comparator.comparingDouble(Candidate::key);
+        if (direction == Sort.Direction.DESC) {
+            byKey = byKey.reversed();
+        }
+        // The guide ID breaks ties so that the order (and the cursor) is stable.
+        return byKey.thenComparingLong(Candidate::id);
+    }
+
+    private GuideSearchResultDto toResultDto(long guideId, LocalDate date) {
+        GuideSearchProjection.Entry entry = guideSearchProjection.get(guideId);
+        if (entry == null) {
+            return null;
+        }
+        return convertToSearchResultDto(entry, availabilityIndex.slotsFor(date, entry.id()));
+    }
+
+    private GuideSearchResultDto convertToSearchResultDto(GuideSearchProjection.Entry guide, List<LocalTime> slots) {
         return GuideSearchResultDto.builder()
-                .id(guide.getId())
-                .name(guide.getName())
-                .profilePictureUrl(guide.getProfilePictureUrl())
-                .bio(guide.getBio())
-                .languages(guide.getLanguages())
-                .location(guide.getLocation())
-                .ratePerHour(guide.getRatePerHour())
-                .verificationStatus(guide.getVerificationStatus())
+                .id(guide.id())
+                .name(guide.name())
+                .profilePictureUrl(guide.profilePictureUrl())
+                .bio(guide.bio())
+                .languages(guide.languages())
+                .location(guide.location())
+                .ratePerHour(guide.ratePerHour())
+                .verificationStatus(Guide.VerificationStatus.APPROVED)
                 .availableSlots(slots)
                 .build();
     }
-}
\ No newline at end of file
+}
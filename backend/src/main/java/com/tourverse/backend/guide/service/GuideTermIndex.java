@@ -0,0 +1,245 @@
+package com.tourverse.backend.guide.service;
+
+import com.tourverse.backend.common.config.GuideSearchConfig.SearchProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram and prefix index over the locations and languages of searchable
+ * guides. It resolves what a traveler typed ("Bengaluru", " hindi ") to the
+ * canonical value used by the {@link GuideSearchProjection} buckets and backs
+ * the typeahead endpoint.
+ *
+ * The index is fed incrementally by the projection: every term is reference
+ * counted by the number of guides using it and disappears with the last one.
+ */
+@Component
+public class GuideTermIndex {
+
+	public enum Field { LOCATION, LANGUAGE }
+
+	private final double minSimilarity;
+	private final Map<String, List<String>> synonyms = new HashMap<>();
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Field, FieldIndex> fields = new EnumMap<>(Field.class);
+
+	public GuideTermIndex(SearchProperties properties) {
+		this.minSimilarity = properties.getMinSimilarity();
+		for (String group : properties.getSynonyms()) {
+			List<String> members = new ArrayList<>();
+			for (String member : group.split("\\|")) {
+				members.add(GuideSearchProjection.normalize(member));
+			}
+			members.forEach(member -> synonyms.put(member, members));
+		}
+		for (Field field : Field.values()) {
+			fields.put(field, new FieldIndex());
+		}
+	}
+
+	/**
+	 * Returns whether a normalized value is held by at least one searchable guide,
+	 * e.g. to tell whether {@link #resolve} found a match or fell back.
+	 */
+	public boolean isKnown(Field field, String normalized) {
+		lock.readLock().lock();
+		try {
+			return fields.get(field).terms.containsKey(normalized);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Resolves a query term to the normalized canonical value it most likely
+	 * refers to: an exact match, then a known synonym, then the most common value
+	 * it is a prefix of, then the closest value by trigram similarity. Falls back
+	 * to the normalized query itself when nothing is close enough.
+	 */
+	public String resolve(Field field, String query) {
+		String normalized = GuideSearchProjection.normalize(query);
+		lock.readLock().lock();
+		try {
+			FieldIndex index = fields.get(field);
+			if (index.terms.containsKey(normalized)) {
+				return normalized;
+			}
+			for (String synonym : synonyms.getOrDefault(normalized, List.of())) {
+				if (index.terms.containsKey(synonym)) {
+					return synonym;
+				}
+			}
+			Term prefixed = index.withPrefix(normalized).stream().max(Comparator.comparingInt(Term::guides))
+					.orElse(null);
+			if (prefixed != null) {
+				return prefixed.normalized;
+			}
+			List<Term> similar = index.similarTo(normalized, minSimilarity);
+			return similar.isEmpty() ? normalized : similar.get(0).normalized;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns up to {@code limit} display values for a typeahead box: values
+	 * starting with the query (most guides first), followed by fuzzy matches.
+	 */
+	public List<String> suggest(Field field, String query, int limit) {
+		String normalized = GuideSearchProjection.normalize(query);
+		lock.readLock().lock();
+		try {
+			FieldIndex index = fields.get(field);
+			Set<String> suggestions = new LinkedHashSet<>();
+			index.withPrefix(normalized).stream().sorted(Comparator.comparingInt(Term::guides).reversed())
+					.forEach(term -> suggestions.add(term.display));
+			for (String synonym : synonyms.getOrDefault(normalized, List.of())) {
+				Term term = index.terms.get(synonym);
+				if (term != null) {
+					suggestions.add(term.display);
+				}
+			}
+			index.similarTo(normalized, minSimilarity).forEach(term -> suggestions.add(term.display));
+			return suggestions.stream().limit(limit).toList();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Registers one more guide using each of the given values.
+	 */
+	void add(Field field, Collection<String> values) {
+		lock.writeLock().lock();
+		try {
+			values.forEach(fields.get(field)::add);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Releases one guide's use of each of the given values.
+	 */
+	void remove(Field field, Collection<String> values) {
+		lock.writeLock().lock();
+		try {
+			values.forEach(fields.get(field)::remove);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// --- Index Structures ---
+
+	private static final class Term {
+		private final String normalized;
+		private final int trigramCount;
+		private String display;
+		private int guides;
+
+		Term(String normalized, String display, int trigramCount) {
+			this.normalized = normalized;
+			this.display = display;
+			this.trigramCount = trigramCount;
+		}
+
+		int guides() {
+			return guides;
+		}
+	}
+
+	private static final class FieldIndex {
+		private final NavigableMap<String, Term> terms = new TreeMap<>();
+		private final Map<String, Set<String>> postings = new HashMap<>();
+
+		void add(String value) {
+			String normalized = GuideSearchProjection.normalize(value);
+			if (normalized.isEmpty()) {
+				return;
+			}
+			Term term = terms.get(normalized);
+			if (term == null) {
+				Set<String> grams = trigrams(normalized);
+				term = new Term(normalized, value.trim(), grams.size());
+				terms.put(normalized, term);
+				grams.forEach(gram -> postings.computeIfAbsent(gram, key -> new HashSet<>()).add(normalized));
+			}
+			term.guides++;
+		}
+
+		void remove(String value) {
+			String normalized = GuideSearchProjection.normalize(value);
+			Term term = terms.get(normalized);
+			if (term == null || --term.guides > 0) {
+				return;
+			}
+			terms.remove(normalized);
+			for (String gram : trigrams(normalized)) {
+				Set<String> posting = postings.get(gram);
+				if (posting != null) {
+					posting.remove(normalized);
+					if (posting.isEmpty()) {
+						postings.remove(gram);
+					}
+				}
+			}
+		}
+
+		Collection<Term> withPrefix(String prefix) {
+			if (prefix.isEmpty()) {
+				return List.of();
+			}
+			return terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+		}
+
+		/**
+		 * Terms whose Dice coefficient over padded trigrams is at least the given
+		 * threshold, best match first.
+		 */
+		List<Term> similarTo(String query, double threshold) {
+			Set<String> grams = trigrams(query);
+			Map<String, Integer> shared = new HashMap<>();
+			for (String gram : grams) {
+				for (String normalized : postings.getOrDefault(gram, Set.of())) {
+					shared.merge(normalized, 1, Integer::sum);
+				}
+			}
+			Map<Term, Double> scores = new HashMap<>();
+			shared.forEach((normalized, count) -> {
+				Term term = terms.get(normalized);
+				double dice = 2.0 * count / (grams.size() + term.trigramCount);
+				if (dice >= threshold) {
+					scores.put(term, dice);
+				}
+			});
+			List<Term> similar = new ArrayList<>(scores.keySet());
+			similar.sort(Comparator.comparingDouble((Term term) -> scores.get(term)).reversed()
+					.thenComparing(Comparator.comparingInt(Term::guides).reversed()));
+			return similar;
+		}
+	}
+
+	static Set<String> trigrams(String normalized) {
+		String padded = "  " + normalized + " ";
+		Set<String> grams = new HashSet<>();
+		for (int i = 0; i + 3 <= padded.length(); i++) {
+			grams.add(padded.substring(i, i + 3));
+		}
+		return grams;
+	}
+}
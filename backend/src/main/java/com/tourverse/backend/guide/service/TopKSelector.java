@@ -0,0 +1,90 @@
+package com.tourverse.backend.guide.service;
+
+/**
+ * Picks the best k of n candidates held in parallel primitive arrays using a
+ * bounded binary heap, in O(n log k) without boxing or sorting the rest.
+ *
+ * Candidates are ordered by rank, highest first, with the lower ID winning
+ * ties; this is the order search pages and cursors are defined in.
+ */
+final class TopKSelector {
+
+	private TopKSelector() {}
+
+	/**
+	 * Returns the positions of the best {@code k} candidates, best first.
+	 */
+	static int[] select(int[] ids, double[] ranks, int size, int k) {
+		return select(ids, ranks, size, k, Double.POSITIVE_INFINITY, -1);
+	}
+
+	/**
+	 * Returns the positions of the best {@code k} candidates that come strictly
+	 * after the candidate ({@code afterRank}, {@code afterId}), best first.
+	 */
+	static int[] select(int[] ids, double[] ranks, int size, int k, double afterRank, int afterId) {
+		// Min-heap of positions: the root is the worst candidate kept so far.
+		int[] heap = new int[Math.min(k, size)];
+		int heapSize = 0;
+		for (int i = 0; i < size; i++) {
+			if (ranks[i] > afterRank || (ranks[i] == afterRank && ids[i] <= afterId)) {
+				continue;
+			}
+			if (heapSize < heap.length) {
+				heap[heapSize] = i;
+				siftUp(heap, heapSize++, ids, ranks);
+			} else if (heapSize > 0 && better(i, heap[0], ids, ranks)) {
+				heap[0] = i;
+				siftDown(heap, heapSize, ids, ranks);
+			}
+		}
+
+		// Repeatedly removing the worst fills the result from the back.
+		int[] selected = new int[heapSize];
+		for (int last = heapSize - 1; last >= 0; last--) {
+			selected[last] = heap[0];
+			heap[0] = heap[last];
+			siftDown(heap, last, ids, ranks);
+		}
+		return selected;
+	}
+
+	private static boolean better(int a, int b, int[] ids, double[] ranks) {
+		return ranks[a] > ranks[b] || (ranks[a] == ranks[b] && ids[a] < ids[b]);
+	}
+
+	private static void siftUp(int[] heap, int index, int[] ids, double[] ranks) {
+		int item = heap[index];
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
+			if (!better(heap[parent], item, ids, ranks)) {
+				break;
+			}
+			heap[index] = heap[parent];
+			index = parent;
+		}
+		heap[index] = item;
+	}
+
+	private static void siftDown(int[] heap, int size, int[] ids, double[] ranks) {
+		int index = 0;
+		int item = heap[0];
+		while (true) {
+			int child = 2 * index + 1;
+			if (child >= size) {
+				break;
+			}
+			if (child + 1 < size && better(heap[child], heap[child + 1], ids, ranks)) {
+				child++;
+			}
+			if (!better(item, heap[child], ids, ranks)) {
+				break;
+			}
+			heap[index] = heap[child];
+			index = child;
+		}
+		if (size > 0) {
+			heap[index] = item;
+		}
+	}
+}
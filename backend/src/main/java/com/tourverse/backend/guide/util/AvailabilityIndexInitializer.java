@@ -0,0 +1,136 @@
+package com.tourverse.backend.guide.util;
+
+import com.mongodb.client.MongoCollection;
+import com.tourverse.backend.guide.document.AvailabilitySlot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexOptions;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gte;
+import static com.mongodb.client.model.Filters.lte;
+
+/**
+ * Creates the indexes of the {@code availability_slots} collection at startup
+ * and checks that the hot queries use them.
+ *
+ * The compound indexes are the ones declared on {@link AvailabilitySlot}. On top
+ * of those a TTL index on {@code date} removes days older than
+ * {@code guide.availability.retention}. Each hot query is then explained; the
+ * plans are logged and, unless disabled, startup fails if any of them would
+ * scan the whole collection.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilityIndexInitializer implements CommandLineRunner {
+
+	private static final String TTL_INDEX = "date_ttl";
+
+	private final MongoTemplate mongoTemplate;
+
+	@Value("${guide.availability.retention:90d}")
+	private Duration retention;
+
+	@Value("${guide.availability.index-check.enabled:true}")
+	private boolean enabled;
+
+	@Value("${guide.availability.index-check.fail-on-collection-scan:true}")
+	private boolean failOnCollectionScan;
+
+	@Override
+	public void run(String... args) {
+		if (!enabled) {
+			return;
+		}
+		IndexOperations indexOps = mongoTemplate.indexOps(AvailabilitySlot.class);
+		IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+				.resolveIndexFor(AvailabilitySlot.class)
+				.forEach(indexOps::createIndex);
+		ensureRetention(indexOps);
+		verifyQueryPlans();
+	}
+
+	// --- Private Helper Methods ---
+
+	private void ensureRetention(IndexOperations indexOps) {
+		boolean exists = indexOps.getIndexInfo().stream().map(IndexInfo::getName).anyMatch(TTL_INDEX::equals);
+		if (exists) {
+			// A changed horizon is applied in place instead of rebuilding the index.
+			indexOps.alterIndex(TTL_INDEX, IndexOptions.expireAfter(retention));
+		} else {
+			indexOps.createIndex(new Index().on("date", Sort.Direction.ASC).named(TTL_INDEX).expire(retention));
+		}
+		log.info("Availability days older than {} expire automatically", retention);
+	}
+
+	private void verifyQueryPlans() {
+		MongoCollection<Document> collection = mongoTemplate.getCollection(
+				mongoTemplate.getCollectionName(AvailabilitySlot.class));
+		Date today = Date.from(LocalDate.now().atStartOfDay().toInstant(ZoneOffset.UTC));
+		Date nextMonth = Date.from(LocalDate.now().plusMonths(1).atStartOfDay().toInstant(ZoneOffset.UTC));
+
+		// The filters issued by AvailabilityRepository, AvailabilityService and the search index.
+		Map<String, Bson> hotQueries = Map.of(
+				"guide and date", and(eq("guide_id", 0L), eq("date", today)),
+				"guide and date range", and(eq("guide_id", 0L), gte("date", today), lte("date", nextMonth)),
+				"available guides on date", and(eq("date", today), eq("is_available", true)));
+
+		List<String> collectionScans = new ArrayList<>();
+		hotQueries.forEach((name, filter) -> {
+			Document winningPlan = collection.find(filter).explain()
+					.get("queryPlanner", Document.class)
+					.get("winningPlan", Document.class);
+			log.info("Query plan for availability '{}': {}", name, winningPlan.toJson());
+			if (hasStage(winningPlan, "COLLSCAN")) {
+				collectionScans.add(name);
+			}
+		});
+
+		if (collectionScans.isEmpty()) {
+			return;
+		}
+		String message = "Availability queries would scan the whole collection: " + collectionScans;
+		if (failOnCollectionScan) {
+			throw new IllegalStateException(message);
+		}
+		log.warn(message);
+	}
+
+	/**
+	 * Searches a plan tree for a stage, including the nested plans of newer
+	 * servers' explain output.
+	 */
+	private static boolean hasStage(Object plan, String stage) {
+		if (plan instanceof Document document) {
+			if (stage.equals(document.get("stage"))) {
+				return true;
+			}
+			return document.values().stream().anyMatch(value -> hasStage(value, stage));
+		}
+		if (plan instanceof List<?> list) {
+			return list.stream().anyMatch(value -> hasStage(value, stage));
+		}
+		return false;
+	}
+}
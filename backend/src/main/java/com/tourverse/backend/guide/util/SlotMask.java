@@ -0,0 +1,136 @@
+package com.tourverse.backend.guide.util;
+
+import java.time.LocalTime;
+import java.util.Collection;
+
+/**
+ * A day's free time as a 96-bit mask of 15-minute quarters, held in two longs:
+ * {@code lo} covers 00:00-15:59 (bit n = quarter n) and {@code hi} covers
+ * 16:00-23:59 (bit n = quarter 64 + n).
+ *
+ * Slot checks, intersections and "N consecutive hours free" queries are plain
+ * bit operations on the two words.
+ */
+public record SlotMask(long lo, long hi) {
+
+	public static final int MINUTES_PER_QUARTER = 15;
+	public static final int QUARTERS_PER_DAY = 96;
+	public static final SlotMask EMPTY = new SlotMask(0L, 0L);
+
+	// Every slot start time opens a one-hour slot.
+	public static final int SLOT_MINUTES = 60;
+
+	/**
+	 * Builds the mask of one-hour slots starting at the given times.
+	 */
+	public static SlotMask ofSlots(Collection<LocalTime> starts) {
+		return of(starts, SLOT_MINUTES);
+	}
+
+	/**
+	 * Builds the mask of slots of the given length starting at the given times.
+	 * Starts are rounded down and ends up to whole quarters; slots running past
+	 * midnight are cut off at the end of the day.
+	 */
+	public static SlotMask of(Collection<LocalTime> starts, int slotMinutes) {
+		SlotMask mask = EMPTY;
+		if (starts != null) {
+			for (LocalTime start : starts) {
+				mask = mask.or(period(start, slotMinutes));
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * The quarters of a period starting at {@code start} and lasting
+	 * {@code minutes}, cut off at the end of the day.
+	 */
+	public static SlotMask period(LocalTime start, int minutes) {
+		int minute = minuteOf(start);
+		return range(minute / MINUTES_PER_QUARTER, endQuarter(minute + minutes));
+	}
+
+	/**
+	 * Whether a period starting at {@code start} and lasting {@code minutes} ends
+	 * by midnight.
+	 */
+	public static boolean fitsInDay(LocalTime start, int minutes) {
+		return minutes > 0 && minuteOf(start) + minutes <= QUARTERS_PER_DAY * MINUTES_PER_QUARTER;
+	}
+
+	/**
+	 * The quarters [{@code from}, {@code to}), clamped to the day.
+	 */
+	public static SlotMask range(int from, int to) {
+		from = Math.max(from, 0);
+		to = Math.min(to, QUARTERS_PER_DAY);
+		if (from >= to) {
+			return EMPTY;
+		}
+		return new SlotMask(bits(Math.min(from, 64), Math.min(to, 64)),
+				bits(Math.max(from, 64) - 64, Math.max(to, 64) - 64));
+	}
+
+	/**
+	 * Whether the whole period from {@code start} lasting {@code minutes} is free.
+	 */
+	public boolean covers(LocalTime start, int minutes) {
+		return fitsInDay(start, minutes) && contains(period(start, minutes));
+	}
+
+	/**
+	 * Whether every quarter of {@code other} is free in this mask.
+	 */
+	public boolean contains(SlotMask other) {
+		return (lo & other.lo) == other.lo && (hi & other.hi) == other.hi;
+	}
+
+	public boolean get(int quarter) {
+		return quarter < 64 ? (lo >>> quarter & 1L) != 0 : (hi >>> (quarter - 64) & 1L) != 0;
+	}
+
+	public SlotMask and(SlotMask other) {
+		return new SlotMask(lo & other.lo, hi & other.hi);
+	}
+
+	public SlotMask or(SlotMask other) {
+		return new SlotMask(lo | other.lo, hi | other.hi);
+	}
+
+	public SlotMask andNot(SlotMask other) {
+		return new SlotMask(lo & ~other.lo, hi & ~other.hi);
+	}
+
+	public boolean isEmpty() {
+		return lo == 0L && hi == 0L;
+	}
+
+	/**
+	 * Number of free quarters.
+	 */
+	public int cardinality() {
+		return Long.bitCount(lo) + Long.bitCount(hi);
+	}
+
+	// --- Private Helper Methods ---
+
+	private static int minuteOf(LocalTime time) {
+		return time.getHour() * 60 + time.getMinute();
+	}
+
+	private static int endQuarter(int endMinute) {
+		return (endMinute + MINUTES_PER_QUARTER - 1) / MINUTES_PER_QUARTER;
+	}
+
+	/**
+	 * Bits [from, to) of a single word, for 0 <= from <= to <= 64.
+	 */
+	private static long bits(int from, int to) {
+		if (from >= to) {
+			return 0L;
+		}
+		long upTo = to == 64 ? -1L : (1L << to) - 1;
+		return upTo & (-1L << from);
+	}
+}
@@ -0,0 +1,66 @@
+package com.tourverse.backend.guide.util;
+
+import com.tourverse.backend.guide.document.AvailabilitySlot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Back-fills the slot bitmask on availability documents written before it
+ * existed. Runs once at startup when
+ * {@code guide.availability.migrate-slot-masks} is enabled and is safe to re-run:
+ * it only touches documents that still lack a mask.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlotMaskMigrationRunner implements CommandLineRunner {
+
+	private static final int BATCH_SIZE = 500;
+
+	private final MongoTemplate mongoTemplate;
+
+	@Value("${guide.availability.migrate-slot-masks:false}")
+	private boolean enabled;
+
+	@Override
+	public void run(String... args) {
+		if (!enabled) {
+			return;
+		}
+		int migrated = 0;
+		List<AvailabilitySlot> batch;
+		do {
+			// Migrated documents drop out of the filter, so each batch starts from the top.
+			Query query = new Query(Criteria.where("slot_mask_lo").exists(false))
+					.with(Sort.by("_id"))
+					.limit(BATCH_SIZE);
+			query.fields().include("isAvailable", "slots");
+			batch = mongoTemplate.find(query, AvailabilitySlot.class);
+			if (batch.isEmpty()) {
+				break;
+			}
+
+			BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AvailabilitySlot.class);
+			for (AvailabilitySlot slot : batch) {
+				SlotMask mask = slot.isAvailable() ? SlotMask.ofSlots(slot.getSlots()) : SlotMask.EMPTY;
+				bulk.updateOne(Query.query(Criteria.where("_id").is(slot.getId())),
+						new Update().set("slotMaskLo", mask.lo()).set("slotMaskHi", mask.hi()));
+			}
+			bulk.execute();
+			migrated += batch.size();
+		} while (batch.size() == BATCH_SIZE);
+
+		log.info("Added slot masks to {} availability documents", migrated);
+	}
+}
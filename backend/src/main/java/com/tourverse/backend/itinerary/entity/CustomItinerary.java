@@ -1,5 +1,6 @@
 package com.tourverse.backend.itinerary.entity;
 
+import com.tourverse.backend.common.util.AppConstants;
 import com.tourverse.backend.user.entity.Traveler;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
@@ -22,7 +23,8 @@ import java.util.List;
 public class CustomItinerary {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "itinerary_id_seq")
+	@SequenceGenerator(name = "itinerary_id_seq", sequenceName = "custom_itineraries_seq", allocationSize = AppConstants.ID_ALLOCATION_SIZE)
 	private Long id;
 
 	@ManyToOne(fetch = FetchType.LAZY)
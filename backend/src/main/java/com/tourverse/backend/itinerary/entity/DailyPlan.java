@@ -1,6 +1,7 @@
 package com.tourverse.backend.itinerary.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.tourverse.backend.common.util.AppConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -18,7 +19,8 @@ import lombok.NoArgsConstructor;
 public class DailyPlan {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_plan_id_seq")
+	@SequenceGenerator(name = "daily_plan_id_seq", sequenceName = "daily_plans_seq", allocationSize = AppConstants.ID_ALLOCATION_SIZE)
 	private Long id;
 
 	// Link back to the main itinerary.
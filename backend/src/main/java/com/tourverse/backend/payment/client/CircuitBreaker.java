@@ -0,0 +1,72 @@
+package com.tourverse.backend.payment.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Consecutive-failure circuit breaker.
+ *
+ * After {@code failureThreshold} failures in a row the circuit opens and calls
+ * are refused for {@code openDuration}. Then a single trial call is let through:
+ * its success closes the circuit again, its failure re-opens it.
+ */
+class CircuitBreaker {
+
+	enum State { CLOSED, OPEN, HALF_OPEN }
+
+	private final int failureThreshold;
+	private final Duration openDuration;
+	private final Clock clock;
+
+	private State state = State.CLOSED;
+	private int failures;
+	private Instant openedAt;
+	private boolean trialRunning;
+
+	CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+		this.failureThreshold = failureThreshold;
+		this.openDuration = openDuration;
+		this.clock = clock;
+	}
+
+	/**
+	 * Returns whether a call may go ahead now. A caller that is let through must
+	 * report the outcome with {@link #onSuccess()} or {@link #onFailure()}.
+	 */
+	synchronized boolean tryAcquire() {
+		if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+			state = State.HALF_OPEN;
+		}
+		return switch (state) {
+			case CLOSED -> true;
+			case OPEN -> false;
+			case HALF_OPEN -> {
+				if (trialRunning) {
+					yield false;
+				}
+				trialRunning = true;
+				yield true;
+			}
+		};
+	}
+
+	synchronized void onSuccess() {
+		state = State.CLOSED;
+		failures = 0;
+		trialRunning = false;
+	}
+
+	synchronized void onFailure() {
+		failures++;
+		if (state == State.HALF_OPEN || failures >= failureThreshold) {
+			state = State.OPEN;
+			openedAt = clock.instant();
+		}
+		trialRunning = false;
+	}
+
+	synchronized State state() {
+		return state;
+	}
+}
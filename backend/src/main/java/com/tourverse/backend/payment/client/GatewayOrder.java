@@ -0,0 +1,11 @@
+package com.tourverse.backend.payment.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * The fields of a Razorpay order that the application uses. Amounts are in the
+ * smallest currency unit (e.g. paise).
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GatewayOrder(String id, long amount, String currency, String receipt, String status) {
+}
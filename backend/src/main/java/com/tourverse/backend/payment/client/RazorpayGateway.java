@@ -0,0 +1,109 @@
+package com.tourverse.backend.payment.client;
+
+import com.razorpay.RazorpayException;
+import com.tourverse.backend.common.config.PaymentConfig.GatewayProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application's single client for the Razorpay API.
+ *
+ * One HTTP client is shared by every call, so connections and TLS sessions are
+ * reused. Calls are bounded by connect and read timeouts, by a bulkhead that caps
+ * how many wait on the gateway at once, and by a {@link CircuitBreaker} that
+ * fails fast while the gateway keeps failing. Every failure surfaces as a
+ * {@link RazorpayException}.
+ */
+@Component
+@Slf4j
+public class RazorpayGateway {
+
+	private final RestClient restClient;
+	private final Semaphore bulkhead;
+	private final CircuitBreaker circuitBreaker;
+	private final GatewayProperties properties;
+
+	public RazorpayGateway(GatewayProperties properties, RestClient.Builder builder) {
+		this.properties = properties;
+		HttpClient httpClient = HttpClient.newBuilder().connectTimeout(properties.getConnectTimeout()).build();
+		JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+		requestFactory.setReadTimeout(properties.getReadTimeout());
+		this.restClient = builder.requestFactory(requestFactory).baseUrl(properties.getBaseUrl())
+				.defaultHeaders(headers -> {
+					if (properties.getKeyId() != null) {
+						headers.setBasicAuth(properties.getKeyId(), properties.getKeySecret());
+					}
+				}).build();
+		this.bulkhead = new Semaphore(properties.getMaxConcurrentCalls(), true);
+		this.circuitBreaker = new CircuitBreaker(properties.getFailureThreshold(), properties.getOpenDuration(),
+				Clock.systemUTC());
+	}
+
+	/**
+	 * Creates an order for the given amount.
+	 *
+	 * @param amount   Amount in the smallest currency unit (e.g. paise).
+	 * @param currency ISO currency code, e.g. "INR".
+	 * @param receipt  Our reference for the order, e.g. the booking ID.
+	 */
+	public GatewayOrder createOrder(long amount, String currency, String receipt) throws RazorpayException {
+		Map<String, Object> request = Map.of("amount", amount, "currency", currency, "receipt", receipt);
+		return call("create order",
+				() -> restClient.post().uri("/orders").contentType(MediaType.APPLICATION_JSON).body(request)
+						.retrieve().body(GatewayOrder.class));
+	}
+
+	// --- Private Helper Methods ---
+
+	private <T> T call(String operation, GatewayCall<T> call) throws RazorpayException {
+		if (!acquireBulkhead()) {
+			throw new RazorpayException("Payment gateway is busy; please try again.");
+		}
+		try {
+			if (!circuitBreaker.tryAcquire()) {
+				throw new RazorpayException("Payment gateway is unavailable; please try again later.");
+			}
+			try {
+				T result = call.execute();
+				circuitBreaker.onSuccess();
+				return result;
+			} catch (HttpClientErrorException e) {
+				// The gateway answered; the request itself was refused.
+				circuitBreaker.onSuccess();
+				throw new RazorpayException("Payment gateway refused to " + operation + ": " + e.getStatusCode());
+			} catch (RuntimeException e) {
+				// Server errors, timeouts and connection failures. A read timeout may
+				// also surface as a CancellationException from the JDK client.
+				circuitBreaker.onFailure();
+				log.warn("Payment gateway failed to {}: {}", operation, e.toString());
+				throw new RazorpayException("Payment gateway failed to " + operation + ".", e);
+			}
+		} finally {
+			bulkhead.release();
+		}
+	}
+
+	private boolean acquireBulkhead() {
+		try {
+			return bulkhead.tryAcquire(properties.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	@FunctionalInterface
+	private interface GatewayCall<T> {
+		T execute();
+	}
+}
@@ -2,6 +2,7 @@ package com.tourverse.backend.payment.controller;
 
 import com.razorpay.RazorpayException;
 import com.tourverse.backend.auth.util.UserPrincipal;
+import com.tourverse.backend.common.util.IdempotencyService;
 import com.tourverse.backend.payment.dto.RazorpayOrderResponse;
 import com.tourverse.backend.payment.service.PaymentService;
 import lombok.RequiredArgsConstructor;
@@ -15,17 +16,23 @@ import org.springframework.web.bind.annotation.*;
 public class PaymentController {
 
 	private final PaymentService paymentService;
+	private final IdempotencyService idempotencyService;
 
+	// A retry with the same Idempotency-Key returns the first order instead of opening another.
 	@PostMapping("/create-order/guide-booking/{bookingId}")
 	public ResponseEntity<RazorpayOrderResponse> createOrderForGuide(Authentication auth,
-			@PathVariable Long bookingId) {
+			@PathVariable Long bookingId,
+			@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
 		UserPrincipal principal = (UserPrincipal) auth.getPrincipal();
-		try {
-			RazorpayOrderResponse response = paymentService.createOrderForGuideBooking(bookingId,
-					principal.getUser().getId());
-			return ResponseEntity.ok(response);
-		} catch (RazorpayException e) {
-			return ResponseEntity.status(500).body(null);
-		}
+		Long travelerId = principal.getUser().getId();
+		return idempotencyService.execute(idempotencyKey, "guide-order:" + travelerId, bookingId,
+				RazorpayOrderResponse.class, () -> {
+					try {
+						RazorpayOrderResponse response = paymentService.createOrderForGuideBooking(bookingId, travelerId);
+						return ResponseEntity.ok(response);
+					} catch (RazorpayException e) {
+						return ResponseEntity.status(500).body(null);
+					}
+				});
 	}
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.tourverse.backend.payment.controller;
+
+import com.tourverse.backend.payment.service.PaymentWebhookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/payment")
+@RequiredArgsConstructor
+public class PaymentWebhookController {
+
+	private final PaymentWebhookService paymentWebhookService;
+
+	// Called by Razorpay, not by users: trusted through the body's signature, and
+	// acknowledged as soon as the event is queued.
+	@PostMapping("/webhook")
+	public ResponseEntity<Void> receive(@RequestBody String payload,
+			@RequestHeader(value = "X-Razorpay-Signature", required = false) String signature,
+			@RequestHeader(value = "X-Razorpay-Event-Id", required = false) String eventId) {
+		if (!paymentWebhookService.isSigned(payload, signature)) {
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+		paymentWebhookService.enqueue(eventId, payload);
+		return ResponseEntity.ok().build();
+	}
+}
@@ -1,9 +1,13 @@
 package com.tourverse.backend.payment.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @Builder
 public class RazorpayOrderResponse {
 	private String razorpayOrderId;
@@ -0,0 +1,207 @@
+package com.tourverse.backend.payment.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourverse.backend.common.config.PaymentConfig.WebhookProperties;
+import com.tourverse.backend.common.util.AppConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Applies the payment events queued by {@link PaymentWebhookService}.
+ *
+ * Every instance reads the stream as one consumer of a shared group, so each
+ * event goes to one instance. A batch of events becomes a single transaction
+ * through {@link PaymentService#recordPaidOrders}, and is acknowledged only once
+ * that has committed. Events a crashed consumer left unacknowledged are taken
+ * over by another after a while. Redelivered events are dropped by event ID
+ * within a batch and change nothing if they reach the database again. The
+ * stream is only trimmed of events every consumer is done with, so a backlog is
+ * never lost to the length limit.
+ */
+@Component
+@Slf4j
+public class PaymentEventConsumer {
+
+	private static final String KEY = AppConstants.PAYMENT_EVENTS_STREAM;
+	private static final String GROUP = AppConstants.PAYMENT_EVENTS_GROUP;
+
+	// Events that mean the money for an order has been received.
+	private static final Set<String> PAID_EVENTS = Set.of("order.paid", "payment.captured");
+
+	// Once the stream is longer than ARGV[2], drops the entries before the group's
+	// oldest pending one, or before its last delivered one if none is pending, so
+	// unacknowledged and undelivered events always stay.
+	private static final RedisScript<Long> TRIM_ACKNOWLEDGED = RedisScript.of("""
+			if redis.call('XLEN', KEYS[1]) <= tonumber(ARGV[2]) then
+				return 0
+			end
+			local oldest = redis.call('XPENDING', KEYS[1], ARGV[1])[2]
+			if not oldest then
+				for _, group in ipairs(redis.call('XINFO', 'GROUPS', KEYS[1])) do
+					local fields = {}
+					for i = 1, #group, 2 do
+						fields[group[i]] = group[i + 1]
+					end
+					if fields['name'] == ARGV[1] then
+						oldest = fields['last-delivered-id']
+					end
+				end
+			end
+			if not oldest then
+				return 0
+			end
+			return redis.call('XTRIM', KEYS[1], 'MINID', '~', oldest)
+			""", Long.class);
+
+	private final WebhookProperties properties;
+	private final StringRedisTemplate redis;
+	private final PaymentService paymentService;
+	private final ObjectMapper objectMapper;
+
+	private final String consumerName = "consumer-" + UUID.randomUUID();
+	private volatile boolean groupCreated;
+
+	public PaymentEventConsumer(WebhookProperties properties, StringRedisTemplate redis,
+			PaymentService paymentService, ObjectMapper objectMapper) {
+		this.properties = properties;
+		this.redis = redis;
+		this.paymentService = paymentService;
+		this.objectMapper = objectMapper;
+	}
+
+	@Scheduled(fixedDelayString = "${razorpay.webhook.poll-interval:1s}")
+	public void run() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		try {
+			createGroup();
+			apply(claimAbandoned());
+			List<MapRecord<String, Object, Object>> batch;
+			do {
+				batch = readNew();
+				apply(batch);
+			} while (batch.size() == properties.getBatchSize());
+		} catch (RuntimeException e) {
+			// Unacknowledged events stay pending and are retried.
+			log.warn("Applying payment events failed: {}", e.getMessage());
+		}
+	}
+
+	// --- Private Helper Methods ---
+
+	private void apply(List<MapRecord<String, Object, Object>> batch) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		Set<String> eventIds = new HashSet<>();
+		Set<String> paidOrders = new LinkedHashSet<>();
+		for (MapRecord<String, Object, Object> record : batch) {
+			String eventId = (String) record.getValue().get(PaymentWebhookService.EVENT_ID_FIELD);
+			if (eventId != null && !eventId.isEmpty() && !eventIds.add(eventId)) {
+				continue;
+			}
+			String orderId = paidOrderOf((String) record.getValue().get(PaymentWebhookService.PAYLOAD_FIELD));
+			if (orderId != null) {
+				paidOrders.add(orderId);
+			}
+		}
+
+		int recorded = paymentService.recordPaidOrders(paidOrders);
+		log.debug("Applied {} payment events: {} paid orders, {} bookings updated", batch.size(),
+				paidOrders.size(), recorded);
+
+		StreamOperations<String, Object, Object> stream = redis.opsForStream();
+		stream.acknowledge(KEY, GROUP, batch.stream().map(MapRecord::getId).toArray(RecordId[]::new));
+		redis.execute(TRIM_ACKNOWLEDGED, List.of(KEY), GROUP, Long.toString(properties.getMaxLength()));
+	}
+
+	/**
+	 * Returns the Razorpay order an event reports as paid, or null for other
+	 * events and for payloads that cannot be read.
+	 */
+	private String paidOrderOf(String payload) {
+		try {
+			JsonNode event = objectMapper.readTree(payload);
+			if (!PAID_EVENTS.contains(event.path("event").asText())) {
+				return null;
+			}
+			JsonNode orderId = event.path("payload").path("payment").path("entity").path("order_id");
+			if (orderId.isMissingNode() || orderId.isNull()) {
+				orderId = event.path("payload").path("order").path("entity").path("id");
+			}
+			return orderId.isTextual() ? orderId.asText() : null;
+		} catch (JsonProcessingException e) {
+			log.warn("Skipping unreadable payment event: {}", e.getMessage());
+			return null;
+		}
+	}
+
+	private List<MapRecord<String, Object, Object>> readNew() {
+		List<MapRecord<String, Object, Object>> records = redis.opsForStream().read(
+				Consumer.from(GROUP, consumerName), StreamReadOptions.empty().count(properties.getBatchSize()),
+				StreamOffset.create(KEY, ReadOffset.lastConsumed()));
+		return records == null ? List.of() : records;
+	}
+
+	/**
+	 * Takes over events that were delivered to some consumer but not acknowledged
+	 * for longer than the claim idle time.
+	 */
+	private List<MapRecord<String, Object, Object>> claimAbandoned() {
+		StreamOperations<String, Object, Object> stream = redis.opsForStream();
+		RecordId[] abandoned = stream.pending(KEY, GROUP, Range.unbounded(), properties.getBatchSize()).stream()
+				.filter(message -> message.getElapsedTimeSinceLastDelivery().compareTo(properties.getClaimIdle()) >= 0)
+				.map(PendingMessage::getId).toArray(RecordId[]::new);
+		if (abandoned.length == 0) {
+			return List.of();
+		}
+		return stream.claim(KEY, GROUP, consumerName, properties.getClaimIdle(), abandoned);
+	}
+
+	private void createGroup() {
+		if (groupCreated) {
+			return;
+		}
+		try {
+			// Also creates the stream, so the group exists before the first event.
+			redis.execute((RedisCallback<String>) connection -> createGroup(connection));
+		} catch (RedisSystemException e) {
+			String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+			if (message == null || !message.contains("BUSYGROUP")) {
+				throw e;
+			}
+		}
+		groupCreated = true;
+	}
+
+	private static String createGroup(RedisConnection connection) {
+		return connection.streamCommands().xGroupCreate(KEY.getBytes(StandardCharsets.UTF_8), GROUP,
+				ReadOffset.from("0"), true);
+	}
+}
@@ -1,92 +1,199 @@
 package com.tourverse.backend.payment.service;
 
-import com.razorpay.Order;
-import com.razorpay.RazorpayClient;
 import com.razorpay.RazorpayException;
 import com.tourverse.backend.booking.entity.Booking;
 import com.tourverse.backend.booking.entity.PackageBooking;
 import com.tourverse.backend.booking.repository.BookingRepository;
 import com.tourverse.backend.booking.repository.PackageBookingRepository;
+import com.tourverse.backend.booking.service.BookingHoldService;
+import com.tourverse.backend.common.config.PaymentConfig.GatewayProperties;
+import com.tourverse.backend.common.util.TransactionUtils;
+import com.tourverse.backend.guide.service.GuideCalendarService;
+import com.tourverse.backend.payment.client.GatewayOrder;
+import com.tourverse.backend.payment.client.RazorpayGateway;
 import com.tourverse.backend.payment.dto.RazorpayOrderResponse;
 import lombok.RequiredArgsConstructor;
-import org.json.JSONObject;
-import org.springframework.beans.factory.annotation.Value;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Opens Razorpay orders for bookings.
+ *
+ * The gateway is called between two short transactions rather than inside one,
+ * so a slow gateway never holds a database connection: the booking is checked
+ * first, and the order is then recorded by a conditional update that only
+ * applies while the booking is still payable and has no order. A booking keeps
+ * the first order recorded on it: later calls, including ones that raced it to
+ * the gateway, get that order back, so whichever order the traveler pays is the
+ * one the payment webhook finds.
+ *
+ * Payments are recorded from the gateway's webhook events, in batches.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class PaymentService {
 
-	@Value("${razorpay.api.key-id}")
-	private String keyId;
-
-	@Value("${razorpay.api.key-secret}")
-	private String keySecret;
-
+	private final GatewayProperties gatewayProperties;
+	private final RazorpayGateway razorpayGateway;
+	private final TransactionTemplate transactionTemplate;
 	private final BookingRepository bookingRepository;
 	private final PackageBookingRepository packageBookingRepository;
+	private final BookingHoldService bookingHoldService;
+	private final GuideCalendarService guideCalendarService;
 
 	/**
-	 * Creates a Razorpay Order for a guide booking.
+	 * Creates a Razorpay Order for a guide booking, or returns the one already
+	 * created for it.
 	 */
-	@Transactional
 	public RazorpayOrderResponse createOrderForGuideBooking(Long bookingId, Long travelerId) throws RazorpayException {
-		Booking booking = bookingRepository.findById(bookingId)
+		Booking payable = bookingRepository.findById(bookingId)
 				.orElseThrow(() -> new RuntimeException("Booking not found"));
-
-		if (!booking.getTraveler().getId().equals(travelerId)) {
-			throw new IllegalStateException("You are not authorized to pay for this booking.");
+		checkPayable(payable, travelerId);
+		if (payable.getRazorpayOrderId() != null) {
+			return buildResponse(payable.getRazorpayOrderId(), bookingId, payable.getTotalAmount());
 		}
-		if (booking.getStatus() != Booking.BookingStatus.CONFIRMED) {
-			throw new IllegalStateException("Payment can only be made for confirmed bookings.");
-		}
-
-		Order order = createRazorpayOrder(booking.getTotalAmount(), booking.getId().toString());
-		booking.setRazorpayOrderId(order.get("id"));
-		bookingRepository.save(booking);
 
-		return buildResponse(order, booking.getId(), booking.getTotalAmount());
+		GatewayOrder order = createRazorpayOrder(payable.getTotalAmount(), bookingId.toString());
+
+		String orderId = transactionTemplate.execute(status -> {
+			if (bookingRepository.recordOrder(bookingId, order.id(), Booking.BookingStatus.CONFIRMED) == 1) {
+				// Payment has started, so the booking no longer expires; the hold is
+				// only dropped once the order is recorded.
+				TransactionUtils.runAfterCommit(() -> bookingHoldService.clear(bookingId));
+				return order.id();
+			}
+			// While the gateway was called, an expiring hold canceled the booking or a
+			// concurrent call recorded its order. The update cleared the persistence
+			// context, so this reads the current row.
+			Booking booking = bookingRepository.findById(bookingId)
+					.orElseThrow(() -> new RuntimeException("Booking not found"));
+			checkPayable(booking, travelerId);
+			return existingOrder(booking.getRazorpayOrderId());
+		});
+
+		return buildResponse(orderId, bookingId, payable.getTotalAmount());
 	}
 
 	/**
 	 * Creates a Razorpay Order for a pre-made package booking.
 	 */
-	@Transactional
 	public RazorpayOrderResponse createOrderForPackageBooking(Long packageBookingId, Long travelerId)
 			throws RazorpayException {
-		PackageBooking booking = packageBookingRepository.findById(packageBookingId)
+		PackageBooking payable = packageBookingRepository.findById(packageBookingId)
 				.orElseThrow(() -> new RuntimeException("Package booking not found"));
-
-		if (!booking.getTraveler().getId().equals(travelerId)) {
-			throw new IllegalStateException("You are not authorized to pay for this booking.");
+		checkOwner(payable.getTraveler().getId(), travelerId);
+		if (payable.getRazorpayOrderId() != null) {
+			return buildResponse(payable.getRazorpayOrderId(), packageBookingId, payable.getTotalAmount());
 		}
 
-		Order order = createRazorpayOrder(booking.getTotalAmount(), booking.getId().toString());
-		booking.setRazorpayOrderId(order.get("id"));
-		packageBookingRepository.save(booking);
+		GatewayOrder order = createRazorpayOrder(payable.getTotalAmount(), packageBookingId.toString());
+
+		String orderId = transactionTemplate.execute(status -> {
+			if (packageBookingRepository.recordOrder(packageBookingId, order.id()) == 1) {
+				return order.id();
+			}
+			// A concurrent call recorded its order first.
+			return existingOrder(packageBookingRepository.findById(packageBookingId)
+					.orElseThrow(() -> new RuntimeException("Package booking not found")).getRazorpayOrderId());
+		});
 
-		return buildResponse(order, booking.getId(), booking.getTotalAmount());
+		return buildResponse(orderId, packageBookingId, payable.getTotalAmount());
+	}
+
+	/**
+	 * Records that the given Razorpay orders have been paid: their accepted guide
+	 * bookings become PAID and their package bookings CONFIRMED, all in one
+	 * transaction. Bookings in any other state are left alone, so an event that is
+	 * delivered again changes nothing. Orders that belong to no booking at all are
+	 * logged, and so are orders paid for a booking that was canceled meanwhile,
+	 * which need a refund.
+	 *
+	 * @return The number of bookings marked as paid.
+	 */
+	public int recordPaidOrders(Collection<String> orderIds) {
+		if (orderIds.isEmpty()) {
+			return 0;
+		}
+		Integer recorded = transactionTemplate.execute(status -> {
+			List<Booking> paid = bookingRepository.findByOrderIdsForUpdate(orderIds, Booking.BookingStatus.CONFIRMED);
+			if (!paid.isEmpty()) {
+				bookingRepository.updateStatus(paid.stream().map(Booking::getId).toList(),
+						Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.PAID);
+				paid.forEach(booking -> booking.setStatus(Booking.BookingStatus.PAID));
+				TransactionUtils.runAfterCommit(() -> paid.forEach(guideCalendarService::onBookingChanged));
+			}
+			int recordedCount = paid.size() + packageBookingRepository.updateStatusByOrderIds(orderIds,
+					PackageBooking.PackageBookingStatus.PENDING_PAYMENT, PackageBooking.PackageBookingStatus.CONFIRMED);
+			if (recordedCount < orderIds.size()) {
+				logUnrecordedOrders(orderIds);
+			}
+			return recordedCount;
+		});
+		return recorded == null ? 0 : recorded;
 	}
 
 	// --- Private Helper Methods ---
 
-	private Order createRazorpayOrder(BigDecimal amount, String receiptId) throws RazorpayException {
-		RazorpayClient razorpayClient = new RazorpayClient(keyId, keySecret);
-		JSONObject orderRequest = new JSONObject();
-		orderRequest.put("amount", amount.multiply(new BigDecimal("100")).longValue()); // Amount in smallest currency
-																						// unit (e.g., paise)
-		orderRequest.put("currency", "INR"); // Change as needed
-		orderRequest.put("receipt", receiptId);
+	/**
+	 * Logs the paid orders that were not recorded for a reason other than being
+	 * recorded already.
+	 */
+	private void logUnrecordedOrders(Collection<String> orderIds) {
+		Set<String> unknown = new LinkedHashSet<>(orderIds);
+		bookingRepository.findOrderIdsIn(orderIds).forEach(unknown::remove);
+		packageBookingRepository.findOrderIdsIn(orderIds).forEach(unknown::remove);
+		if (!unknown.isEmpty()) {
+			log.warn("Paid Razorpay orders match no booking: {}", unknown);
+		}
+		for (Booking booking : bookingRepository.findByRazorpayOrderIdInAndStatus(orderIds,
+				Booking.BookingStatus.CANCELED)) {
+			log.error("Razorpay order {} was paid for canceled booking {}; the payment needs a refund",
+					booking.getRazorpayOrderId(), booking.getId());
+		}
+		for (PackageBooking booking : packageBookingRepository.findByRazorpayOrderIdInAndStatus(orderIds,
+				PackageBooking.PackageBookingStatus.CANCELED)) {
+			log.error("Razorpay order {} was paid for canceled package booking {}; the payment needs a refund",
+					booking.getRazorpayOrderId(), booking.getId());
+		}
+	}
+
+	private void checkPayable(Booking booking, Long travelerId) {
+		checkOwner(booking.getTraveler().getId(), travelerId);
+		if (booking.getStatus() != Booking.BookingStatus.CONFIRMED) {
+			throw new IllegalStateException("Payment can only be made for confirmed bookings.");
+		}
+	}
+
+	private void checkOwner(Long ownerId, Long travelerId) {
+		if (!ownerId.equals(travelerId)) {
+			throw new IllegalStateException("You are not authorized to pay for this booking.");
+		}
+	}
+
+	private static String existingOrder(String orderId) {
+		if (orderId == null) {
+			throw new IllegalStateException("The payment order could not be recorded; please try again.");
+		}
+		return orderId;
+	}
 
-		return razorpayClient.orders.create(orderRequest);
+	private GatewayOrder createRazorpayOrder(BigDecimal amount, String receiptId) throws RazorpayException {
+		// Amount in the smallest currency unit (e.g., paise).
+		long amountInPaise = amount.multiply(new BigDecimal("100")).longValue();
+		return razorpayGateway.createOrder(amountInPaise, "INR", receiptId);
 	}
 
-	private RazorpayOrderResponse buildResponse(Order order, Long bookingId, BigDecimal amount) {
-		return RazorpayOrderResponse.builder().razorpayOrderId(order.get("id")).bookingId(bookingId)
-				.razorpayKeyId(keyId) // Pass the public key ID to the frontend
+	private RazorpayOrderResponse buildResponse(String orderId, Long bookingId, BigDecimal amount) {
+		return RazorpayOrderResponse.builder().razorpayOrderId(orderId).bookingId(bookingId)
+				.razorpayKeyId(gatewayProperties.getKeyId()) // Pass the public key ID to the frontend
 				.amount(amount.doubleValue()).build();
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,63 @@
+package com.tourverse.backend.payment.service;
+
+import com.tourverse.backend.common.config.PaymentConfig.WebhookProperties;
+import com.tourverse.backend.common.util.AppConstants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Accepts Razorpay webhook calls.
+ *
+ * A call is only checked and appended to the payment events stream in Redis;
+ * {@link PaymentEventConsumer} applies the events to bookings later, in batches.
+ * The gateway is acknowledged without touching the database, so a burst of
+ * callbacks cannot take over the connection pool.
+ */
+@Service
+@RequiredArgsConstructor
+public class PaymentWebhookService {
+
+	static final String EVENT_ID_FIELD = "eventId";
+	static final String PAYLOAD_FIELD = "payload";
+
+	private final WebhookProperties properties;
+	private final StringRedisTemplate redis;
+
+	/**
+	 * Returns whether the body carries a valid signature: the hex HMAC-SHA256 of
+	 * the raw body under the webhook secret.
+	 */
+	public boolean isSigned(String payload, String signature) {
+		if (properties.getSecret() == null || signature == null) {
+			return false;
+		}
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(new SecretKeySpec(properties.getSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+			String expected = HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+			return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8),
+					signature.getBytes(StandardCharsets.UTF_8));
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Could not verify the webhook signature.", e);
+		}
+	}
+
+	/**
+	 * Appends a verified event to the stream, to be applied by the consumer.
+	 *
+	 * @param eventId The gateway's event ID, used to drop redelivered events; may be null.
+	 */
+	public void enqueue(String eventId, String payload) {
+		redis.opsForStream().add(AppConstants.PAYMENT_EVENTS_STREAM,
+				Map.of(EVENT_ID_FIELD, eventId == null ? "" : eventId, PAYLOAD_FIELD, payload));
+	}
+}
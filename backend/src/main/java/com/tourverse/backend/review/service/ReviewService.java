@@ -2,6 +2,8 @@ package com.tourverse.backend.review.service;
 
 import com.tourverse.backend.booking.entity.Booking;
 import com.tourverse.backend.booking.repository.BookingRepository;
+import com.tourverse.backend.guide.entity.Guide;
+import com.tourverse.backend.guide.service.GuideSearchProjection;
 import com.tourverse.backend.review.document.Review;
 import com.tourverse.backend.review.dto.ReviewRequest;
 import com.tourverse.backend.review.dto.ReviewResponse;
@@ -23,6 +25,7 @@ public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
+    private final GuideSearchProjection guideSearchProjection;
 
     /**
      * Submits a review for a completed booking.
@@ -37,7 +40,7 @@ public class ReviewService {
                 .orElseThrow(() -> new RuntimeException("Booking not found."));
 
         // Validation 1: Ensure the booking is completed before a review can be left.
-        // You would typically have a cron job or a manual process to mark bookings as COMPLETED.
+        // Bookings are marked COMPLETED by BookingLifecycleScheduler once the tour date has passed.
         if (booking.getStatus() != Booking.BookingStatus.COMPLETED) {
             throw new IllegalStateException("Reviews can only be submitted for completed trips.");
         }
@@ -102,6 +105,11 @@ public class ReviewService {
         user.setAverageRating(newAverageRating);
         user.setRatingCount(newRatingCount);
         userRepository.save(user);
+
+        // A guide's rating feeds the search ranking.
+        if (user instanceof Guide guide) {
+            guideSearchProjection.refresh(guide);
+        }
     }
 
     private ReviewResponse convertToResponseDto(Review review, String reviewerName) {
@@ -1,5 +1,6 @@
 package com.tourverse.backend.tourPackage.entity;
 
+import com.tourverse.backend.common.util.AppConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
@@ -24,7 +25,8 @@ import java.util.List;
 public class TourPackage {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tour_package_id_seq")
+	@SequenceGenerator(name = "tour_package_id_seq", sequenceName = "tour_packages_seq", allocationSize = AppConstants.ID_ALLOCATION_SIZE)
 	private Long id;
 
 	@Column(nullable = false, length = 200)
@@ -0,0 +1,13 @@
+-- Booking status values for an existing MySQL database.
+--
+-- Hibernate creates @Enumerated(STRING) columns as native ENUMs of the values
+-- known when the table was created, and neither ddl-auto=update nor validate
+-- extends them. Booking has since gained PAID and PackageBooking COMPLETED;
+-- writing either into an older column fails with a data truncation error. Run
+-- this once before deploying, with the application stopped. It is safe to
+-- re-run.
+
+ALTER TABLE bookings
+	MODIFY status ENUM('PENDING', 'CONFIRMED', 'PAID', 'CANCELED', 'COMPLETED') NOT NULL;
+ALTER TABLE package_bookings
+	MODIFY status ENUM('PENDING_PAYMENT', 'CONFIRMED', 'CANCELED', 'COMPLETED') NOT NULL;
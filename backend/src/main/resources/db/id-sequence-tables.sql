@@ -0,0 +1,30 @@
+-- ID allocation tables for an existing MySQL database.
+--
+-- Entity IDs come from pooled sequences (allocation size 50, see
+-- AppConstants.ID_ALLOCATION_SIZE). MySQL has no sequences, so Hibernate keeps
+-- each one in a single-row table. Run this once before deploying, with the
+-- application stopped: it creates the tables Hibernate expects (required under
+-- ddl-auto=validate) and starts every sequence past the highest existing ID.
+-- It is safe to re-run.
+
+CREATE TABLE IF NOT EXISTS users_seq (next_val BIGINT);
+CREATE TABLE IF NOT EXISTS bookings_seq (next_val BIGINT);
+CREATE TABLE IF NOT EXISTS package_bookings_seq (next_val BIGINT);
+CREATE TABLE IF NOT EXISTS custom_itineraries_seq (next_val BIGINT);
+CREATE TABLE IF NOT EXISTS daily_plans_seq (next_val BIGINT);
+CREATE TABLE IF NOT EXISTS tour_packages_seq (next_val BIGINT);
+
+INSERT INTO users_seq SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM users_seq);
+INSERT INTO bookings_seq SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM bookings_seq);
+INSERT INTO package_bookings_seq SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM package_bookings_seq);
+INSERT INTO custom_itineraries_seq SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM custom_itineraries_seq);
+INSERT INTO daily_plans_seq SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM daily_plans_seq);
+INSERT INTO tour_packages_seq SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM tour_packages_seq);
+
+-- A pooled sequence at N hands out IDs from N - 49, so start one allocation past the maximum.
+UPDATE users_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM users));
+UPDATE bookings_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM bookings));
+UPDATE package_bookings_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM package_bookings));
+UPDATE custom_itineraries_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM custom_itineraries));
+UPDATE daily_plans_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM daily_plans));
+UPDATE tour_packages_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM tour_packages));
@@ -0,0 +1,157 @@
+package com.tourverse.backend.booking.service;
+
+import com.tourverse.backend.booking.dto.BookingHistoryRequest;
+import com.tourverse.backend.booking.dto.BookingPageDto;
+import com.tourverse.backend.booking.dto.BookingRequest;
+import com.tourverse.backend.booking.dto.BookingResponse;
+import com.tourverse.backend.booking.entity.Booking;
+import com.tourverse.backend.booking.repository.BookingRepository;
+import com.tourverse.backend.guide.entity.Guide;
+import com.tourverse.backend.guide.repository.AvailabilityRepository;
+import com.tourverse.backend.guide.repository.GuideRepository;
+import com.tourverse.backend.guide.service.AvailabilityService;
+import com.tourverse.backend.guide.service.GuideCalendarService;
+import com.tourverse.backend.user.entity.Traveler;
+import com.tourverse.backend.user.entity.User;
+import com.tourverse.backend.user.repository.TravelerRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts the SQL statements of the booking paths that return a
+ * {@link BookingResponse}, so the guide's and traveler's names keep coming from
+ * projections rather than lazy loads of the JOINED user tables.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(BookingService.class)
+class BookingServiceStatementCountTest {
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private TravelerRepository travelerRepository;
+
+	@Autowired
+	private GuideRepository guideRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@MockitoBean
+	private AvailabilityService availabilityService;
+
+	@MockitoBean
+	private AvailabilityRepository availabilityRepository;
+
+	@MockitoBean
+	private BookingHoldService bookingHoldService;
+
+	@MockitoBean
+	private GuideCalendarService guideCalendarService;
+
+	private Statistics statistics;
+	private Traveler traveler;
+	private Guide guide;
+	private Booking pending;
+
+	@BeforeEach
+	void setUp() {
+		traveler = travelerRepository.save(Traveler.builder()
+				.name("Asha Traveler")
+				.email("asha@example.com")
+				.phone("9000000001")
+				.password("secret")
+				.role(User.Role.TRAVELER)
+				.build());
+		guide = guideRepository.save(Guide.builder()
+				.name("Ravi Guide")
+				.email("ravi@example.com")
+				.phone("9000000002")
+				.password("secret")
+				.role(User.Role.GUIDE)
+				.aadhaarNumber("123412341234")
+				.panNumber("ABCDE1234F")
+				.languages(List.of("English"))
+				.ratePerHour(BigDecimal.valueOf(500))
+				.location("Jaipur")
+				.aadhaarDocumentUrl("https://example.com/aadhaar.pdf")
+				.panDocumentUrl("https://example.com/pan.pdf")
+				.build());
+		// Also draws the first block of booking IDs, so no test pays for it.
+		pending = bookingRepository.save(Booking.builder()
+				.traveler(traveler)
+				.guide(guide)
+				.tourDate(LocalDate.now().plusDays(3))
+				.tourTime(LocalTime.of(9, 0))
+				.hours(2)
+				.totalAmount(BigDecimal.valueOf(1000))
+				.status(Booking.BookingStatus.PENDING)
+				.build());
+		entityManager.flush();
+		entityManager.clear();
+
+		when(availabilityService.reserve(any(), any(), any(), anyInt())).thenReturn(true);
+		statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void createBookingReadsBothPartiesInOneStatement() {
+		BookingRequest request = new BookingRequest();
+		request.setGuideId(guide.getId());
+		request.setTourDate(LocalDate.now().plusDays(5));
+		request.setTourTime(LocalTime.of(10, 0));
+		request.setHours(3);
+
+		BookingResponse response = bookingService.createBooking(traveler.getId(), request);
+		entityManager.flush();
+
+		// The parties projection and the insert.
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+		assertThat(response.getGuideName()).isEqualTo("Ravi Guide");
+		assertThat(response.getTravelerName()).isEqualTo("Asha Traveler");
+		assertThat(response.getTotalAmount()).isEqualByComparingTo("1500");
+	}
+
+	@Test
+	void acceptBookingReadsTheResponseInOneStatement() {
+		BookingResponse response = bookingService.acceptBooking(guide.getId(), pending.getId());
+		entityManager.flush();
+
+		// The locking read, the update and the response projection.
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+		assertThat(response.getStatus()).isEqualTo(Booking.BookingStatus.CONFIRMED);
+		assertThat(response.getGuideName()).isEqualTo("Ravi Guide");
+		assertThat(response.getTravelerName()).isEqualTo("Asha Traveler");
+	}
+
+	@Test
+	void bookingHistoryPageIsOneStatement() {
+		BookingPageDto page = bookingService.getBookingsForGuide(guide.getId(), new BookingHistoryRequest());
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(page.getBookings()).singleElement()
+				.satisfies(booking -> assertThat(booking.getTravelerName()).isEqualTo("Asha Traveler"));
+	}
+}
@@ -0,0 +1,52 @@
+package com.tourverse.backend.common.util;
+
+import com.tourverse.backend.common.exceptions.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorCodecTest {
+
+	@Test
+	void roundTripsParts() {
+		LocalDateTime createdAt = LocalDateTime.of(2026, 5, 1, 10, 30, 15, 123_000_000);
+		String cursor = CursorCodec.encode("RATING", "DESC", 4.75, 42L, createdAt);
+
+		assertThat(cursor).matches("[A-Za-z0-9_-]+");
+		assertThat(CursorCodec.decode(cursor, 5))
+				.containsExactly("RATING", "DESC", "4.75", "42", createdAt.toString());
+	}
+
+	@Test
+	void keepsEmptyParts() {
+		assertThat(CursorCodec.decode(CursorCodec.encode("", 7, ""), 3)).containsExactly("", "7", "");
+	}
+
+	@Test
+	void rejectsCursorThatIsNotBase64() {
+		assertThatThrownBy(() -> CursorCodec.decode("not a cursor!", 2))
+				.isInstanceOf(InvalidCursorException.class)
+				.hasMessageContaining("not a cursor!");
+	}
+
+	@Test
+	void rejectsWrongNumberOfParts() {
+		String cursor = CursorCodec.encode("a", "b", "c");
+
+		assertThatThrownBy(() -> CursorCodec.decode(cursor, 2)).isInstanceOf(InvalidCursorException.class);
+		assertThatThrownBy(() -> CursorCodec.decode(cursor, 4)).isInstanceOf(InvalidCursorException.class);
+	}
+
+	@Test
+	void rejectsTamperedCursor() {
+		String tampered = Base64.getUrlEncoder().withoutPadding()
+				.encodeToString("2026-05-01T10:30".getBytes(StandardCharsets.UTF_8));
+
+		assertThatThrownBy(() -> CursorCodec.decode(tampered, 2)).isInstanceOf(InvalidCursorException.class);
+	}
+}
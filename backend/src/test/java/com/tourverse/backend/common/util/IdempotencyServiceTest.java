@@ -0,0 +1,163 @@
+package com.tourverse.backend.common.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourverse.backend.common.config.IdempotencyConfig.IdempotencyProperties;
+import com.tourverse.backend.common.exceptions.IdempotencyConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceTest {
+
+	private static final String KEY = AppConstants.IDEMPOTENCY_PREFIX + "booking:1:key-1";
+
+	// Redis stand-in: plain values, with the two compare-and-set scripts
+	// interpreted by what they do.
+	private final Map<String, String> values = new ConcurrentHashMap<>();
+	private final AtomicInteger runs = new AtomicInteger();
+	private IdempotencyService service;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		StringRedisTemplate redis = mock(StringRedisTemplate.class);
+		ValueOperations<String, String> operations = mock(ValueOperations.class);
+		when(redis.opsForValue()).thenReturn(operations);
+		when(operations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+				.thenAnswer(call -> values.putIfAbsent(call.getArgument(0), call.getArgument(1)) == null);
+		when(operations.get(anyString())).thenAnswer(call -> values.get(call.<String>getArgument(0)));
+		when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(call -> {
+			String script = call.<RedisScript<Long>>getArgument(0).getScriptAsString();
+			String key = call.<List<String>>getArgument(1).get(0);
+			String claim = call.getArgument(2);
+			if (script.contains("'SET'")) {
+				return values.replace(key, claim, call.getArgument(3)) ? 1L : 0L;
+			}
+			return values.remove(key, claim) ? 1L : 0L;
+		});
+
+		IdempotencyProperties properties = new IdempotencyProperties();
+		properties.setPollInterval(Duration.ofMillis(5));
+		properties.setWaitTimeout(Duration.ofSeconds(5));
+		service = new IdempotencyService(properties, redis, new ObjectMapper());
+	}
+
+	@Test
+	void replaysTheStoredResponseToARetry() {
+		ResponseEntity<String> first = service.execute("key-1", "booking:1", "request", String.class, created());
+		ResponseEntity<String> retry = service.execute("key-1", "booking:1", "request", String.class, created());
+
+		assertThat(runs).hasValue(1);
+		assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+		assertThat(retry.getBody()).isEqualTo(first.getBody());
+		assertThat(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+		assertThat(first.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)).isFalse();
+	}
+
+	@Test
+	void rejectsAKeyReusedForADifferentRequest() {
+		service.execute("key-1", "booking:1", "request", String.class, created());
+
+		assertThatThrownBy(() -> service.execute("key-1", "booking:1", "other request", String.class, created()))
+				.isInstanceOf(IdempotencyConflictException.class);
+		assertThat(runs).hasValue(1);
+	}
+
+	@Test
+	void givesTheKeyUpWhenTheRequestFails() {
+		assertThatThrownBy(() -> service.execute("key-1", "booking:1", "request", String.class, () -> {
+			throw new IllegalStateException("failed");
+		})).isInstanceOf(IllegalStateException.class);
+
+		assertThat(values).doesNotContainKey(KEY);
+		service.execute("key-1", "booking:1", "request", String.class, created());
+		assertThat(runs).hasValue(1);
+	}
+
+	@Test
+	void collapsesConcurrentDuplicatesIntoOneRun() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch finish = new CountDownLatch(1);
+		Supplier<ResponseEntity<String>> slow = () -> {
+			started.countDown();
+			await(finish);
+			return created().get();
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Future<ResponseEntity<String>> first = executor
+					.submit(() -> service.execute("key-1", "booking:1", "request", String.class, slow));
+			assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+			List<Future<ResponseEntity<String>>> duplicates = List.of(
+					executor.submit(() -> service.execute("key-1", "booking:1", "request", String.class, slow)),
+					executor.submit(() -> service.execute("key-1", "booking:1", "request", String.class, slow)));
+			finish.countDown();
+
+			ResponseEntity<String> original = first.get(5, TimeUnit.SECONDS);
+			for (Future<ResponseEntity<String>> duplicate : duplicates) {
+				ResponseEntity<String> replayed = duplicate.get(5, TimeUnit.SECONDS);
+				assertThat(replayed.getBody()).isEqualTo(original.getBody());
+				assertThat(replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+			}
+			assertThat(runs).hasValue(1);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void aRequestThatOutlivedItsClaimLeavesTheNewClaimAlone() {
+		String retryClaim = "{\"fingerprint\":\"x\",\"claim\":\"retry\",\"status\":null,\"body\":null}";
+
+		// The claim expires mid-request and a retry claims the key.
+		service.execute("key-1", "booking:1", "request", String.class, () -> {
+			values.put(KEY, retryClaim);
+			return created().get();
+		});
+		assertThat(values).containsEntry(KEY, retryClaim);
+
+		values.remove(KEY);
+		assertThatThrownBy(() -> service.execute("key-1", "booking:1", "request", String.class, () -> {
+			values.put(KEY, retryClaim);
+			throw new IllegalStateException("failed");
+		})).isInstanceOf(IllegalStateException.class);
+		assertThat(values).containsEntry(KEY, retryClaim);
+	}
+
+	private Supplier<ResponseEntity<String>> created() {
+		return () -> ResponseEntity.status(HttpStatus.CREATED).body("booking-" + runs.incrementAndGet());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
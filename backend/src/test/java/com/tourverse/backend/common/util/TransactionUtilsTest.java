@@ -0,0 +1,44 @@
+package com.tourverse.backend.common.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+
+class TransactionUtilsTest {
+
+	private final List<String> ran = new ArrayList<>();
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void aFailingActionAfterCommitNeitherThrowsNorSkipsTheOthers() {
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionUtils.runAfterCommit(() -> {
+			throw new IllegalStateException("Redis is down");
+		});
+		TransactionUtils.runAfterCommit(() -> ran.add("second"));
+
+		assertThat(ran).isEmpty();
+		assertThatNoException().isThrownBy(TransactionSynchronizationUtils::triggerAfterCommit);
+		assertThat(ran).containsExactly("second");
+	}
+
+	@Test
+	void withoutATransactionAFailingActionIsNotThrownEither() {
+		assertThatNoException().isThrownBy(() -> TransactionUtils.runAfterCommit(() -> {
+			throw new IllegalStateException("Redis is down");
+		}));
+	}
+}
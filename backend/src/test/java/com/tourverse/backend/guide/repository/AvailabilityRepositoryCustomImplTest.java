@@ -0,0 +1,228 @@
+package com.tourverse.backend.guide.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.tourverse.backend.guide.document.AvailabilitySlot;
+import com.tourverse.backend.guide.util.SlotMask;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AvailabilityRepositoryCustomImplTest {
+
+	private static final LocalDate DATE = LocalDate.of(2030, 5, 1);
+	private static final List<LocalTime> SLOTS = List.of(LocalTime.of(14, 0), LocalTime.of(15, 0),
+			LocalTime.of(16, 0), LocalTime.of(17, 0));
+	// 15:00-17:00 straddles the word boundary at 16:00.
+	private static final SlotMask TOUR = SlotMask.period(LocalTime.of(15, 0), 120);
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final AvailabilityRepositoryCustomImpl repository = new AvailabilityRepositoryCustomImpl(mongoTemplate);
+	private final BulkOperations bulk = mock(BulkOperations.class);
+
+	@BeforeEach
+	void setUp() {
+		when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AvailabilitySlot.class)).thenReturn(bulk);
+	}
+
+	@Test
+	void reserveRequiresEveryQuarterFreeAndClearsThem() {
+		AvailabilitySlot reserved = day(SlotMask.ofSlots(SLOTS).andNot(TOUR));
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+				eq(AvailabilitySlot.class))).thenReturn(reserved);
+
+		assertThat(repository.reserve(7L, DATE, TOUR)).contains(reserved);
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class),
+				eq(AvailabilitySlot.class));
+		Document filter = query.getValue().getQueryObject();
+		assertThat(filter.get("isAvailable")).isEqualTo(true);
+		assertThat(filter.get("slotMaskLo")).isEqualTo(new Document("$bitsAllSet", List.of(60, 61, 62, 63)));
+		assertThat(filter.get("slotMaskHi")).isEqualTo(new Document("$bitsAllSet", List.of(0, 1, 2, 3)));
+		Document bit = (Document) update.getValue().getUpdateObject().get("$bit");
+		assertThat(bit.get("slotMaskLo")).isEqualTo(new Document("and", ~TOUR.lo()));
+		assertThat(bit.get("slotMaskHi")).isEqualTo(new Document("and", ~TOUR.hi()));
+	}
+
+	@Test
+	void reserveFailsWhenAnyQuarterIsTaken() {
+		when(mongoTemplate.findOne(any(Query.class), eq(AvailabilitySlot.class))).thenReturn(null);
+
+		assertThat(repository.reserve(7L, DATE, TOUR)).isEmpty();
+	}
+
+	@Test
+	void releaseGivesBackExactlyWhatReserveTook() {
+		SlotMask offered = SlotMask.ofSlots(SLOTS);
+		AvailabilitySlot reserved = day(offered.andNot(TOUR));
+		when(mongoTemplate.findOne(any(Query.class), eq(AvailabilitySlot.class))).thenReturn(reserved);
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+				eq(AvailabilitySlot.class))).thenReturn(day(offered));
+
+		assertThat(repository.release(7L, DATE, TOUR)).isPresent();
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class),
+				eq(AvailabilitySlot.class));
+		// Compare-and-set against the mask that was read.
+		Document filter = query.getValue().getQueryObject();
+		assertThat(filter.get("slotMaskLo")).isEqualTo(reserved.getSlotMaskLo());
+		assertThat(filter.get("slotMaskHi")).isEqualTo(reserved.getSlotMaskHi());
+		Document set = (Document) update.getValue().getUpdateObject().get("$set");
+		assertThat(set.get("slotMaskLo")).isEqualTo(offered.lo());
+		assertThat(set.get("slotMaskHi")).isEqualTo(offered.hi());
+	}
+
+	@Test
+	void releaseDoesNotFreeTimeTheScheduleNoLongerOffers() {
+		// The guide dropped 16:00 from the schedule while the booking held it.
+		List<LocalTime> slots = List.of(LocalTime.of(14, 0), LocalTime.of(15, 0), LocalTime.of(17, 0));
+		AvailabilitySlot reserved = day(SlotMask.ofSlots(slots).andNot(TOUR));
+		reserved.setSlots(slots);
+		when(mongoTemplate.findOne(any(Query.class), eq(AvailabilitySlot.class))).thenReturn(reserved);
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+				eq(AvailabilitySlot.class))).thenReturn(reserved);
+
+		repository.release(7L, DATE, TOUR);
+
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class),
+				eq(AvailabilitySlot.class));
+		Document set = (Document) update.getValue().getUpdateObject().get("$set");
+		assertThat(new SlotMask((Long) set.get("slotMaskLo"), (Long) set.get("slotMaskHi")))
+				.isEqualTo(SlotMask.ofSlots(slots));
+	}
+
+	@Test
+	void releaseRetriesAfterLosingARace() {
+		AvailabilitySlot reserved = day(SlotMask.ofSlots(SLOTS).andNot(TOUR));
+		when(mongoTemplate.findOne(any(Query.class), eq(AvailabilitySlot.class))).thenReturn(reserved);
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+				eq(AvailabilitySlot.class))).thenReturn(null, null, day(SlotMask.ofSlots(SLOTS)));
+
+		assertThat(repository.release(7L, DATE, TOUR)).isPresent();
+		verify(mongoTemplate, times(3)).findOne(any(Query.class), eq(AvailabilitySlot.class));
+	}
+
+	@Test
+	void releaseOfMissingDayDoesNothing() {
+		assertThat(repository.release(7L, DATE, TOUR)).isEmpty();
+	}
+
+	@Test
+	void scheduleWriteKeepsReservedTimeTakenAndChecksTheMaskItRead() {
+		AvailabilitySlot stored = day(SlotMask.ofSlots(SLOTS).andNot(TOUR));
+		BulkWriteResult applied = matched(1);
+		when(mongoTemplate.find(any(Query.class), eq(AvailabilitySlot.class))).thenReturn(List.of(stored));
+		when(bulk.execute()).thenReturn(applied);
+		// The new schedule adds 18:00 and still offers the reserved 15:00-17:00.
+		AvailabilitySlot schedule = schedule(LocalTime.of(14, 0), LocalTime.of(15, 0), LocalTime.of(16, 0),
+				LocalTime.of(18, 0));
+
+		assertThat(repository.applySchedules(7L, List.of(schedule)).isEmpty()).isTrue();
+
+		SlotMask expected = SlotMask.ofSlots(schedule.getSlots()).andNot(TOUR);
+		assertThat(new SlotMask(schedule.getSlotMaskLo(), schedule.getSlotMaskHi())).isEqualTo(expected);
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(bulk).updateOne(query.capture(), update.capture());
+		Document filter = query.getValue().getQueryObject();
+		assertThat(filter.get("slotMaskLo")).isEqualTo(stored.getSlotMaskLo());
+		assertThat(filter.get("slotMaskHi")).isEqualTo(stored.getSlotMaskHi());
+		Document set = (Document) update.getValue().getUpdateObject().get("$set");
+		assertThat(set.get("slotMaskLo")).isEqualTo(expected.lo());
+		assertThat(set.get("slotMaskHi")).isEqualTo(expected.hi());
+	}
+
+	@Test
+	void scheduleWriteRereadsADayReservedMeanwhile() {
+		AvailabilitySlot free = day(SlotMask.ofSlots(SLOTS));
+		AvailabilitySlot reserved = day(SlotMask.ofSlots(SLOTS).andNot(TOUR));
+		when(mongoTemplate.find(any(Query.class), eq(AvailabilitySlot.class)))
+				.thenReturn(List.of(free), List.of(reserved));
+		BulkWriteResult lost = matched(0);
+		BulkWriteResult applied = matched(1);
+		when(bulk.execute()).thenReturn(lost, applied);
+		AvailabilitySlot schedule = schedule(SLOTS.toArray(LocalTime[]::new));
+
+		repository.applySchedules(7L, List.of(schedule));
+
+		verify(bulk, times(2)).execute();
+		assertThat(new SlotMask(schedule.getSlotMaskLo(), schedule.getSlotMaskHi()))
+				.isEqualTo(SlotMask.ofSlots(SLOTS).andNot(TOUR));
+	}
+
+	@Test
+	void scheduleWriteInsertsNewDaysAndUpdatesOnesInsertedMeanwhile() {
+		// The first day is inserted; another writer inserts the second one first.
+		AvailabilitySlot insertedFirst = day(SlotMask.ofSlots(SLOTS));
+		insertedFirst.setId("first");
+		AvailabilitySlot insertedElsewhere = day(SlotMask.ofSlots(SLOTS));
+		insertedElsewhere.setId("second");
+		insertedElsewhere.setDate(DATE.plusDays(1));
+		BulkOperationException duplicate = mock(BulkOperationException.class);
+		when(duplicate.getErrors())
+				.thenReturn(List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1)));
+		BulkWriteResult applied = matched(2);
+		when(mongoTemplate.find(any(Query.class), eq(AvailabilitySlot.class)))
+				.thenReturn(List.of(), List.of(insertedFirst, insertedElsewhere));
+		when(bulk.execute()).thenThrow(duplicate).thenReturn(applied);
+		AvailabilitySlot first = schedule(SLOTS.toArray(LocalTime[]::new));
+		AvailabilitySlot second = schedule(SLOTS.toArray(LocalTime[]::new));
+		second.setDate(DATE.plusDays(1));
+
+		BitSet inserted = repository.applySchedules(7L, List.of(first, second));
+
+		assertThat(inserted.stream()).containsExactly(0);
+		assertThat(first.getId()).isEqualTo("first");
+		assertThat(second.getId()).isEqualTo("second");
+		verify(bulk, times(2)).updateOne(any(Query.class), any(Update.class));
+	}
+
+	private static AvailabilitySlot schedule(LocalTime... slots) {
+		AvailabilitySlot day = AvailabilitySlot.builder().guideId(7L).date(DATE).build();
+		day.setSlotsWithMask(List.of(slots));
+		return day;
+	}
+
+	private static BulkWriteResult matched(int count) {
+		BulkWriteResult result = mock(BulkWriteResult.class);
+		when(result.getMatchedCount()).thenReturn(count);
+		return result;
+	}
+
+	private static AvailabilitySlot day(SlotMask mask) {
+		return AvailabilitySlot.builder()
+				.id("day")
+				.guideId(7L)
+				.date(DATE)
+				.slots(SLOTS)
+				.slotMaskLo(mask.lo())
+				.slotMaskHi(mask.hi())
+				.build();
+	}
+}
@@ -0,0 +1,62 @@
+package com.tourverse.backend.guide.repository;
+
+import com.tourverse.backend.guide.document.GuideCalendar;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GuideCalendarRepositoryCustomImplTest {
+
+	private static final LocalDate DATE = LocalDate.of(2030, 5, 1);
+	private static final String ENTRY = "days.2030-05-01.bookings.9";
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final GuideCalendarRepositoryCustomImpl repository = new GuideCalendarRepositoryCustomImpl(mongoTemplate);
+
+	@Test
+	void putBookingOnlyReplacesAnEntryThatIsNotFurtherAlong() {
+		GuideCalendar.Booking booking = booking(1);
+
+		repository.putBooking(7L, DATE, booking);
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).upsert(query.capture(), update.capture(), eq(GuideCalendar.class));
+		Document filter = query.getValue().getQueryObject();
+		assertThat(filter.get("id")).isEqualTo("7:2030-05");
+		assertThat(filter.get("$or")).isEqualTo(List.of(
+				new Document(ENTRY + ".stage", new Document("$exists", false)),
+				new Document(ENTRY + ".stage", new Document("$lte", 1))));
+		Document set = (Document) update.getValue().getUpdateObject().get("$set");
+		assertThat(set.get(ENTRY)).isEqualTo(booking);
+	}
+
+	@Test
+	void putBookingDropsAnEntryBehindTheStoredOne() {
+		// The filter fails on the existing month, so the upsert tries to insert it again.
+		when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(GuideCalendar.class)))
+				.thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+
+		assertThatNoException().isThrownBy(() -> repository.putBooking(7L, DATE, booking(0)));
+	}
+
+	private static GuideCalendar.Booking booking(int stage) {
+		return GuideCalendar.Booking.builder().bookingId(9L).start("10:00").hours(2).status("CONFIRMED").stage(stage)
+				.build();
+	}
+}
@@ -0,0 +1,55 @@
+package com.tourverse.backend.guide.service;
+
+import com.tourverse.backend.common.config.GuideSearchConfig.SearchProperties;
+import com.tourverse.backend.common.exceptions.ResourceNotFoundException;
+import com.tourverse.backend.guide.entity.Guide;
+import com.tourverse.backend.guide.repository.GuideRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AvailabilityFeedTest {
+
+	private static final LocalDate DATE = LocalDate.of(2030, 5, 1);
+
+	private final GuideRepository guideRepository = mock(GuideRepository.class);
+	private final SearchProperties properties = new SearchProperties();
+	private final GuideTermIndex guideTermIndex = new GuideTermIndex(properties);
+	private final GuideSearchProjection projection = new GuideSearchProjection(guideRepository, guideTermIndex,
+			new GuideGeoIndex(), mock(GuideSearchCache.class));
+	@SuppressWarnings("unchecked")
+	private final AvailabilityFeed feed = new AvailabilityFeed(properties, projection, guideTermIndex,
+			mock(RedisTemplate.class), mock(RedisMessageListenerContainer.class));
+
+	@AfterEach
+	void tearDown() {
+		feed.shutdown();
+	}
+
+	@Test
+	void subscribingOnAFreshInstanceLoadsTheGuidesFirst() throws Exception {
+		when(guideRepository.findWithLanguagesByVerificationStatus(Guide.VerificationStatus.APPROVED))
+				.thenReturn(List.of(Guide.builder()
+						.id(7L)
+						.name("Ravi Guide")
+						.languages(List.of("English"))
+						.ratePerHour(BigDecimal.valueOf(500))
+						.location("Jaipur")
+						.verificationStatus(Guide.VerificationStatus.APPROVED)
+						.build()));
+
+		assertThat(feed.subscribe(DATE, " jaipur ", "10.0.0.1")).isNotNull();
+		assertThatThrownBy(() -> feed.subscribe(DATE, "Atlantis", "10.0.0.1"))
+				.isInstanceOf(ResourceNotFoundException.class);
+	}
+}
@@ -0,0 +1,87 @@
+package com.tourverse.backend.guide.service;
+
+import com.tourverse.backend.booking.entity.Booking;
+import com.tourverse.backend.booking.repository.BookingRepository;
+import com.tourverse.backend.guide.document.GuideCalendar;
+import com.tourverse.backend.guide.dto.GuideCalendarDto;
+import com.tourverse.backend.guide.entity.Guide;
+import com.tourverse.backend.guide.repository.AvailabilityRepository;
+import com.tourverse.backend.guide.repository.GuideCalendarRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GuideCalendarServiceTest {
+
+	private static final LocalDate DATE = LocalDate.of(2030, 5, 1);
+
+	private final GuideCalendarRepository guideCalendarRepository = mock(GuideCalendarRepository.class);
+	private final GuideCalendarService service = new GuideCalendarService(guideCalendarRepository,
+			mock(AvailabilityRepository.class), mock(BookingRepository.class));
+
+	@Test
+	void aCancellationIsStoredAsTheLastStage() {
+		service.onBookingChanged(booking(Booking.BookingStatus.CONFIRMED));
+		service.onBookingChanged(booking(Booking.BookingStatus.CANCELED));
+
+		ArgumentCaptor<GuideCalendar.Booking> entry = ArgumentCaptor.forClass(GuideCalendar.Booking.class);
+		verify(guideCalendarRepository, times(2)).putBooking(eq(7L), eq(DATE), entry.capture());
+		assertThat(entry.getAllValues()).extracting(GuideCalendar.Booking::getStatus, GuideCalendar.Booking::getStage)
+				.containsExactly(tuple("CONFIRMED", 1), tuple("CANCELED", 3));
+	}
+
+	@Test
+	void canceledBookingsDoNotTakeUpTheDay() {
+		Map<String, GuideCalendar.Booking> bookings = new HashMap<>();
+		bookings.put("9", GuideCalendar.Booking.builder().bookingId(9L).start("10:00").hours(1).status("CANCELED")
+				.stage(3).build());
+		bookings.put("10", GuideCalendar.Booking.builder().bookingId(10L).start("11:00").hours(1).status("PAID")
+				.stage(2).build());
+		GuideCalendar.Day day = GuideCalendar.Day.builder()
+				.available(true)
+				.slots(List.of("10:00", "11:00"))
+				.bookings(bookings)
+				.build();
+		when(guideCalendarRepository.findById("7:2030-05")).thenReturn(Optional.of(GuideCalendar.builder()
+				.id("7:2030-05")
+				.guideId(7L)
+				.month("2030-05")
+				.version(4)
+				.built(true)
+				.days(Map.of(DATE.toString(), day))
+				.build()));
+
+		GuideCalendarDto.Day shown = service.getMonth(7L, YearMonth.of(2030, 5)).getDays().get(0);
+
+		assertThat(shown.getBookings()).extracting(GuideCalendarDto.BookedSlot::getBookingId).containsExactly(10L);
+		assertThat(shown.getFreeSlots()).containsExactly(LocalTime.of(10, 0));
+	}
+
+	private static Booking booking(Booking.BookingStatus status) {
+		Guide guide = new Guide();
+		guide.setId(7L);
+		return Booking.builder()
+				.id(9L)
+				.guide(guide)
+				.tourDate(DATE)
+				.tourTime(LocalTime.of(10, 0))
+				.hours(2)
+				.status(status)
+				.build();
+	}
+}
@@ -0,0 +1,48 @@
+package com.tourverse.backend.guide.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GuideGeoIndexTest {
+
+	private final GuideGeoIndex index = new GuideGeoIndex();
+	private final BitSet all = new BitSet();
+
+	@BeforeEach
+	void setUp() {
+		index.put(1, 26.9124, 75.7873); // Jaipur
+		index.put(2, 26.9260, 75.8235); // Jaipur, Hawa Mahal
+		index.put(3, 19.0760, 72.8777); // Mumbai
+		all.set(1, 4);
+	}
+
+	@Test
+	void findsGuidesInsideBoxNearestToItsCentreFirst() {
+		assertThat(index.withinBox(26.8, 75.7, 27.0, 75.9, all))
+				.extracting(GuideGeoIndex.Hit::guideId).containsExactly(1L, 2L);
+	}
+
+	@Test
+	void rejectsBoxWiderThanTheLimit() {
+		assertThatThrownBy(() -> index.withinBox(-90, -180, 90, 180, all))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("at most");
+		assertThatThrownBy(() -> index.withinBox(19, 70, 20, 75.5, all))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void rejectsBoxCrossingTheAntimeridian() {
+		assertThatThrownBy(() -> index.withinBox(-18, 178, -16, -179, all))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("antimeridian");
+	}
+
+	@Test
+	void rejectsInvertedLatitudes() {
+		assertThatThrownBy(() -> index.withinBox(27, 75, 26, 76, all)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
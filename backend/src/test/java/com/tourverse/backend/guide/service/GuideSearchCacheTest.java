@@ -0,0 +1,90 @@
+package com.tourverse.backend.guide.service;
+
+import com.tourverse.backend.common.config.GuideSearchConfig.SearchProperties;
+import com.tourverse.backend.guide.dto.GuideSearchPageDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GuideSearchCacheTest {
+
+	private static final LocalDate DATE = LocalDate.of(2030, 5, 1);
+
+	@SuppressWarnings("unchecked")
+	private final RedisTemplate<String, byte[]> redis = mock(RedisTemplate.class);
+	@SuppressWarnings("unchecked")
+	private final ValueOperations<String, byte[]> values = mock(ValueOperations.class);
+	private final AvailabilityIndex availabilityIndex = mock(AvailabilityIndex.class);
+	private GuideSearchCache cache;
+
+	@BeforeEach
+	void setUp() {
+		when(redis.opsForValue()).thenReturn(values);
+		cache = new GuideSearchCache(new SearchProperties(), redis, mock(RedisMessageListenerContainer.class),
+				availabilityIndex);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void aFailedSharedReadNeitherSharesThePageNorBreaksTheVersionGuard() {
+		when(values.multiGet(anyList())).thenThrow(new RedisConnectionFailureException("down"));
+
+		GuideSearchPageDto page = GuideSearchPageDto.builder().build();
+		assertThat(cache.get(key(), () -> page)).isSameAs(page);
+		cache.onMessage(message(1, "3", "availability"), null);
+		cache.onMessage(message(2, "3", "availability"), null);
+
+		verify(redis, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+		verify(availabilityIndex, never()).clear();
+	}
+
+	@Test
+	void aGapInVersionsReloadsAvailabilityAndGuides() {
+		GuideSearchCache.GuideListener guides = mock(GuideSearchCache.GuideListener.class);
+		cache.setGuideListener(guides);
+
+		cache.onMessage(message(1, "3", "availability"), null);
+		cache.onMessage(message(3, "3", "availability"), null);
+
+		verify(availabilityIndex).clear();
+		verify(guides).reset();
+	}
+
+	@Test
+	void aProfileChangeOnAnotherInstanceReloadsTheGuide() {
+		GuideSearchCache.GuideListener guides = mock(GuideSearchCache.GuideListener.class);
+		cache.setGuideListener(guides);
+
+		cache.onMessage(message(1, "3", "profile"), null);
+
+		verify(guides).reload(3L);
+		verify(availabilityIndex, never()).refreshGuide(3L);
+	}
+
+	private static GuideSearchCache.Key key() {
+		return new GuideSearchCache.Key(DATE, "jaipur", "*", "RELEVANCE", "DESC", 20, null);
+	}
+
+	private static DefaultMessage message(long version, String guideId, String change) {
+		String body = String.join("|", Long.toString(version), "other-instance", guideId, change, DATE.toString(),
+				"jaipur");
+		return new DefaultMessage("channel".getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,82 @@
+package com.tourverse.backend.guide.service;
+
+import com.tourverse.backend.common.config.GuideSearchConfig.SearchProperties;
+import com.tourverse.backend.guide.entity.Guide;
+import com.tourverse.backend.guide.repository.GuideRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GuideSearchProjectionTest {
+
+	private final GuideRepository guideRepository = mock(GuideRepository.class);
+	private final GuideSearchCache guideSearchCache = mock(GuideSearchCache.class);
+	private final GuideTermIndex guideTermIndex = new GuideTermIndex(new SearchProperties());
+	private final GuideSearchProjection projection = new GuideSearchProjection(guideRepository, guideTermIndex,
+			new GuideGeoIndex(), guideSearchCache);
+
+	@BeforeEach
+	void setUp() {
+		when(guideRepository.findWithLanguagesByVerificationStatus(Guide.VerificationStatus.APPROVED))
+				.thenReturn(List.of(guide("Jaipur", Guide.VerificationStatus.APPROVED)));
+		projection.ensureLoaded();
+	}
+
+	@Test
+	void registersWithTheCache() {
+		projection.listen();
+
+		verify(guideSearchCache).setGuideListener(projection);
+	}
+
+	@Test
+	void reloadMovesAGuideEditedElsewhere() {
+		when(guideRepository.findWithLanguagesById(7L))
+				.thenReturn(Optional.of(guide("Pune", Guide.VerificationStatus.APPROVED)));
+
+		assertThat(projection.reload(7L)).isEqualTo("Jaipur");
+		assertThat(projection.bucket("jaipur", "english").isEmpty()).isTrue();
+		assertThat(projection.bucket("pune", "english").get(7)).isTrue();
+		assertThat(guideTermIndex.isKnown(GuideTermIndex.Field.LOCATION, "jaipur")).isFalse();
+	}
+
+	@Test
+	void reloadDropsAGuideSuspendedOrDeletedElsewhere() {
+		when(guideRepository.findWithLanguagesById(7L))
+				.thenReturn(Optional.of(guide("Jaipur", Guide.VerificationStatus.REJECTED)));
+
+		assertThat(projection.reload(7L)).isEqualTo("Jaipur");
+		assertThat(projection.get(7L)).isNull();
+
+		when(guideRepository.findWithLanguagesById(7L)).thenReturn(Optional.empty());
+		assertThat(projection.reload(7L)).isNull();
+	}
+
+	@Test
+	void resetReadsEveryGuideAgainOnNextUse() {
+		projection.reset();
+
+		assertThat(projection.isLoaded()).isFalse();
+		assertThat(guideTermIndex.isKnown(GuideTermIndex.Field.LOCATION, "jaipur")).isFalse();
+		assertThat(projection.get(7L)).isNotNull();
+	}
+
+	private static Guide guide(String location, Guide.VerificationStatus status) {
+		return Guide.builder()
+				.id(7L)
+				.name("Ravi Guide")
+				.languages(List.of("English"))
+				.ratePerHour(BigDecimal.valueOf(500))
+				.location(location)
+				.verificationStatus(status)
+				.build();
+	}
+}
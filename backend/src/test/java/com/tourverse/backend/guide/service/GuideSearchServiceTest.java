@@ -0,0 +1,83 @@
+package com.tourverse.backend.guide.service;
+
+import com.tourverse.backend.common.config.GuideSearchConfig.SearchProperties;
+import com.tourverse.backend.common.exceptions.InvalidCursorException;
+import com.tourverse.backend.common.util.CursorCodec;
+import com.tourverse.backend.guide.dto.GuideNearbySearchRequest;
+import com.tourverse.backend.guide.dto.GuideRangeSearchRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GuideSearchServiceTest {
+
+	private static final LocalDate DATE = LocalDate.of(2030, 5, 1);
+
+	private final GuideSearchProjection guideSearchProjection = mock(GuideSearchProjection.class);
+	private final AvailabilityIndex availabilityIndex = mock(AvailabilityIndex.class);
+	private final GuideSearchService service = new GuideSearchService(guideSearchProjection,
+			availabilityIndex, new GuideTermIndex(new SearchProperties()), new GuideGeoIndex(),
+			mock(GuideSearchCache.class), mock(GuideSearchFanOut.class));
+
+	@BeforeEach
+	void setUp() {
+		when(availabilityIndex.availableGuides(any(LocalDate.class))).thenReturn(new BitSet());
+		when(guideSearchProjection.bucket(any(), any())).thenReturn(new BitSet());
+	}
+
+	@Test
+	void nearbySearchAcceptsItsOwnCursor() {
+		String cursor = CursorCodec.encode("DISTANCE", 1.5, 7L);
+
+		assertThat(service.searchNearbyGuides(nearby(cursor)).getResults()).isEmpty();
+	}
+
+	@Test
+	void nearbySearchRejectsACursorOfAnotherSearch() {
+		String cursor = CursorCodec.encode("RANGE", 4.5, 7L);
+
+		assertThatThrownBy(() -> service.searchNearbyGuides(nearby(cursor)))
+				.isInstanceOf(InvalidCursorException.class);
+	}
+
+	@Test
+	void rangeSearchAcceptsItsOwnCursor() {
+		String cursor = CursorCodec.encode("RANGE", 4.5, 7L);
+
+		assertThat(service.searchAvailableGuidesInRange(range(cursor)).getResults()).isEmpty();
+	}
+
+	@Test
+	void rangeSearchRejectsACursorOfAnotherSearch() {
+		String cursor = CursorCodec.encode("DISTANCE", 1.5, 7L);
+
+		assertThatThrownBy(() -> service.searchAvailableGuidesInRange(range(cursor)))
+				.isInstanceOf(InvalidCursorException.class);
+	}
+
+	private static GuideRangeSearchRequest range(String cursor) {
+		return GuideRangeSearchRequest.builder()
+				.startDate(DATE)
+				.endDate(DATE.plusDays(2))
+				.location("Jaipur")
+				.cursor(cursor)
+				.build();
+	}
+
+	private static GuideNearbySearchRequest nearby(String cursor) {
+		return GuideNearbySearchRequest.builder()
+				.date(DATE)
+				.latitude(26.9124)
+				.longitude(75.7873)
+				.cursor(cursor)
+				.build();
+	}
+}
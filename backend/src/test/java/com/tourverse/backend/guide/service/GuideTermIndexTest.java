@@ -0,0 +1,72 @@
+package com.tourverse.backend.guide.service;
+
+import com.tourverse.backend.common.config.GuideSearchConfig.SearchProperties;
+import com.tourverse.backend.guide.service.GuideTermIndex.Field;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GuideTermIndexTest {
+
+	private GuideTermIndex index;
+
+	@BeforeEach
+	void setUp() {
+		SearchProperties properties = new SearchProperties();
+		properties.setSynonyms(List.of("Bengaluru|Bangalore"));
+		index = new GuideTermIndex(properties);
+		index.add(Field.LOCATION, List.of("Jaipur", "Jaisalmer", "Bangalore", "Mumbai"));
+		// Jaisalmer is used by more guides than Jaipur.
+		index.add(Field.LOCATION, List.of("Jaisalmer"));
+		index.add(Field.LANGUAGE, List.of("Hindi", "English"));
+	}
+
+	@Test
+	void resolvesExactTermIgnoringCaseAndSpacing() {
+		assertThat(index.resolve(Field.LOCATION, "  JAIPUR ")).isEqualTo("jaipur");
+		assertThat(index.resolve(Field.LANGUAGE, " hindi ")).isEqualTo("hindi");
+	}
+
+	@Test
+	void resolvesSynonym() {
+		assertThat(index.resolve(Field.LOCATION, "Bengaluru")).isEqualTo("bangalore");
+	}
+
+	@Test
+	void resolvesPrefixToMostUsedTerm() {
+		assertThat(index.resolve(Field.LOCATION, "jai")).isEqualTo("jaisalmer");
+	}
+
+	@Test
+	void resolvesMisspellingByTrigramSimilarity() {
+		assertThat(index.resolve(Field.LOCATION, "Mumbay")).isEqualTo("mumbai");
+		assertThat(index.resolve(Field.LOCATION, "Jaipure")).isEqualTo("jaipur");
+	}
+
+	@Test
+	void fallsBackToQueryWhenNothingIsClose() {
+		assertThat(index.resolve(Field.LOCATION, "Kolkata")).isEqualTo("kolkata");
+	}
+
+	@Test
+	void keepsFieldsApart() {
+		assertThat(index.resolve(Field.LANGUAGE, "Jaipur")).isEqualTo("jaipur");
+		assertThat(index.suggest(Field.LANGUAGE, "jai", 5)).isEmpty();
+	}
+
+	@Test
+	void dropsTermWithItsLastGuide() {
+		index.remove(Field.LOCATION, List.of("Mumbai"));
+
+		assertThat(index.resolve(Field.LOCATION, "Mumbay")).isEqualTo("mumbay");
+	}
+
+	@Test
+	void suggestsPrefixMatchesMostUsedFirstThenFuzzyMatches() {
+		assertThat(index.suggest(Field.LOCATION, "jai", 5)).containsExactly("Jaisalmer", "Jaipur");
+		assertThat(index.suggest(Field.LOCATION, "Mumbay", 5)).containsExactly("Mumbai");
+	}
+}
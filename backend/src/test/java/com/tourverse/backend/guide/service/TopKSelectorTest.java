@@ -0,0 +1,70 @@
+package com.tourverse.backend.guide.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKSelectorTest {
+
+	@Test
+	void returnsBestByRankHighestFirst() {
+		int[] ids = { 10, 11, 12, 13, 14 };
+		double[] ranks = { 2.0, 5.0, 1.0, 4.0, 3.0 };
+
+		assertThat(TopKSelector.select(ids, ranks, ids.length, 3)).containsExactly(1, 3, 4);
+	}
+
+	@Test
+	void breaksTiesByLowerId() {
+		int[] ids = { 30, 10, 20, 40 };
+		double[] ranks = { 1.0, 1.0, 1.0, 2.0 };
+
+		assertThat(TopKSelector.select(ids, ranks, ids.length, 3)).containsExactly(3, 1, 2);
+	}
+
+	@Test
+	void returnsEveryCandidateWhenKExceedsSize() {
+		int[] ids = { 1, 2, 3, 99 };
+		double[] ranks = { 1.0, 3.0, 2.0, 9.0 };
+
+		// Only the first three positions are candidates.
+		assertThat(TopKSelector.select(ids, ranks, 3, 10)).containsExactly(1, 2, 0);
+		assertThat(TopKSelector.select(ids, ranks, 0, 10)).isEmpty();
+		assertThat(TopKSelector.select(ids, ranks, 3, 0)).isEmpty();
+	}
+
+	@Test
+	void continuesStrictlyAfterCursor() {
+		int[] ids = { 1, 2, 3, 4, 5 };
+		double[] ranks = { 3.0, 2.0, 2.0, 2.0, 1.0 };
+
+		// After (2.0, id 2): the tied id 3 and 4 follow, then the lower rank.
+		assertThat(TopKSelector.select(ids, ranks, ids.length, 10, 2.0, 2)).containsExactly(2, 3, 4);
+	}
+
+	@Test
+	void pagesMatchAFullSort() {
+		Random random = new Random(42);
+		int size = 500;
+		int[] ids = IntStream.range(0, size).map(i -> i * 7 % size).toArray();
+		// Few distinct ranks, so ties are common.
+		double[] ranks = IntStream.range(0, size).mapToDouble(i -> random.nextInt(20)).toArray();
+		Integer[] expected = IntStream.range(0, size).boxed()
+				.sorted(Comparator.<Integer>comparingDouble(i -> -ranks[i]).thenComparingInt(i -> ids[i]))
+				.toArray(Integer[]::new);
+
+		int[] walked = new int[0];
+		int[] page = TopKSelector.select(ids, ranks, size, 37);
+		while (page.length > 0) {
+			walked = IntStream.concat(Arrays.stream(walked), Arrays.stream(page)).toArray();
+			int last = page[page.length - 1];
+			page = TopKSelector.select(ids, ranks, size, 37, ranks[last], ids[last]);
+		}
+		assertThat(walked).containsExactly(Arrays.stream(expected).mapToInt(Integer::intValue).toArray());
+	}
+}
@@ -0,0 +1,59 @@
+package com.tourverse.backend.guide.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlotMaskTest {
+
+	@Test
+	void periodSpansTheWordBoundary() {
+		// 15:00-17:00 is quarters 60-67: the top four bits of lo, the bottom four of hi.
+		SlotMask mask = SlotMask.period(LocalTime.of(15, 0), 120);
+
+		assertThat(mask.lo()).isEqualTo(0xFL << 60);
+		assertThat(mask.hi()).isEqualTo(0xFL);
+		assertThat(mask.cardinality()).isEqualTo(8);
+	}
+
+	@Test
+	void periodEndingOrStartingAtTheBoundaryStaysInOneWord() {
+		assertThat(SlotMask.period(LocalTime.of(15, 0), 60)).isEqualTo(new SlotMask(0xFL << 60, 0L));
+		assertThat(SlotMask.period(LocalTime.of(16, 0), 60)).isEqualTo(new SlotMask(0L, 0xFL));
+		assertThat(SlotMask.period(LocalTime.of(15, 45), 15)).isEqualTo(new SlotMask(1L << 63, 0L));
+	}
+
+	@Test
+	void periodRoundsToWholeQuartersAndStopsAtMidnight() {
+		assertThat(SlotMask.period(LocalTime.of(15, 50), 20)).isEqualTo(new SlotMask(1L << 63, 1L));
+		assertThat(SlotMask.period(LocalTime.of(23, 0), 120)).isEqualTo(new SlotMask(0L, 0xFL << 28));
+		assertThat(SlotMask.range(0, SlotMask.QUARTERS_PER_DAY)).isEqualTo(new SlotMask(-1L, 0xFFFFFFFFL));
+	}
+
+	@Test
+	void coversRunAcrossTheBoundaryOnlyWhenBothWordsAreFree() {
+		SlotMask free = SlotMask.ofSlots(List.of(LocalTime.of(15, 0), LocalTime.of(16, 0)));
+
+		assertThat(free.covers(LocalTime.of(15, 0), 120)).isTrue();
+		assertThat(free.covers(LocalTime.of(15, 30), 60)).isTrue();
+		assertThat(free.covers(LocalTime.of(14, 45), 60)).isFalse();
+		assertThat(free.covers(LocalTime.of(16, 15), 60)).isFalse();
+
+		SlotMask booked = free.andNot(SlotMask.period(LocalTime.of(16, 0), 15));
+		assertThat(booked.covers(LocalTime.of(15, 0), 60)).isTrue();
+		assertThat(booked.covers(LocalTime.of(15, 0), 120)).isFalse();
+		assertThat(booked.get(63)).isTrue();
+		assertThat(booked.get(64)).isFalse();
+	}
+
+	@Test
+	void fitsInDayOnlyUntilMidnight() {
+		assertThat(SlotMask.fitsInDay(LocalTime.of(23, 0), 60)).isTrue();
+		assertThat(SlotMask.fitsInDay(LocalTime.of(23, 15), 60)).isFalse();
+		assertThat(SlotMask.fitsInDay(LocalTime.of(9, 0), 0)).isFalse();
+		assertThat(SlotMask.range(0, SlotMask.QUARTERS_PER_DAY).covers(LocalTime.of(23, 15), 60)).isFalse();
+	}
+}
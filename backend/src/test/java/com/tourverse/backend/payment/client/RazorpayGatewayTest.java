@@ -0,0 +1,191 @@
+package com.tourverse.backend.payment.client;
+
+import com.razorpay.RazorpayException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.tourverse.backend.common.config.PaymentConfig.GatewayProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs {@link RazorpayGateway} against a local stub of the Razorpay orders API.
+ */
+class RazorpayGatewayTest {
+
+	private static final String ORDER = """
+			{"id":"order_123","entity":"order","amount":150000,"currency":"INR","receipt":"42","status":"created"}
+			""";
+
+	private HttpServer server;
+	private GatewayProperties properties;
+
+	private final AtomicInteger requests = new AtomicInteger();
+	private final AtomicReference<String> authorization = new AtomicReference<>();
+	private final AtomicReference<String> requestBody = new AtomicReference<>();
+	private volatile StubResponse response = exchange -> respond(exchange, 200, ORDER);
+
+	@BeforeEach
+	void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.createContext("/v1/orders", exchange -> {
+			requests.incrementAndGet();
+			authorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+			requestBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+			response.send(exchange);
+		});
+		server.start();
+
+		properties = new GatewayProperties();
+		properties.setKeyId("rzp_test_key");
+		properties.setKeySecret("secret");
+		properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/v1");
+		properties.setReadTimeout(Duration.ofSeconds(2));
+	}
+
+	@AfterEach
+	void stopServer() {
+		server.stop(0);
+	}
+
+	@Test
+	void createsOrder() throws Exception {
+		GatewayOrder order = gateway().createOrder(150000, "INR", "42");
+
+		assertThat(order.id()).isEqualTo("order_123");
+		assertThat(order.amount()).isEqualTo(150000);
+		assertThat(requestBody.get()).contains("\"amount\":150000", "\"currency\":\"INR\"", "\"receipt\":\"42\"");
+		assertThat(authorization.get()).isEqualTo("Basic "
+				+ Base64.getEncoder().encodeToString("rzp_test_key:secret".getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	void opensCircuitAfterConsecutiveFailures() {
+		properties.setFailureThreshold(3);
+		RazorpayGateway gateway = gateway();
+		response = exchange -> respond(exchange, 503, "{}");
+
+		for (int i = 0; i < 5; i++) {
+			assertThatThrownBy(() -> gateway.createOrder(100, "INR", "1")).isInstanceOf(RazorpayException.class);
+		}
+
+		// The last two calls never reached the gateway.
+		assertThat(requests).hasValue(3);
+	}
+
+	@Test
+	void closesCircuitAfterSuccessfulTrialCall() throws Exception {
+		properties.setFailureThreshold(1);
+		properties.setOpenDuration(Duration.ofMillis(100));
+		RazorpayGateway gateway = gateway();
+		response = exchange -> respond(exchange, 500, "{}");
+		assertThatThrownBy(() -> gateway.createOrder(100, "INR", "1")).isInstanceOf(RazorpayException.class);
+
+		response = exchange -> respond(exchange, 200, ORDER);
+		assertThatThrownBy(() -> gateway.createOrder(100, "INR", "1")).hasMessageContaining("unavailable");
+		Thread.sleep(150);
+
+		assertThat(gateway.createOrder(100, "INR", "1").id()).isEqualTo("order_123");
+		assertThat(gateway.createOrder(100, "INR", "1").id()).isEqualTo("order_123");
+		assertThat(requests).hasValue(3);
+	}
+
+	@Test
+	void clientErrorsDoNotOpenCircuit() {
+		properties.setFailureThreshold(1);
+		RazorpayGateway gateway = gateway();
+		response = exchange -> respond(exchange, 400, "{\"error\":{\"code\":\"BAD_REQUEST_ERROR\"}}");
+
+		assertThatThrownBy(() -> gateway.createOrder(100, "INR", "1")).hasMessageContaining("refused");
+		assertThatThrownBy(() -> gateway.createOrder(100, "INR", "1")).hasMessageContaining("refused");
+		assertThat(requests).hasValue(2);
+	}
+
+	@Test
+	void slowResponsesTimeOut() {
+		properties.setReadTimeout(Duration.ofMillis(200));
+		CountDownLatch release = new CountDownLatch(1);
+		response = exchange -> {
+			await(release);
+			respond(exchange, 200, ORDER);
+		};
+
+		try {
+			assertThatThrownBy(() -> gateway().createOrder(100, "INR", "1")).hasMessageContaining("failed");
+		} finally {
+			release.countDown();
+		}
+	}
+
+	@Test
+	void bulkheadRejectsCallsBeyondTheLimit() throws Exception {
+		properties.setMaxConcurrentCalls(1);
+		properties.setMaxWait(Duration.ZERO);
+		RazorpayGateway gateway = gateway();
+		CountDownLatch arrived = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		response = exchange -> {
+			arrived.countDown();
+			await(release);
+			respond(exchange, 200, ORDER);
+		};
+
+		CompletableFuture<GatewayOrder> first = CompletableFuture.supplyAsync(() -> {
+			try {
+				return gateway.createOrder(100, "INR", "1");
+			} catch (RazorpayException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		assertThat(arrived.await(2, TimeUnit.SECONDS)).isTrue();
+
+		assertThatThrownBy(() -> gateway.createOrder(100, "INR", "2")).hasMessageContaining("busy");
+		release.countDown();
+		assertThat(first.get(2, TimeUnit.SECONDS).id()).isEqualTo("order_123");
+		assertThat(requests).hasValue(1);
+	}
+
+	// --- Helpers ---
+
+	private RazorpayGateway gateway() {
+		return new RazorpayGateway(properties, RestClient.builder());
+	}
+
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length);
+		exchange.getResponseBody().write(bytes);
+		exchange.close();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@FunctionalInterface
+	private interface StubResponse {
+		void send(HttpExchange exchange) throws IOException;
+	}
+}
@@ -0,0 +1,105 @@
+package com.tourverse.backend.payment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourverse.backend.common.config.PaymentConfig.WebhookProperties;
+import com.tourverse.backend.common.util.AppConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PaymentEventConsumerTest {
+
+	private static final String KEY = AppConstants.PAYMENT_EVENTS_STREAM;
+	private static final String GROUP = AppConstants.PAYMENT_EVENTS_GROUP;
+
+	private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+	@SuppressWarnings("unchecked")
+	private final StreamOperations<String, Object, Object> stream = mock(StreamOperations.class);
+	private final PaymentService paymentService = mock(PaymentService.class);
+	private final List<MapRecord<String, Object, Object>> batch = new ArrayList<>();
+	private PaymentEventConsumer consumer;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		when(redis.opsForStream()).thenReturn(stream);
+		when(stream.pending(eq(KEY), eq(GROUP), any(Range.class), anyLong()))
+				.thenReturn(new PendingMessages(GROUP, List.of()));
+		when(stream.read(any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset.class)))
+				.thenAnswer(call -> List.copyOf(batch));
+
+		WebhookProperties properties = new WebhookProperties();
+		// Larger than any batch here, so one read drains the stream.
+		properties.setBatchSize(50);
+		consumer = new PaymentEventConsumer(properties, redis, paymentService, new ObjectMapper());
+	}
+
+	@Test
+	void readsThePaidOrderOfEachPaidEvent() {
+		event("1-0", "evt_1", "{\"event\":\"payment.captured\",\"payload\":{\"payment\":{\"entity\":{\"order_id\":\"order_1\"}}}}");
+		event("2-0", "evt_2", "{\"event\":\"order.paid\",\"payload\":{\"payment\":{\"entity\":{\"order_id\":\"order_2\"}}}}");
+		event("3-0", "evt_3", "{\"event\":\"order.paid\",\"payload\":{\"order\":{\"entity\":{\"id\":\"order_3\"}}}}");
+
+		assertThat(paidOrders()).containsExactly("order_1", "order_2", "order_3");
+	}
+
+	@Test
+	void skipsOtherEventsAndUnreadablePayloads() {
+		event("1-0", "evt_1", "{\"event\":\"payment.failed\",\"payload\":{\"payment\":{\"entity\":{\"order_id\":\"order_1\"}}}}");
+		event("2-0", "evt_2", "not json");
+		event("3-0", "evt_3", "{\"event\":\"order.paid\",\"payload\":{}}");
+		event("4-0", "evt_4", "{\"event\":\"order.paid\",\"payload\":{\"order\":{\"entity\":{\"id\":\"order_4\"}}}}");
+
+		assertThat(paidOrders()).containsExactly("order_4");
+	}
+
+	@Test
+	void dropsRedeliveredEventsButStillAcknowledgesThem() {
+		String paid = "{\"event\":\"order.paid\",\"payload\":{\"order\":{\"entity\":{\"id\":\"order_1\"}}}}";
+		String otherPaid = "{\"event\":\"order.paid\",\"payload\":{\"order\":{\"entity\":{\"id\":\"order_2\"}}}}";
+		event("1-0", "evt_1", paid);
+		event("2-0", "evt_1", otherPaid);
+		event("3-0", "", otherPaid);
+
+		assertThat(paidOrders()).containsExactly("order_1", "order_2");
+		verify(stream).acknowledge(KEY, GROUP, RecordId.of("1-0"), RecordId.of("2-0"), RecordId.of("3-0"));
+	}
+
+	private void event(String id, String eventId, String payload) {
+		batch.add(StreamRecords.newRecord().in(KEY)
+				.ofMap(Map.<Object, Object>of(PaymentWebhookService.EVENT_ID_FIELD, eventId,
+						PaymentWebhookService.PAYLOAD_FIELD, payload))
+				.withId(RecordId.of(id)));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Collection<String> paidOrders() {
+		consumer.run();
+		ArgumentCaptor<Collection<String>> orders = ArgumentCaptor.forClass(Collection.class);
+		verify(paymentService).recordPaidOrders(orders.capture());
+		return orders.getValue();
+	}
+}
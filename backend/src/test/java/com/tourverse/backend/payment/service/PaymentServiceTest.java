@@ -0,0 +1,250 @@
+package com.tourverse.backend.payment.service;
+
+import com.tourverse.backend.booking.entity.Booking;
+import com.tourverse.backend.booking.entity.PackageBooking;
+import com.tourverse.backend.booking.repository.BookingRepository;
+import com.tourverse.backend.booking.repository.PackageBookingRepository;
+import com.tourverse.backend.booking.service.BookingHoldService;
+import com.tourverse.backend.common.config.PaymentConfig.GatewayProperties;
+import com.tourverse.backend.guide.entity.Guide;
+import com.tourverse.backend.guide.repository.GuideRepository;
+import com.tourverse.backend.guide.service.GuideCalendarService;
+import com.tourverse.backend.payment.client.GatewayOrder;
+import com.tourverse.backend.payment.client.RazorpayGateway;
+import com.tourverse.backend.payment.dto.RazorpayOrderResponse;
+import com.tourverse.backend.tourPackage.entity.TourPackage;
+import com.tourverse.backend.tourPackage.repository.TourPackageRepository;
+import com.tourverse.backend.user.entity.Traveler;
+import com.tourverse.backend.user.entity.User;
+import com.tourverse.backend.user.repository.TravelerRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@Import(PaymentService.class)
+@ExtendWith(OutputCaptureExtension.class)
+class PaymentServiceTest {
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private PackageBookingRepository packageBookingRepository;
+
+	@Autowired
+	private TourPackageRepository tourPackageRepository;
+
+	@Autowired
+	private TravelerRepository travelerRepository;
+
+	@Autowired
+	private GuideRepository guideRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@MockitoBean
+	private GatewayProperties gatewayProperties;
+
+	@MockitoBean
+	private RazorpayGateway razorpayGateway;
+
+	@MockitoBean
+	private BookingHoldService bookingHoldService;
+
+	@MockitoBean
+	private GuideCalendarService guideCalendarService;
+
+	private Traveler traveler;
+	private Guide guide;
+
+	@BeforeEach
+	void setUp() {
+		traveler = travelerRepository.save(Traveler.builder()
+				.name("Asha Traveler")
+				.email("asha@example.com")
+				.phone("9000000001")
+				.password("secret")
+				.role(User.Role.TRAVELER)
+				.build());
+		guide = guideRepository.save(Guide.builder()
+				.name("Ravi Guide")
+				.email("ravi@example.com")
+				.phone("9000000002")
+				.password("secret")
+				.role(User.Role.GUIDE)
+				.aadhaarNumber("123412341234")
+				.panNumber("ABCDE1234F")
+				.languages(List.of("English"))
+				.ratePerHour(BigDecimal.valueOf(500))
+				.location("Jaipur")
+				.aadhaarDocumentUrl("https://example.com/aadhaar.pdf")
+				.panDocumentUrl("https://example.com/pan.pdf")
+				.build());
+	}
+
+	@Test
+	void recordsTheNewOrderOnTheBooking() throws Exception {
+		Booking booking = booking(Booking.BookingStatus.CONFIRMED, null);
+		when(razorpayGateway.createOrder(anyLong(), anyString(), anyString())).thenReturn(order("order_1"));
+
+		RazorpayOrderResponse response = paymentService.createOrderForGuideBooking(booking.getId(), traveler.getId());
+
+		assertThat(response.getRazorpayOrderId()).isEqualTo("order_1");
+		assertThat(orderIdOf(booking)).isEqualTo("order_1");
+	}
+
+	@Test
+	void returnsTheExistingOrderWithoutCallingTheGateway() throws Exception {
+		Booking booking = booking(Booking.BookingStatus.CONFIRMED, "order_0");
+
+		RazorpayOrderResponse response = paymentService.createOrderForGuideBooking(booking.getId(), traveler.getId());
+
+		assertThat(response.getRazorpayOrderId()).isEqualTo("order_0");
+		verify(razorpayGateway, never()).createOrder(anyLong(), anyString(), anyString());
+	}
+
+	@Test
+	void keepsTheOrderOfACallThatRecordedItFirst() throws Exception {
+		Booking booking = booking(Booking.BookingStatus.CONFIRMED, null);
+		// Another call records its order while this one waits on the gateway.
+		when(razorpayGateway.createOrder(anyLong(), anyString(), anyString())).thenAnswer(call -> {
+			jdbcTemplate.update("UPDATE bookings SET razorpay_order_id = 'order_first' WHERE id = ?", booking.getId());
+			return order("order_second");
+		});
+
+		RazorpayOrderResponse response = paymentService.createOrderForGuideBooking(booking.getId(), traveler.getId());
+
+		assertThat(response.getRazorpayOrderId()).isEqualTo("order_first");
+		assertThat(orderIdOf(booking)).isEqualTo("order_first");
+	}
+
+	@Test
+	void rejectsABookingCanceledWhileTheGatewayWasCalled() throws Exception {
+		Booking booking = booking(Booking.BookingStatus.CONFIRMED, null);
+		when(razorpayGateway.createOrder(anyLong(), anyString(), anyString())).thenAnswer(call -> {
+			jdbcTemplate.update("UPDATE bookings SET status = 'CANCELED' WHERE id = ?", booking.getId());
+			return order("order_1");
+		});
+
+		assertThatThrownBy(() -> paymentService.createOrderForGuideBooking(booking.getId(), traveler.getId()))
+				.isInstanceOf(IllegalStateException.class);
+		assertThat(orderIdOf(booking)).isNull();
+	}
+
+	@Test
+	void recordsPaidOrdersOfConfirmedBookingsAndPendingPackages() {
+		Booking confirmed = booking(Booking.BookingStatus.CONFIRMED, "order_1");
+		Booking canceled = booking(Booking.BookingStatus.CANCELED, "order_2");
+		PackageBooking pending = packageBooking(PackageBooking.PackageBookingStatus.PENDING_PAYMENT, "order_3");
+
+		int recorded = paymentService.recordPaidOrders(List.of("order_1", "order_2", "order_3", "order_unknown"));
+
+		assertThat(recorded).isEqualTo(2);
+		assertThat(statusOf("bookings", confirmed.getId())).isEqualTo("PAID");
+		assertThat(statusOf("bookings", canceled.getId())).isEqualTo("CANCELED");
+		assertThat(statusOf("package_bookings", pending.getId())).isEqualTo("CONFIRMED");
+		verify(guideCalendarService, never()).onBookingChanged(any());
+	}
+
+	@Test
+	void flagsPaymentsForCanceledBookingsForRefund(CapturedOutput output) {
+		Booking canceled = booking(Booking.BookingStatus.CANCELED, "order_1");
+		PackageBooking canceledPackage = packageBooking(PackageBooking.PackageBookingStatus.CANCELED, "order_2");
+
+		assertThat(paymentService.recordPaidOrders(List.of("order_1", "order_2"))).isZero();
+
+		assertThat(output).contains("order_1 was paid for canceled booking " + canceled.getId())
+				.contains("order_2 was paid for canceled package booking " + canceledPackage.getId())
+				.doesNotContain("match no booking");
+	}
+
+	@Test
+	void recordingAnOrderAgainChangesNothing() {
+		Booking confirmed = booking(Booking.BookingStatus.CONFIRMED, "order_1");
+
+		assertThat(paymentService.recordPaidOrders(List.of("order_1"))).isEqualTo(1);
+		assertThat(paymentService.recordPaidOrders(List.of("order_1"))).isZero();
+		assertThat(statusOf("bookings", confirmed.getId())).isEqualTo("PAID");
+	}
+
+	// --- Helpers ---
+
+	private Booking booking(Booking.BookingStatus status, String orderId) {
+		Booking booking = bookingRepository.save(Booking.builder()
+				.traveler(traveler)
+				.guide(guide)
+				.tourDate(LocalDate.now().plusDays(3))
+				.tourTime(LocalTime.of(9, 0))
+				.hours(2)
+				.totalAmount(BigDecimal.valueOf(1000))
+				.status(status)
+				.razorpayOrderId(orderId)
+				.build());
+		entityManager.flush();
+		return booking;
+	}
+
+	private PackageBooking packageBooking(PackageBooking.PackageBookingStatus status, String orderId) {
+		TourPackage tourPackage = tourPackageRepository.save(TourPackage.builder()
+				.title("Golden Triangle")
+				.description("Delhi, Agra and Jaipur")
+				.location("Jaipur")
+				.durationDays(5)
+				.price(BigDecimal.valueOf(25000))
+				.build());
+		PackageBooking booking = packageBookingRepository.save(PackageBooking.builder()
+				.traveler(traveler)
+				.tourPackage(tourPackage)
+				.travelDate(LocalDate.now().plusDays(10))
+				.numberOfTravelers(2)
+				.totalAmount(BigDecimal.valueOf(50000))
+				.status(status)
+				.razorpayOrderId(orderId)
+				.build());
+		entityManager.flush();
+		return booking;
+	}
+
+	private String statusOf(String table, Long id) {
+		return jdbcTemplate.queryForObject("SELECT status FROM " + table + " WHERE id = ?", String.class, id);
+	}
+
+	private String orderIdOf(Booking booking) {
+		return jdbcTemplate.queryForObject("SELECT razorpay_order_id FROM bookings WHERE id = ?", String.class,
+				booking.getId());
+	}
+
+	private static GatewayOrder order(String id) {
+		return new GatewayOrder(id, 100_000, "INR", "receipt", "created");
+	}
+}
@@ -0,0 +1,53 @@
+package com.tourverse.backend.payment.service;
+
+import com.tourverse.backend.common.config.PaymentConfig.WebhookProperties;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentWebhookServiceTest {
+
+	private static final String SECRET = "webhook-secret";
+	private static final String PAYLOAD = "{\"event\":\"order.paid\"}";
+
+	private final WebhookProperties properties = new WebhookProperties();
+	private final PaymentWebhookService service = new PaymentWebhookService(properties, null);
+
+	@Test
+	void acceptsTheSignatureOfTheBody() throws Exception {
+		properties.setSecret(SECRET);
+
+		assertThat(service.isSigned(PAYLOAD, sign(PAYLOAD, SECRET))).isTrue();
+	}
+
+	@Test
+	void rejectsATamperedBodyOrAnotherSecret() throws Exception {
+		properties.setSecret(SECRET);
+
+		assertThat(service.isSigned("{\"event\":\"order.paid\",\"x\":1}", sign(PAYLOAD, SECRET))).isFalse();
+		assertThat(service.isSigned(PAYLOAD, sign(PAYLOAD, "other-secret"))).isFalse();
+	}
+
+	@Test
+	void rejectsEverythingWithoutASecret() throws Exception {
+		assertThat(service.isSigned(PAYLOAD, sign(PAYLOAD, SECRET))).isFalse();
+	}
+
+	@Test
+	void rejectsAMissingSignature() {
+		properties.setSecret(SECRET);
+
+		assertThat(service.isSigned(PAYLOAD, null)).isFalse();
+	}
+
+	private static String sign(String payload, String secret) throws Exception {
+		Mac mac = Mac.getInstance("HmacSHA256");
+		mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+		return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+	}
+}